@@ -0,0 +1,59 @@
+package com.upseil.game.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Direction;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.GridStep;
+import com.upseil.game.solver.ForkJoinLineExecutor;
+
+/**
+ * Measures {@link Grid#fill(Direction)} for every direction. Each invocation restores the grid from a template first,
+ * {@link GridBenchmark#copy()} measures the cost of restoring alone. The parallel variant fills stripes of lines on the
+ * common fork join pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FillBenchmark {
+    
+    private static final int MinLinesPerStripe = 16;
+    
+    @Param({ "10", "25", "50", "100", "200", "500" })
+    private int size;
+    
+    @Param({ "Left", "Right", "Bottom", "Top" })
+    private Direction direction;
+    
+    @Param({ "false", "true" })
+    private boolean parallel;
+    
+    private Grid template;
+    private Grid grid;
+    
+    @Setup
+    public void setup() {
+        template = GridFixtures.createRemovedGrid(size, Color.Color0);
+        grid = GridFixtures.createGrid(size);
+        if (parallel) {
+            grid.setLineExecutor(new ForkJoinLineExecutor(MinLinesPerStripe));
+        }
+    }
+    
+    @Benchmark
+    public GridStep fill() {
+        grid.set(template);
+        return grid.fill(direction);
+    }
+    
+}
@@ -0,0 +1,71 @@
+package com.upseil.game.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.GridStep;
+
+/**
+ * Measures the rules of a single turn apart from filling the grid (see {@link FillBenchmark}). Benchmarks that modify
+ * the grid restore it from a template first, {@link #copy()} measures the cost of restoring alone.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GridBenchmark {
+    
+    @Param({ "10", "25", "50", "100", "200" })
+    private int size;
+    
+    private Grid initialGrid;
+    private Grid teleportGrid;
+    private Grid grid;
+    
+    @Setup
+    public void setup() {
+        initialGrid = GridFixtures.createInitializedGrid(size);
+        teleportGrid = GridFixtures.createTeleportGrid(size);
+        grid = GridFixtures.createGrid(size);
+        grid.set(initialGrid);
+    }
+    
+    @Benchmark
+    public Grid copy() {
+        grid.set(initialGrid);
+        return grid;
+    }
+    
+    @Benchmark
+    public GridStep removeCells() {
+        grid.set(initialGrid);
+        return grid.removeCells(Color.Color0);
+    }
+    
+    @Benchmark
+    public GridStep teleport() {
+        grid.set(teleportGrid);
+        return grid.teleport();
+    }
+    
+    @Benchmark
+    public Grid randomizeBorderColors() {
+        grid.randomizeBorderColors();
+        return grid;
+    }
+    
+    @Benchmark
+    public float minBlackWhiteDistance() {
+        return initialGrid.getMinBlackWhiteDistance();
+    }
+    
+}
@@ -0,0 +1,74 @@
+package com.upseil.game.benchmark;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Direction;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.test.TestGrids;
+import com.upseil.gdx.math.ExtendedRandom;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * Creates reproducible grids of any size for the benchmarks, with the timing and exclusion area of {@link TestGrids}.
+ */
+final class GridFixtures {
+    
+    private static final long Seed0 = 42;
+    private static final long Seed1 = 1337;
+    private static final int MaxTeleportSearchTurns = 100000;
+    
+    private GridFixtures() {
+    }
+    
+    public static Grid createGrid(int size) {
+        return new Grid(size, TestGrids.Timing, new ExtendedRandomXS128(Seed0, Seed1));
+    }
+    
+    public static Grid createInitializedGrid(int size) {
+        Grid grid = createGrid(size);
+        grid.initialize(TestGrids.ExclusionAreaSize);
+        return grid;
+    }
+    
+    /**
+     * @return A grid right after the cells of the given color have been removed, waiting to be filled
+     */
+    public static Grid createRemovedGrid(int size, Color color) {
+        Grid grid = createInitializedGrid(size);
+        grid.removeCells(color);
+        return grid;
+    }
+    
+    /**
+     * Plays random turns until the black or white cell teleports after a fill.
+     * 
+     * @return A grid right after the fill that will lead to the teleport
+     */
+    public static Grid createTeleportGrid(int size) {
+        Grid grid = createInitializedGrid(size);
+        Grid candidate = createGrid(size);
+        ExtendedRandom player = new ExtendedRandomXS128(Seed1, Seed0);
+        
+        for (int turn = 0; turn < MaxTeleportSearchTurns; turn++) {
+            Color color = Color.random(player);
+            grid.removeCells(color);
+            Direction fillDirection = Grid.getFillDirection(color);
+            grid.fill(fillDirection);
+            if (grid.isLost()) {
+                grid.initialize(TestGrids.ExclusionAreaSize);
+                continue;
+            }
+            
+            candidate.set(grid);
+            if (!grid.teleport().isEmpty() && !grid.isLost()) {
+                return candidate;
+            }
+            if (grid.isLost()) {
+                grid.initialize(TestGrids.ExclusionAreaSize);
+            } else {
+                grid.randomizeBorderColors();
+            }
+        }
+        throw new IllegalStateException("No teleport found on a " + size + "x" + size + " grid within " + MaxTeleportSearchTurns + " turns");
+    }
+    
+}
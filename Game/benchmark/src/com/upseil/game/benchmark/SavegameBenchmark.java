@@ -0,0 +1,64 @@
+package com.upseil.game.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.upseil.game.Savegame;
+import com.upseil.game.component.GameState;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.serialization.BinarySavegameMapper;
+import com.upseil.gdx.serialization.Mapper;
+import com.upseil.gdx.serialization.desktop.DesktopCompressingMapper;
+
+/**
+ * Compares the compressed JSON savegames written by the desktop launcher so far with the binary ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SavegameBenchmark {
+    
+    @Param({ "json", "binary" })
+    private String format;
+    
+    private Mapper<Savegame> mapper;
+    private Savegame savegame;
+    private String data;
+    
+    @Setup
+    public void setup() {
+        if (format.equals("binary")) {
+            mapper = new BinarySavegameMapper();
+        } else {
+            DesktopCompressingMapper<Savegame> jsonMapper = new DesktopCompressingMapper<>(Savegame.class);
+            jsonMapper.setCompressing(true);
+            mapper = jsonMapper;
+        }
+        
+        Grid grid = GridFixtures.createInitializedGrid(10);
+        GameState gameState = new GameState();
+        gameState.setScore(123456);
+        savegame = new Savegame(gameState, GridState.of(grid, 42, 1337));
+        data = mapper.write(savegame);
+    }
+    
+    @Benchmark
+    public String write() {
+        return mapper.write(savegame);
+    }
+    
+    @Benchmark
+    public Savegame read() {
+        return mapper.read(data);
+    }
+    
+}
@@ -0,0 +1,26 @@
+#ifdef GL_ES
+#define LOWP lowp
+precision mediump float;
+#else
+#define LOWP 
+#endif
+
+uniform vec2 u_direction;
+
+varying LOWP vec4 v_color;
+varying vec2 v_texCoords;
+uniform sampler2D u_texture;
+
+void main()
+{
+    vec4 sum = texture2D(u_texture, v_texCoords) * 0.2270270270;
+    sum += texture2D(u_texture, v_texCoords - u_direction) * 0.1945945946;
+    sum += texture2D(u_texture, v_texCoords + u_direction) * 0.1945945946;
+    sum += texture2D(u_texture, v_texCoords - 2.0 * u_direction) * 0.1216216216;
+    sum += texture2D(u_texture, v_texCoords + 2.0 * u_direction) * 0.1216216216;
+    sum += texture2D(u_texture, v_texCoords - 3.0 * u_direction) * 0.0540540541;
+    sum += texture2D(u_texture, v_texCoords + 3.0 * u_direction) * 0.0540540541;
+    sum += texture2D(u_texture, v_texCoords - 4.0 * u_direction) * 0.0162162162;
+    sum += texture2D(u_texture, v_texCoords + 4.0 * u_direction) * 0.0162162162;
+    gl_FragColor = v_color * sum;
+}
\ No newline at end of file
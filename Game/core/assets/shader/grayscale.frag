@@ -5,7 +5,7 @@ precision mediump float;
 #define LOWP 
 #endif
 
-uniform float u_grayness;
+uniform float u_amount;
 
 varying LOWP vec4 v_color;
 varying vec2 v_texCoords;
@@ -15,6 +15,5 @@ void main()
 {
     vec4 color = v_color * texture2D(u_texture, v_texCoords);
     float gray = dot(color.rgb, vec3(0.22, 0.707, 0.071));
-    vec3 grayscaled = mix(color.rgb, vec3(gray), u_grayness);
-    gl_FragColor = vec4(grayscaled, color.a);
+    gl_FragColor = vec4(mix(color.rgb, vec3(gray), u_amount), color.a);
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+#ifdef GL_ES
+#define LOWP lowp
+precision mediump float;
+#else
+#define LOWP 
+#endif
+
+uniform float u_intensity;
+
+varying LOWP vec4 v_color;
+varying vec2 v_texCoords;
+uniform sampler2D u_texture;
+
+void main()
+{
+    vec4 color = v_color * texture2D(u_texture, v_texCoords);
+    float distance = length(v_texCoords - vec2(0.5)) * 1.4142;
+    float darkening = u_intensity * smoothstep(0.35, 1.0, distance);
+    gl_FragColor = vec4(color.rgb * (1.0 - darkening), color.a);
+}
\ No newline at end of file
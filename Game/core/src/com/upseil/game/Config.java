@@ -42,7 +42,11 @@ public final class Config {
         CellMoveSpeed, TeleportMoveSpeed, TeleportDelay,
         // Time Scaling
         SlowMoThresholdFactor, MinSlowMoTimeScale, TimeScaleAlterationRate,
-        TimeScaleIncreaseInterpolation, TimeScaleDecreaseInterpolation
+        TimeScaleIncreaseInterpolation, TimeScaleDecreaseInterpolation,
+        // Simulation
+        FixedTimeStep, MaxFixedSteps,
+        // Loss Effect
+        LostBlurRadius, LostVignetteIntensity
     }
     
     public static class GameConfig {
@@ -52,6 +56,8 @@ public final class Config {
         private final GridConfig gridConfig;
         
         private final SaveConfig saveConfig;
+        private final String saveStoreName;
+        private final String autoSaveSlot;
         private final BackgroundBuilder.Config backgroundBuilderConfig;
         private final BorderBuilder.Config borderBuilderConfig;
         private final DividerBuilder.Config dividerBuilderConfig;
@@ -63,6 +69,8 @@ public final class Config {
             gridConfig = new GridConfig(json.get("grid"));
             
             saveConfig = new SaveConfig(json.get("savegame"));
+            saveStoreName = json.get("savegame").getString("saveStoreName");
+            autoSaveSlot = json.get("savegame").getString("autoSaveSlot");
             backgroundBuilderConfig = new BackgroundBuilder.Config(json.get("backgroundBuilder"));
             borderBuilderConfig = new BorderBuilder.Config(json.get("borderBuilder"));
             dividerBuilderConfig = new DividerBuilder.Config(json.get("dividerBuilder"));
@@ -84,6 +92,14 @@ public final class Config {
             return saveConfig;
         }
         
+        public String getSaveStoreName() {
+            return saveStoreName;
+        }
+        
+        public String getAutoSaveSlot() {
+            return autoSaveSlot;
+        }
+        
         public BackgroundBuilder.Config getBackgroundBuilderConfig() {
             return backgroundBuilderConfig;
         }
@@ -1,5 +1,7 @@
 package com.upseil.game;
 
+import com.artemis.InvocationStrategy;
+import com.artemis.SystemInvocationStrategy;
 import com.artemis.World;
 import com.artemis.WorldConfiguration;
 import com.artemis.WorldConfigurationBuilder;
@@ -12,10 +14,15 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.I18NBundle;
 import com.upseil.game.Config.GameConfig;
 import com.upseil.game.Constants.Tag;
+import com.upseil.game.domain.Replay;
+import com.upseil.game.system.AutoPlaySystem;
+import com.upseil.game.system.AutoPlaySystem.Player;
+import com.upseil.game.system.EventQueueSystem;
 import com.upseil.game.system.GameInitializer;
 import com.upseil.game.system.GridController;
 import com.upseil.game.system.LoadSystem;
 import com.upseil.game.system.SaveSystem;
+import com.upseil.game.system.SceneActSystem;
 import com.upseil.gdx.artemis.ArtemisApplicationAdapter;
 import com.upseil.gdx.artemis.system.AllSubscriptionMisplacementWorkaround;
 import com.upseil.gdx.artemis.system.ClearScreenSystem;
@@ -34,7 +41,10 @@ public class GameApplication extends ArtemisApplicationAdapter {
 
     public static final ExtendedRandom Random = new ExtendedRandomXS128();
     
+    private static final float MaxFastForwardStep = 1 / 30f;
+    
     private final SerializationContext serializationContext;
+    private final Replay replay;
     
     private GameConfig config;
     private I18NBundle hudMessages;
@@ -42,8 +52,20 @@ public class GameApplication extends ArtemisApplicationAdapter {
     
     private ShaderProgram shader;
     
+    private Player autoPlayer;
+    private int autoPlayTurns;
+    private float fastForwardTimeScale;
+    
     public GameApplication(SerializationContext serializationContext) {
+        this(serializationContext, null);
+    }
+    
+    /**
+     * @param replay A replay that is played instead of a new game, may be null
+     */
+    public GameApplication(SerializationContext serializationContext, Replay replay) {
         this.serializationContext = serializationContext;
+        this.replay = replay;
     }
     
     @Override
@@ -58,48 +80,107 @@ public class GameApplication extends ArtemisApplicationAdapter {
         
         skin = loadSkin("skin/tixel-vis/tixel-vis.json");
 
-        FileHandle vertexShader = Gdx.files.internal("shader/grayscalable.vert");
+        FileHandle vertexShader = Gdx.files.internal("shader/default.vert");
         FileHandle fragmentShader = Gdx.files.internal("shader/default.frag");
         shader = new ShaderProgram(vertexShader, fragmentShader);
         if (shader.isCompiled() == false) {
             throw new IllegalArgumentException("Error compiling shader: " + shader.getLog());
         }
-        int attribute = shader.getAttributeLocation("a_grayness");
-        Gdx.gl20.glVertexAttrib1f(attribute, 0);
     }
 
     @Override
     protected World createWorld() {
-        WorldConfiguration worldConfiguration = new WorldConfigurationBuilder()
+        WorldConfigurationBuilder worldConfigurationBuilder = new WorldConfigurationBuilder()
                 .with(new AllSubscriptionMisplacementWorkaround())
 
                 .with(new TagManager<Tag>())
                 .with(new ScreenManager())
                 .with(new GameInitializer())
                 
-                .with(new LoadSystem(serializationContext.getSavegameMapper(), config.getSavegameConfig()))
+                .with(new LoadSystem(serializationContext.getSavegameMapper(), config.getSavegameConfig()));
+        if (autoPlayer != null) {
+            worldConfigurationBuilder.with(new AutoPlaySystem(autoPlayer, autoPlayTurns));
+        }
+        worldConfigurationBuilder
                 .with(new GridController())
-                .with(new SaveSystem(serializationContext.getSavegameMapper(), config.getSavegameConfig()))
+                .with(new SaveSystem(serializationContext.getSavegameMapper(), config.getSavegameConfig(), serializationContext.getAutoSaveStore()))
                 
                 .with(new LayeredInputSystem())
                 .with(new ClearScreenSystem(Colors.get("t-screen-background")))
-                .with(new LayeredSceneRenderSystem<>(new PolygonSpriteBatch(1000, shader)))
-
+                .with(new LayeredSceneRenderSystem<>(new PolygonSpriteBatch(1000, shader)));
+        if (isFastForward()) {
+            worldConfigurationBuilder.with(new SceneActSystem());
+        }
+        WorldConfiguration worldConfiguration = worldConfigurationBuilder
+                .with(new EventQueueSystem())
                 .with(new EventSystem())
                 
+                .register(createInvocationStrategy())
                 .build();
 
         worldConfiguration.register("Config", config);
         worldConfiguration.register("UI", hudMessages);
         worldConfiguration.register("Skin", skin);
         
-        return new World(worldConfiguration);
+        World world = new World(worldConfiguration);
+        if (isFastForward()) {
+            // The render system stays in the world for its batch, the scenes are acted by the scene act system
+            world.getSystem(ClearScreenSystem.class).setEnabled(false);
+            world.getSystem(LayeredSceneRenderSystem.class).setEnabled(false);
+        }
+        if (replay != null) {
+            world.getSystem(GridController.class).play(replay);
+        }
+        return world;
+    }
+    
+    /**
+     * @return The strategy the world processes its systems with
+     */
+    protected SystemInvocationStrategy createInvocationStrategy() {
+        return new InvocationStrategy();
+    }
+    
+    @Override
+    protected void render(float deltaTime) {
+        if (!isFastForward()) {
+            super.render(deltaTime);
+            return;
+        }
+        
+        // Processing the scaled time at once would skip through whole turns, so it's split into frame sized steps
+        float remainingTime = deltaTime * fastForwardTimeScale;
+        while (remainingTime > 0) {
+            float stepTime = Math.min(remainingTime, MaxFastForwardStep);
+            super.render(stepTime);
+            remainingTime -= stepTime;
+        }
     }
     
-//    @Override
-//    protected void render(float deltaTime) {
-//        super.render(Math.min(deltaTime, 0.05f));
-//    }
+    /**
+     * Lets the given player play instead of the user. Has to be called before the application is created.
+     * 
+     * @param turns The number of turns after which the application exits or 0 to play forever
+     */
+    public void setAutoPlayer(Player player, int turns) {
+        autoPlayer = player;
+        autoPlayTurns = turns;
+    }
+    
+    /**
+     * Neither clears nor draws the screen and advances the world time by the given multiple of the real time. The
+     * scenes are still acted, so the whole game runs as usual, only faster. Has to be called before the application
+     * is created.
+     * 
+     * @param timeScale The multiple of the real time or 0 to render normally
+     */
+    public void setFastForward(float timeScale) {
+        fastForwardTimeScale = timeScale;
+    }
+    
+    public boolean isFastForward() {
+        return fastForwardTimeScale > 0;
+    }
     
     @Override
     public void dispose() {
@@ -3,14 +3,16 @@ package com.upseil.game;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.upseil.game.component.GameState;
+import com.upseil.game.domain.GridState;
 
 public class Savegame {
     
     private final MetaData metaData;
     private final GameState gameState;
+    private final GridState gridState;
     
-    public Savegame(GameState gameState) {
-        this(MetaData.get(), gameState);
+    public Savegame(GameState gameState, GridState gridState) {
+        this(MetaData.get(), gameState, gridState);
     }
 
     /**
@@ -18,9 +20,11 @@ public class Savegame {
      */
     @Deprecated
     @JsonCreator
-    private Savegame(@JsonProperty("metaData") MetaData metaData, @JsonProperty("gameState") GameState gameState) {
+    public Savegame(@JsonProperty("metaData") MetaData metaData, @JsonProperty("gameState") GameState gameState,
+                     @JsonProperty("gridState") GridState gridState) {
         this.metaData = metaData;
         this.gameState = gameState;
+        this.gridState = gridState;
     }
 
     public MetaData getMetaData() {
@@ -30,5 +34,12 @@ public class Savegame {
     public GameState getGameState() {
         return gameState;
     }
+
+    /**
+     * @return The grid at the end of the last turn or null if there's no running game
+     */
+    public GridState getGridState() {
+        return gridState;
+    }
     
 }
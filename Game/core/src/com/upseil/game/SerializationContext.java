@@ -1,17 +1,31 @@
 package com.upseil.game;
 
+import com.upseil.game.serialization.SavegameStore;
 import com.upseil.gdx.serialization.Mapper;
 
 public class SerializationContext {
     
     private final Mapper<Savegame> savegameMapper;
+    private final SavegameStore autoSaveStore;
     
     public SerializationContext(Mapper<Savegame> savegameMapper) {
+        this(savegameMapper, null);
+    }
+    
+    /**
+     * @param autoSaveStore Stores the savegames written at the end of every turn, may be null
+     */
+    public SerializationContext(Mapper<Savegame> savegameMapper, SavegameStore autoSaveStore) {
         this.savegameMapper = savegameMapper;
+        this.autoSaveStore = autoSaveStore;
     }
 
     public Mapper<Savegame> getSavegameMapper() {
         return savegameMapper;
     }
+
+    public SavegameStore getAutoSaveStore() {
+        return autoSaveStore;
+    }
     
 }
@@ -0,0 +1,101 @@
+package com.upseil.game.domain;
+
+public class CellChange {
+
+    public enum Type {
+        /** The cell has been removed from the grid at its origin */
+        Removal,
+        /** The cell moves from its origin to its target, both inside of the grid */
+        Move,
+        /** The cell has been created outside of the grid at its origin and moves to its target */
+        Spawn,
+        /** The cell moves from its origin to its target outside of the grid and is removed afterwards */
+        Exit
+    }
+
+    private Type type;
+    private Cell cell;
+    private Color color;
+
+    private int fromX;
+    private int fromY;
+    private int toX;
+    private int toY;
+
+    private float delay;
+    private float duration;
+
+    CellChange set(Type type, Cell cell, int fromX, int fromY, int toX, int toY) {
+        this.type = type;
+        this.cell = cell;
+        this.color = cell.getColor();
+        this.fromX = fromX;
+        this.fromY = fromY;
+        this.toX = toX;
+        this.toY = toY;
+        this.delay = 0;
+        this.duration = 0;
+        return this;
+    }
+
+    CellChange setTiming(float delay, float duration) {
+        this.delay = delay;
+        this.duration = duration;
+        return this;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Cell getCell() {
+        return cell;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+
+    public int getFromX() {
+        return fromX;
+    }
+
+    public int getFromY() {
+        return fromY;
+    }
+
+    public int getToX() {
+        return toX;
+    }
+
+    public int getToY() {
+        return toY;
+    }
+
+    public float getDelay() {
+        return delay;
+    }
+
+    public float getDuration() {
+        return duration;
+    }
+
+    public float getEndTime() {
+        return delay + duration;
+    }
+
+    public boolean isMovement() {
+        return type == Type.Move || type == Type.Spawn || type == Type.Exit;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(type).append("[").append(color).append(": ")
+               .append(fromX).append(",").append(fromY).append(" -> ")
+               .append(toX).append(",").append(toY).append(" @ ")
+               .append(delay).append("+").append(duration).append("]");
+        return builder.toString();
+    }
+
+}
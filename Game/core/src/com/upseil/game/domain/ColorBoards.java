@@ -0,0 +1,300 @@
+package com.upseil.game.domain;
+
+import java.util.Arrays;
+
+/**
+ * The colors of the cells of a square {@link Grid} as one bitboard per color. Every bitboard is kept twice, once with
+ * rows and once with columns as contiguous lines, so that fills in any direction can compact whole words at once.
+ * Positions along a line are counted from the side the cells move towards, like the positions of a fill.
+ */
+final class ColorBoards {
+
+    private static final int WordSize = 64;
+    private static final int BlackPlane = Color.size();
+    private static final int WhitePlane = Color.size() + 1;
+    private static final int PlaneCount = Color.size() + 2;
+    private static final int AllPlanes = -1;
+
+    private final int size;
+    private final int lineWords;
+
+    /** rows[plane][y * lineWords + x / 64] contains bit x % 64 */
+    private final long[][] rows;
+    /** columns[plane][x * lineWords + y / 64] contains bit y % 64 */
+    private final long[][] columns;
+
+    private final long[] transposeBuffer;
+
+    ColorBoards(int size) {
+        this.size = size;
+        lineWords = (size + WordSize - 1) / WordSize;
+
+        rows = new long[PlaneCount][size * lineWords];
+        columns = new long[PlaneCount][size * lineWords];
+        transposeBuffer = new long[WordSize];
+    }
+
+    void clear() {
+        for (int plane = 0; plane < PlaneCount; plane++) {
+            Arrays.fill(rows[plane], 0);
+            Arrays.fill(columns[plane], 0);
+        }
+    }
+
+    void set(ColorBoards other) {
+        for (int plane = 0; plane < PlaneCount; plane++) {
+            System.arraycopy(other.rows[plane], 0, rows[plane], 0, rows[plane].length);
+            System.arraycopy(other.columns[plane], 0, columns[plane], 0, columns[plane].length);
+        }
+    }
+
+    // Single Cells -------------------------------------------------------------------------------
+
+    void add(int x, int y, Color color) {
+        int plane = getPlane(color);
+        rows[plane][y * lineWords + x / WordSize] |= 1L << (x % WordSize);
+        columns[plane][x * lineWords + y / WordSize] |= 1L << (y % WordSize);
+    }
+
+    void remove(int x, int y, Color color) {
+        int plane = getPlane(color);
+        rows[plane][y * lineWords + x / WordSize] &= ~(1L << (x % WordSize));
+        columns[plane][x * lineWords + y / WordSize] &= ~(1L << (y % WordSize));
+    }
+
+    /**
+     * Removes all cells of the given color at once.
+     */
+    void clear(Color color) {
+        int plane = getPlane(color);
+        Arrays.fill(rows[plane], 0);
+        Arrays.fill(columns[plane], 0);
+    }
+
+    /**
+     * @return The y coordinate of the first cell of the given color in the column at or above fromY or -1
+     */
+    int findInColumn(Color color, int x, int fromY) {
+        return find(columns, getPlane(color), x * lineWords, fromY, true, true);
+    }
+
+    // Line Fills ---------------------------------------------------------------------------------
+
+    /**
+     * @return The first position of an occupied cell in the line at or behind the given position or -1
+     */
+    int findOccupied(boolean horizontal, int line, int fromPosition, boolean towardsStart) {
+        return find(getLines(horizontal), AllPlanes, line * lineWords, fromPosition, towardsStart, true);
+    }
+
+    /**
+     * @return The first position of an empty cell in the line at or behind the given position or -1
+     */
+    int findEmpty(boolean horizontal, int line, int fromPosition, boolean towardsStart) {
+        return find(getLines(horizontal), AllPlanes, line * lineWords, fromPosition, towardsStart, false);
+    }
+
+    int countOccupied(boolean horizontal, int line) {
+        long[][] lines = getLines(horizontal);
+        int offset = line * lineWords;
+        int count = 0;
+        for (int word = 0; word < lineWords; word++) {
+            count += Long.bitCount(getWord(lines, AllPlanes, offset + word));
+        }
+        return count;
+    }
+
+    /**
+     * Moves every run of occupied cells of the line towards its start or its end, in place and only touching the words
+     * of that line, so that different lines can be compacted in parallel. Only the layout that contains the line as
+     * contiguous words is changed until {@link #updateCrossLines(boolean)} is called.
+     */
+    void compactLine(boolean horizontal, int line, boolean towardsStart) {
+        long[][] lines = getLines(horizontal);
+        int offset = line * lineWords;
+        if (towardsStart) {
+            int target = 0;
+            for (int word = 0; word < lineWords; word++) {
+                // Runs of this word are only ever moved to this or a previous word, so it's still unchanged here
+                long occupied = getWord(lines, AllPlanes, offset + word);
+                while (occupied != 0) {
+                    int start = Long.numberOfTrailingZeros(occupied);
+                    int length = Long.numberOfTrailingZeros(~(occupied >>> start));
+                    moveRun(lines, offset, word, start, length, target);
+                    target += length;
+                    occupied &= ~(getMask(length) << start);
+                }
+            }
+        } else {
+            int target = size;
+            for (int word = lineWords - 1; word >= 0; word--) {
+                long occupied = getWord(lines, AllPlanes, offset + word);
+                while (occupied != 0) {
+                    int end = WordSize - Long.numberOfLeadingZeros(occupied);
+                    int length = Long.numberOfLeadingZeros(~(occupied << (WordSize - end)));
+                    int start = end - length;
+                    target -= length;
+                    moveRun(lines, offset, word, start, length, target);
+                    occupied &= ~(getMask(length) << start);
+                }
+            }
+        }
+    }
+
+    /**
+     * Like {@link #add(int, int, Color)}, but only for the layout that contains the line as contiguous words.
+     */
+    void addToLine(boolean horizontal, int x, int y, Color color) {
+        int line = horizontal ? y : x;
+        int bit = horizontal ? x : y;
+        getLines(horizontal)[getPlane(color)][line * lineWords + bit / WordSize] |= 1L << (bit % WordSize);
+    }
+
+    /**
+     * Copies the lines that have been changed by {@link #compactLine(boolean, int, boolean)} and
+     * {@link #addToLine(boolean, int, int, Color)} into the other layout.
+     */
+    void updateCrossLines(boolean horizontal) {
+        if (horizontal) {
+            transpose(rows, columns);
+        } else {
+            transpose(columns, rows);
+        }
+    }
+
+    /**
+     * Moves the bits of the run in all planes to the target bit of the line. The run is cleared first, because the
+     * target may overlap it.
+     */
+    private void moveRun(long[][] lines, int offset, int word, int start, int length, int targetBit) {
+        if (targetBit == word * WordSize + start) {
+            return;
+        }
+
+        long mask = getMask(length);
+        for (int plane = 0; plane < PlaneCount; plane++) {
+            long[] planeLines = lines[plane];
+            long bits = (planeLines[offset + word] >>> start) & mask;
+            planeLines[offset + word] &= ~(mask << start);
+            int targetWord = offset + targetBit / WordSize;
+            int shift = targetBit % WordSize;
+            planeLines[targetWord] |= bits << shift;
+            if (shift + length > WordSize) {
+                planeLines[targetWord + 1] |= bits >>> (WordSize - shift);
+            }
+        }
+    }
+
+    private int find(long[][] lines, int plane, int offset, int fromPosition, boolean towardsStart, boolean occupied) {
+        if (towardsStart) {
+            for (int bit = fromPosition; bit < size; bit = (bit / WordSize + 1) * WordSize) {
+                int word = bit / WordSize;
+                long bits = getWord(lines, plane, offset + word);
+                bits = (occupied ? bits : ~bits) & (-1L << (bit % WordSize));
+                if (bits != 0) {
+                    int found = word * WordSize + Long.numberOfTrailingZeros(bits);
+                    return found < size ? found : -1;
+                }
+            }
+        } else {
+            for (int bit = size - 1 - fromPosition; bit >= 0; bit = bit / WordSize * WordSize - 1) {
+                int word = bit / WordSize;
+                long bits = getWord(lines, plane, offset + word);
+                bits = (occupied ? bits : ~bits) & (-1L >>> (WordSize - 1 - bit % WordSize));
+                if (bits != 0) {
+                    return size - 1 - (word * WordSize + WordSize - 1 - Long.numberOfLeadingZeros(bits));
+                }
+            }
+        }
+        return -1;
+    }
+
+    private long getWord(long[][] lines, int plane, int index) {
+        if (plane != AllPlanes) {
+            return lines[plane][index];
+        }
+        long word = 0;
+        for (plane = 0; plane < PlaneCount; plane++) {
+            word |= lines[plane][index];
+        }
+        return word;
+    }
+
+    private long[][] getLines(boolean horizontal) {
+        return horizontal ? rows : columns;
+    }
+
+    private long getMask(int length) {
+        return length == WordSize ? -1L : (1L << length) - 1;
+    }
+
+    // Transposition ------------------------------------------------------------------------------
+
+    private void transpose(long[][] source, long[][] target) {
+        for (int plane = 0; plane < PlaneCount; plane++) {
+            for (int blockLine = 0; blockLine < lineWords; blockLine++) {
+                for (int blockWord = 0; blockWord < lineWords; blockWord++) {
+                    transposeBlock(source[plane], target[plane], blockLine, blockWord);
+                }
+            }
+        }
+    }
+
+    /**
+     * Transposes the 64x64 block of bits starting at line blockLine * 64 and bit blockWord * 64 by recursively swapping
+     * the off-diagonal quarters of the block.
+     */
+    private void transposeBlock(long[] source, long[] target, int blockLine, int blockWord) {
+        long[] block = transposeBuffer;
+        int firstLine = blockLine * WordSize;
+        for (int index = 0; index < WordSize; index++) {
+            int line = firstLine + index;
+            block[index] = line < size ? source[line * lineWords + blockWord] : 0;
+        }
+
+        long mask = 0x00000000FFFFFFFFL;
+        for (int width = WordSize / 2; width != 0; width >>>= 1, mask ^= mask << width) {
+            for (int index = 0; index < WordSize; index = ((index | width) + 1) & ~width) {
+                long swap = ((block[index] >>> width) ^ block[index | width]) & mask;
+                block[index] ^= swap << width;
+                block[index | width] ^= swap;
+            }
+        }
+
+        int firstTargetLine = blockWord * WordSize;
+        for (int index = 0; index < WordSize; index++) {
+            int line = firstTargetLine + index;
+            if (line < size) {
+                target[line * lineWords + blockLine] = block[index];
+            }
+        }
+    }
+
+    // Data Polling -------------------------------------------------------------------------------
+
+    int count(Color color) {
+        long[] plane = rows[getPlane(color)];
+        int count = 0;
+        for (int index = 0; index < plane.length; index++) {
+            count += Long.bitCount(plane[index]);
+        }
+        return count;
+    }
+
+    private int getPlane(Color color) {
+        switch (color) {
+        case Black:
+            return BlackPlane;
+        case White:
+            return WhitePlane;
+        case Color0:
+        case Color1:
+        case Color2:
+            return color.getNumber();
+        case Empty:
+            break;
+        }
+        throw new IllegalArgumentException("No bitboard for color " + color);
+    }
+
+}
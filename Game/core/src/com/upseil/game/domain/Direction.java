@@ -5,6 +5,8 @@ import com.upseil.gdx.math.ExtendedRandom;
 public enum Direction {
     Top(0, 1), Left(-1, 0), Bottom(0, -1), Right(1, 0);
     
+    private static final Direction[] Values = values();
+    
     private final int deltaX;
     private final int deltaY;
     
@@ -44,7 +46,14 @@ public enum Direction {
     }
     
     public static Direction random(ExtendedRandom random) {
-        Direction[] values = values();
-        return values[random.randomIntExclusive(values.length)];
+        return Values[random.randomIntExclusive(Values.length)];
+    }
+    
+    /**
+     * @return A shared array of all directions that must not be modified. Unlike {@link #values()} this doesn't create
+     *         a new array on every call.
+     */
+    public static Direction[] all() {
+        return Values;
     }
 }
@@ -0,0 +1,740 @@
+package com.upseil.game.domain;
+
+import com.badlogic.gdx.utils.Array;
+import com.upseil.gdx.math.ExtendedRandom;
+import com.upseil.gdx.util.EnumMap;
+
+/**
+ * The rules of the game on a grid of cells, independent of any rendering. Every modification is resolved
+ * immediately and reported as a {@link GridStep} that describes how the cells got to their new positions.
+ */
+public class Grid {
+
+    private final GridTiming timing;
+    private final ExtendedRandom random;
+
+    private final Cell[][] cells;
+    private final EnumMap<Direction, Color> borderColors;
+    private final ColorBoards colorBoards;
+    private final GridStep step;
+
+    private final Array<Cell> freeCells;
+    private final Array<Cell> releasedCells;
+    private final Direction[] changeableBorders;
+    private final Color[] shuffledBorderColors;
+
+    private LineExecutor lineExecutor;
+    private LineTask countLines;
+    private LineTask fillLines;
+    private Direction lineFillDirection;
+    private int[] lineFirstEmpty;
+    private int[] lineChangeOffsets;
+    private int[] lineSpawnOffsets;
+    private Cell[] spawnedCells;
+
+    private Cell blackCell;
+    private Cell whiteCell;
+    private boolean lost;
+
+    public Grid(int size, GridTiming timing, ExtendedRandom random) {
+        this.timing = timing;
+        this.random = random;
+
+        cells = new Cell[size][size];
+        borderColors = new EnumMap<>(Direction.class);
+        colorBoards = new ColorBoards(size);
+        step = new GridStep(size * size);
+
+        freeCells = new Array<>(false, size * size, Cell.class);
+        releasedCells = new Array<>(false, size, Cell.class);
+        changeableBorders = new Direction[Direction.all().length];
+        shuffledBorderColors = new Color[Direction.all().length];
+    }
+
+    // Grid Creation ------------------------------------------------------------------------------
+
+    public void initialize(float exclusionAreaSize) {
+        clear();
+
+        int width = getWidth();
+        int height = getHeight();
+        float exclusionAreaWidth = width * exclusionAreaSize;
+        float exclusionAreaHeight = height * exclusionAreaSize;
+        float exclusionAreaX = (width - exclusionAreaWidth) / 2;
+        float exclusionAreaY = (height - exclusionAreaHeight) / 2;
+
+        int minX = Math.round(exclusionAreaX + exclusionAreaWidth);
+        int minY = Math.round(exclusionAreaY + exclusionAreaHeight);
+        int maxX = Math.round(exclusionAreaX);
+        int maxY = Math.round(exclusionAreaY);
+
+        int blackX = random.randomBoolean() ? random.randomInt(1, maxX - 1) : random.randomInt(minX, width - 2);
+        int blackY = random.randomBoolean() ? random.randomInt(1, maxY - 1) : random.randomInt(minY, height - 2);
+        int whiteX = width - blackX - 1;
+        int whiteY = height - blackY - 1;
+
+        blackCell = createAndSetCell(blackX, blackY, Color.Black);
+        whiteCell = createAndSetCell(whiteX, whiteY, Color.White);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (cells[x][y] == null) {
+                    createAndSetCell(x, y, Color.random(random));
+                }
+            }
+        }
+
+        Color borderColor = Color.Black;
+        for (Direction direction : Direction.all()) {
+            borderColors.put(direction, borderColor);
+            borderColor = borderColor == Color.Black ? Color.White : Color.Black;
+        }
+    }
+
+    private void clear() {
+        for (int x = 0; x < getWidth(); x++) {
+            for (int y = 0; y < getHeight(); y++) {
+                if (cells[x][y] != null) {
+                    releasedCells.add(cells[x][y]);
+                    cells[x][y] = null;
+                }
+            }
+        }
+        colorBoards.clear();
+        beginStep();
+        blackCell = null;
+        whiteCell = null;
+        lost = false;
+    }
+
+    /**
+     * Copies the cells, border colors and state of the given grid. Both grids need to have the same size.
+     */
+    public void set(Grid other) {
+        if (getWidth() != other.getWidth() || getHeight() != other.getHeight()) {
+            throw new IllegalArgumentException("Can't copy a grid of size " + other.getWidth() + "x" + other.getHeight() +
+                                               " into a grid of size " + getWidth() + "x" + getHeight());
+        }
+
+        beginStep();
+        for (int x = 0; x < getWidth(); x++) {
+            for (int y = 0; y < getHeight(); y++) {
+                Cell otherCell = other.cells[x][y];
+                if (otherCell == null) {
+                    if (cells[x][y] != null) {
+                        freeCells.add(cells[x][y]);
+                        cells[x][y] = null;
+                    }
+                } else if (cells[x][y] == null) {
+                    cells[x][y] = obtainCell(x, y, otherCell.getColor());
+                } else {
+                    Cell cell = cells[x][y];
+                    cell.setX(x);
+                    cell.setY(y);
+                    cell.setColor(otherCell.getColor());
+                }
+            }
+        }
+        for (Direction direction : Direction.all()) {
+            borderColors.put(direction, other.borderColors.get(direction));
+        }
+        colorBoards.set(other.colorBoards);
+        blackCell = cells[other.blackCell.getX()][other.blackCell.getY()];
+        whiteCell = cells[other.whiteCell.getX()][other.whiteCell.getY()];
+        lost = other.lost;
+    }
+
+    /**
+     * Restores the cells and border colors of the given state. The random state has to be restored by the owner of
+     * the random number generator.
+     */
+    public void restore(GridState state) {
+        if (state.getSize() != getWidth() || state.getSize() != getHeight()) {
+            throw new IllegalArgumentException("Can't restore a grid of size " + state.getSize() + " into a grid of size " +
+                                               getWidth() + "x" + getHeight());
+        }
+
+        clear();
+        for (int x = 0; x < getWidth(); x++) {
+            for (int y = 0; y < getHeight(); y++) {
+                Color color = state.getColor(x, y);
+                if (color == Color.Empty) {
+                    continue;
+                }
+                Cell cell = createAndSetCell(x, y, color);
+                if (color == Color.Black) {
+                    blackCell = cell;
+                } else if (color == Color.White) {
+                    whiteCell = cell;
+                }
+            }
+        }
+        if (blackCell == null || whiteCell == null) {
+            throw new IllegalArgumentException("The state doesn't contain a black and a white cell");
+        }
+        for (Direction direction : Direction.all()) {
+            borderColors.put(direction, state.getBorderColor(direction));
+        }
+    }
+
+    private Cell createAndSetCell(int x, int y, Color color) {
+        Cell cell = obtainCell(x, y, color);
+        setCell(x, y, cell);
+        return cell;
+    }
+
+    private Cell obtainCell(int x, int y, Color color) {
+        if (freeCells.size == 0) {
+            return new Cell(x, y, color);
+        }
+        Cell cell = freeCells.pop();
+        cell.setX(x);
+        cell.setY(y);
+        cell.setColor(color);
+        return cell;
+    }
+
+    /**
+     * Cells that left the grid during the previous step are reused from now on, because the changes of that step
+     * which still reference them are discarded.
+     */
+    private void beginStep() {
+        freeCells.addAll(releasedCells);
+        releasedCells.clear();
+        step.begin();
+    }
+
+    private void setCell(int x, int y, Cell cell) {
+        cells[x][y] = cell;
+        cell.setX(x);
+        cell.setY(y);
+        colorBoards.add(x, y, cell.getColor());
+    }
+
+    // Turn Resolution ----------------------------------------------------------------------------
+
+    /**
+     * Resolves a whole turn at once: Removing all cells of the given color, filling the grid, teleporting the black
+     * and white cell and randomizing the border colors.
+     *
+     * @return The number of removed cells
+     */
+    public int resolveTurn(Color color) {
+        int removedCells = removeCells(color).getRemovalCount();
+        fill(getFillDirection(color));
+        if (!lost) {
+            removedCells += teleport().getRemovalCount();
+        }
+        if (!lost) {
+            randomizeBorderColors();
+        }
+        return removedCells;
+    }
+
+    public GridStep removeCells(Color color) {
+        beginStep();
+        for (int x = 0; x < getWidth(); x++) {
+            for (int y = colorBoards.findInColumn(color, x, 0); y >= 0; y = colorBoards.findInColumn(color, x, y + 1)) {
+                discardCell(cells[x][y]);
+            }
+        }
+        colorBoards.clear(color);
+        step.finish(this);
+        return step;
+    }
+
+    public GridStep fill(Direction moveDirection) {
+        beginStep();
+        boolean horizontal = moveDirection.isHorizontal();
+        int lineCount = horizontal ? getHeight() : getWidth();
+        int lineLength = horizontal ? getWidth() : getHeight();
+        if (lineExecutor != null) {
+            fillLines(moveDirection, lineCount);
+        } else {
+            for (int line = 0; line < lineCount; line++) {
+                int firstEmpty = colorBoards.findEmpty(horizontal, line, 0, isTowardsStart(moveDirection));
+                // No empty cell -> no cells in this line have been removed
+                if (firstEmpty >= 0) {
+                    int firstChange = step.size();
+                    step.reserve(firstChange + lineLength - firstEmpty);
+                    fillLine(moveDirection, line, firstEmpty, firstChange, -1);
+                }
+            }
+        }
+        colorBoards.updateCrossLines(horizontal);
+        finishStep();
+        return step;
+    }
+
+    /**
+     * Moves the cells behind the first empty cell of the line towards it and spawns new cells behind them. The changes
+     * are set into the slots of the step starting at firstChange, which have to be reserved already. The new cells are
+     * taken from {@link #spawnedCells} starting at spawnIndex or, if it's negative, drawn right away.
+     */
+    private void fillLine(Direction moveDirection, int line, int firstEmpty, int firstChange, int spawnIndex) {
+        boolean horizontal = moveDirection.isHorizontal();
+        boolean towardsStart = isTowardsStart(moveDirection);
+        int lineLength = horizontal ? getWidth() : getHeight();
+        int changeIndex = firstChange;
+        int target = firstEmpty;
+        for (int position = colorBoards.findOccupied(horizontal, line, firstEmpty, towardsStart); position >= 0;
+                 position = colorBoards.findOccupied(horizontal, line, position + 1, towardsStart)) {
+            int x = toLineX(moveDirection, line, position);
+            int y = toLineY(moveDirection, line, position);
+            int toX = toLineX(moveDirection, line, target);
+            int toY = toLineY(moveDirection, line, target);
+            Cell cell = cells[x][y];
+            cells[x][y] = null;
+            cells[toX][toY] = cell;
+            cell.setX(toX);
+            cell.setY(toY);
+            step.set(changeIndex++, CellChange.Type.Move, cell, x, y, toX, toY);
+            target++;
+        }
+        colorBoards.compactLine(horizontal, line, towardsStart);
+
+        for (int spawn = lineLength; target < lineLength; spawn++, target++) {
+            Cell cell;
+            if (spawnIndex < 0) {
+                cell = obtainCell(0, 0, Color.random(random));
+            } else {
+                cell = spawnedCells[spawnIndex];
+                spawnedCells[spawnIndex++] = null;
+            }
+            int toX = toLineX(moveDirection, line, target);
+            int toY = toLineY(moveDirection, line, target);
+            cells[toX][toY] = cell;
+            cell.setX(toX);
+            cell.setY(toY);
+            colorBoards.addToLine(horizontal, toX, toY, cell.getColor());
+            step.set(changeIndex++, CellChange.Type.Spawn, cell, toLineX(moveDirection, line, spawn), toLineY(moveDirection, line, spawn), toX, toY);
+        }
+
+        setPushTiming(firstChange, changeIndex);
+    }
+
+    private void setPushTiming(int firstChange, int endChange) {
+        // Iterating over the changes backwards, accumulating the needed time for the previous
+        // cell to reach the current cell. This looks like cells are "pushed" by their predecessor.
+        float delay = 0;
+        for (int index = endChange - 1; index >= firstChange; index--) {
+            CellChange change = step.get(index);
+            if (index < endChange - 1) {
+                CellChange previous = step.get(index + 1);
+                int gap = getDistance(change.getFromX(), change.getFromY(), previous.getFromX(), previous.getFromY()) - 1;
+                delay += gap / timing.cellMoveSpeed;
+            }
+            int distance = getDistance(change.getFromX(), change.getFromY(), change.getToX(), change.getToY());
+            change.setTiming(delay, distance / timing.cellMoveSpeed);
+        }
+    }
+
+    /**
+     * Fills the lines in three phases, so that the line executor can process the first and the last one in parallel:
+     * Counting the cells to move and spawn per line, drawing the colors of all new cells in the same order as the
+     * sequential fill would and moving and spawning the cells of each line into the slots of
+     * the step that are reserved for it. The result is exactly the same as filling the lines one after another.
+     */
+    private void fillLines(Direction moveDirection, int lineCount) {
+        lineFillDirection = moveDirection;
+        lineExecutor.execute(lineCount, countLines);
+
+        int changeCount = 0;
+        int spawnCount = 0;
+        for (int line = 0; line < lineCount; line++) {
+            lineChangeOffsets[line] = changeCount;
+            lineSpawnOffsets[line] = spawnCount;
+            if (lineFirstEmpty[line] >= 0) {
+                int lineLength = moveDirection.isHorizontal() ? getWidth() : getHeight();
+                changeCount += lineLength - lineFirstEmpty[line];
+                for (int index = 0, size = lineSpawnOffsets[line + 1]; index < size; index++) {
+                    spawnedCells[spawnCount++] = obtainCell(0, 0, Color.random(random));
+                }
+            }
+        }
+        lineChangeOffsets[lineCount] = changeCount;
+        lineSpawnOffsets[lineCount] = spawnCount;
+
+        step.reserve(changeCount);
+        lineExecutor.execute(lineCount, fillLines);
+        lineFillDirection = null;
+    }
+
+    /**
+     * Stores the position of the first empty cell of each line (or -1) and, temporarily, the number of empty cells
+     * in the spawn offset of the next line.
+     */
+    private void countLines(int fromLine, int toLine) {
+        Direction moveDirection = lineFillDirection;
+        boolean horizontal = moveDirection.isHorizontal();
+        int lineLength = horizontal ? getWidth() : getHeight();
+        for (int line = fromLine; line < toLine; line++) {
+            lineFirstEmpty[line] = colorBoards.findEmpty(horizontal, line, 0, isTowardsStart(moveDirection));
+            lineSpawnOffsets[line + 1] = lineLength - colorBoards.countOccupied(horizontal, line);
+        }
+    }
+
+    private void fillLines(int fromLine, int toLine) {
+        Direction moveDirection = lineFillDirection;
+        for (int line = fromLine; line < toLine; line++) {
+            if (lineFirstEmpty[line] >= 0) {
+                fillLine(moveDirection, line, lineFirstEmpty[line], lineChangeOffsets[line], lineSpawnOffsets[line]);
+            }
+        }
+    }
+
+    public GridStep teleport() {
+        beginStep();
+        checkTeleportation(whiteCell);
+        if (!lost) {
+            checkTeleportation(blackCell);
+        }
+        finishStep();
+        return step;
+    }
+
+    private void checkTeleportation(Cell cell) {
+        Color color = cell.getColor();
+        Direction touchingHorizontalBorder = getTouchingBorder(cell.getX(), true);
+        Direction touchingVerticalBorder = getTouchingBorder(cell.getY(), false);
+        if ((touchingHorizontalBorder != null && touchingVerticalBorder == null) ||
+            (touchingHorizontalBorder == null && touchingVerticalBorder != null)) {
+            Direction touchingBorder = touchingHorizontalBorder != null ? touchingHorizontalBorder : touchingVerticalBorder;
+            if (borderColors.get(touchingBorder) == color) {
+                teleport(cell, touchingBorder, getOtherBorder(touchingBorder, color));
+            }
+        }
+    }
+
+    private Direction getTouchingBorder(int gridPosition, boolean horizontal) {
+        if (gridPosition == 0) {
+            return horizontal ? Direction.Left : Direction.Bottom;
+        }
+        if (horizontal && gridPosition == getWidth() - 1) {
+            return Direction.Right;
+        }
+        if (!horizontal && gridPosition == getHeight() - 1) {
+            return Direction.Top;
+        }
+        return null;
+    }
+
+    private Direction getOtherBorder(Direction knownDirection, Color color) {
+        for (Direction direction : Direction.all()) {
+            if (direction != knownDirection && color == borderColors.get(direction)) {
+                return direction;
+            }
+        }
+        throw new IllegalStateException("No other border for color " + color + " exists: knownDirection = " + knownDirection);
+    }
+
+    private void teleport(Cell cell, Direction from, Direction to) {
+        float moveDuration = 1 / timing.teleportMoveSpeed;
+        float delay = timing.teleportDelay;
+
+        int cellX = cell.getX();
+        int cellY = cell.getY();
+        exitCell(cell, cellX + from.getDeltaX(), cellY + from.getDeltaY()).setTiming(delay, moveDuration);
+
+        boolean inLine = from.isHorizontal() == to.isHorizontal();
+        int targetX = to == Direction.Left ? 0 : to == Direction.Right ? getWidth() - 1 : inLine ? cellX : cellY;
+        int targetY = to == Direction.Bottom ? 0 : to == Direction.Top ? getHeight() - 1 : inLine ? cellY : cellX;
+
+        if (inLine) {
+            shiftLine(from.isHorizontal() ? cellY : cellX, from, delay, moveDuration);
+        } else {
+            Direction toOpposite = to.getOpposite();
+            int removeX = toOpposite == Direction.Left ? 0 : toOpposite == Direction.Right ? getWidth() - 1 : targetX;
+            int removeY = toOpposite == Direction.Bottom ? 0 : toOpposite == Direction.Top ? getHeight() - 1 : targetY;
+            Cell removedCell = cells[removeX][removeY];
+            if (removedCell == blackCell || removedCell == whiteCell) {
+                // The other special cell is pushed out of the grid as soon as the teleport starts
+                lost = true;
+                step.setContactTime(delay);
+            }
+            removeCell(removedCell);
+            shiftLine(to.isHorizontal() ? targetY : targetX, toOpposite, delay, moveDuration);
+
+            Direction fromOpposite = from.getOpposite();
+            int fillX = fromOpposite == Direction.Left ? 0 : fromOpposite == Direction.Right ? getWidth() - 1 : cellX;
+            int fillY = fromOpposite == Direction.Bottom ? 0 : fromOpposite == Direction.Top ? getHeight() - 1 : cellY;
+            Color fillColor = Color.random(random);
+            float fillDelay = moveDuration + 2 * delay;
+            shiftLine(from.isHorizontal() ? cellY : cellX, from, fillDelay, moveDuration);
+            spawnCell(fillColor, fillX + fromOpposite.getDeltaX(), fillY + fromOpposite.getDeltaY(), fillX, fillY)
+                .setTiming(fillDelay, moveDuration);
+        }
+
+        Cell newCell = spawnCell(cell.getColor(), targetX + to.getDeltaX(), targetY + to.getDeltaY(), targetX, targetY)
+                        .setTiming(delay, moveDuration).getCell();
+        if (cell == whiteCell) {
+            whiteCell = newCell;
+        }
+        if (cell == blackCell) {
+            blackCell = newCell;
+        }
+    }
+
+    private void shiftLine(int number, Direction direction, float delay, float moveDuration) {
+        int cellX = direction ==   Direction.Left ? 0 : direction == Direction.Right ? getWidth() - 1  : number;
+        int cellY = direction == Direction.Bottom ? 0 : direction ==   Direction.Top ? getHeight() - 1 : number;
+
+        for (int i = direction.isHorizontal() ? getWidth() : getHeight(); i > 0; i--) {
+            Cell cell = cells[cellX][cellY];
+            if (cell != null) {
+                moveCell(cell, cellX + direction.getDeltaX(), cellY + direction.getDeltaY()).setTiming(delay, moveDuration);
+            }
+            cellX -= direction.getDeltaX();
+            cellY -= direction.getDeltaY();
+        }
+    }
+
+    public void randomizeBorderColors() {
+        // Prevent color changes of borders that are "touched" by the black or white cell
+        int changeableBorderCount = 0;
+        for (Direction direction : Direction.all()) {
+            if (!isTouchingBorder(blackCell, direction) && !isTouchingBorder(whiteCell, direction)) {
+                changeableBorders[changeableBorderCount] = direction;
+                shuffledBorderColors[changeableBorderCount] = borderColors.get(direction);
+                changeableBorderCount++;
+            }
+        }
+
+        // Shuffling the colors of the changeable borders
+        for (int index = changeableBorderCount - 1; index > 0; index--) {
+            int swapIndex = random.randomIntExclusive(index + 1);
+            Color color = shuffledBorderColors[index];
+            shuffledBorderColors[index] = shuffledBorderColors[swapIndex];
+            shuffledBorderColors[swapIndex] = color;
+        }
+        for (int index = 0; index < changeableBorderCount; index++) {
+            borderColors.put(changeableBorders[index], shuffledBorderColors[index]);
+        }
+    }
+
+    private boolean isTouchingBorder(Cell cell, Direction border) {
+        switch (border) {
+        case Left:
+            return cell.getX() == 0;
+        case Right:
+            return cell.getX() == getWidth() - 1;
+        case Bottom:
+            return cell.getY() == 0;
+        case Top:
+            return cell.getY() == getHeight() - 1;
+        }
+        throw new IllegalArgumentException("Unknown border " + border);
+    }
+
+    private void finishStep() {
+        step.finish(this);
+        if (step.hasContact()) {
+            lost = true;
+        }
+    }
+
+    // Cell Changes -------------------------------------------------------------------------------
+
+    private void removeCell(Cell cell) {
+        colorBoards.remove(cell.getX(), cell.getY(), cell.getColor());
+        discardCell(cell);
+    }
+
+    /**
+     * Removes the cell without updating the color boards.
+     */
+    private void discardCell(Cell cell) {
+        cells[cell.getX()][cell.getY()] = null;
+        releasedCells.add(cell);
+        step.add(CellChange.Type.Removal, cell, cell.getX(), cell.getY(), cell.getX(), cell.getY());
+    }
+
+    private CellChange moveCell(Cell cell, int toX, int toY) {
+        int fromX = cell.getX();
+        int fromY = cell.getY();
+        cells[fromX][fromY] = null;
+        cells[toX][toY] = cell;
+        cell.setX(toX);
+        cell.setY(toY);
+        colorBoards.remove(fromX, fromY, cell.getColor());
+        colorBoards.add(toX, toY, cell.getColor());
+        return step.add(CellChange.Type.Move, cell, fromX, fromY, toX, toY);
+    }
+
+    private CellChange spawnCell(Color color, int fromX, int fromY, int toX, int toY) {
+        Cell cell = obtainCell(fromX, fromY, color);
+        setCell(toX, toY, cell);
+        return step.add(CellChange.Type.Spawn, cell, fromX, fromY, toX, toY);
+    }
+
+    private CellChange exitCell(Cell cell, int toX, int toY) {
+        int fromX = cell.getX();
+        int fromY = cell.getY();
+        cells[fromX][fromY] = null;
+        colorBoards.remove(fromX, fromY, cell.getColor());
+        cell.setX(toX);
+        cell.setY(toY);
+        releasedCells.add(cell);
+        return step.add(CellChange.Type.Exit, cell, fromX, fromY, toX, toY);
+    }
+
+    // Data Polling -------------------------------------------------------------------------------
+
+    public static Direction getFillDirection(Color color) {
+        switch (color) {
+        case Color0:
+            return Direction.Left;
+        case Color1:
+            return Direction.Bottom;
+        case Color2:
+            return Direction.Right;
+        case Empty:
+        case Black:
+        case White:
+            break;
+        }
+        throw new IllegalArgumentException("No " + Direction.class.getSimpleName() + " specified for " +
+                                           Color.class.getSimpleName() + " " + color);
+    }
+
+    /**
+     * @return The minimal distance in cells between the black and the white cell or between one of them and a border
+     *         of the opposite color. A distance of 0 means the game is lost.
+     */
+    public float getMinBlackWhiteDistance() {
+        return GridStep.getMinBlackWhiteDistance(this, blackCell.getX(), blackCell.getY(), whiteCell.getX(), whiteCell.getY());
+    }
+
+    private static boolean isTowardsStart(Direction moveDirection) {
+        return moveDirection == Direction.Left || moveDirection == Direction.Bottom;
+    }
+
+    private int toLineX(Direction moveDirection, int line, int position) {
+        switch (moveDirection) {
+        case Left:
+            return position;
+        case Right:
+            return getWidth() - 1 - position;
+        case Top:
+        case Bottom:
+            break;
+        }
+        return line;
+    }
+
+    private int toLineY(Direction moveDirection, int line, int position) {
+        switch (moveDirection) {
+        case Bottom:
+            return position;
+        case Top:
+            return getHeight() - 1 - position;
+        case Left:
+        case Right:
+            break;
+        }
+        return line;
+    }
+
+    private int getDistance(int fromX, int fromY, int toX, int toY) {
+        return Math.abs(toX - fromX) + Math.abs(toY - fromY);
+    }
+
+    /**
+     * Lets the given executor fill the lines of the grid, possibly in parallel, or fills them one after another if
+     * it's null. The result of a fill doesn't depend on the executor.
+     */
+    public void setLineExecutor(LineExecutor lineExecutor) {
+        this.lineExecutor = lineExecutor;
+        if (lineExecutor != null && countLines == null) {
+            int size = getWidth();
+            countLines = this::countLines;
+            fillLines = this::fillLines;
+            lineFirstEmpty = new int[size];
+            lineChangeOffsets = new int[size + 1];
+            lineSpawnOffsets = new int[size + 1];
+            spawnedCells = new Cell[size * size];
+        }
+    }
+
+    public boolean isInsideGrid(int x, int y) {
+        return x >= 0 && x < getWidth() && y >= 0 && y < getHeight();
+    }
+
+    public Cell getCell(int x, int y) {
+        return cells[x][y];
+    }
+
+    public Cell getBlackCell() {
+        return blackCell;
+    }
+
+    public Cell getWhiteCell() {
+        return whiteCell;
+    }
+
+    public Color getBorderColor(Direction direction) {
+        return borderColors.get(direction);
+    }
+
+    public int getColorCount(Color color) {
+        return getColorCount(color.getNumber());
+    }
+
+    public int getColorCount(int colorNumber) {
+        return colorBoards.count(Color.forNumber(colorNumber));
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+
+    public int getWidth() {
+        return cells.length;
+    }
+
+    public int getHeight() {
+        return cells[0].length;
+    }
+
+    public GridTiming getTiming() {
+        return timing;
+    }
+
+    // Utility Classes ----------------------------------------------------------------------------
+
+    /**
+     * Runs a task over all lines of the grid. Every line has to be processed exactly once, the ranges have to be
+     * disjoint and all of them have to be finished when {@link #execute(int, LineTask)} returns.
+     */
+    public interface LineExecutor {
+
+        void execute(int lineCount, LineTask task);
+
+    }
+
+    public interface LineTask {
+
+        /**
+         * Processes the lines from the first (inclusive) to the last (exclusive) one.
+         */
+        void process(int fromLine, int toLine);
+
+    }
+
+    /**
+     * Speeds are given in cells per second, delays in seconds.
+     */
+    public static class GridTiming {
+
+        public final float cellMoveSpeed;
+        public final float teleportMoveSpeed;
+        public final float teleportDelay;
+
+        public GridTiming(float cellMoveSpeed, float teleportMoveSpeed, float teleportDelay) {
+            this.cellMoveSpeed = cellMoveSpeed;
+            this.teleportMoveSpeed = teleportMoveSpeed;
+            this.teleportDelay = teleportDelay;
+        }
+
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.upseil.game.domain;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * Records the changes of the cells that are counted on a grid as a sequence of entries: the position of the cell, its
+ * color before and after the change and the cause of the change. The entries are kept in a ring buffer and identified
+ * by their sequence number, which keeps increasing, so an entry can be read until it has been overwritten by
+ * <code>capacity</code> newer entries.
+ * <p>
+ * Changes are collected per frame. Next to the entries the current frame sums up the change of the count of every
+ * color and the number of removed cells, which are authoritative even if single changes can't be attributed to a cell.
+ * {@link #endFrame()} starts the next frame.
+ */
+public class GridChangeJournal {
+    
+    public enum Cause {
+        /** The cell has been removed by the choice of the player */
+        Removed,
+        /** The cell has been removed by teleporting the black or white cell */
+        Teleported,
+        /** A spawned cell has entered the grid */
+        Entered
+    }
+    
+    private final int mask;
+    private final short[] xs;
+    private final short[] ys;
+    private final Color[] oldColors;
+    private final Color[] newColors;
+    private final Cause[] causes;
+    private long sequence;
+    
+    private long frameStart;
+    private final int[] countDeltas;
+    private int removedCells;
+    private boolean invalidated;
+    
+    /**
+     * @param capacity The number of entries that are kept, rounded up to the next power of two
+     */
+    public GridChangeJournal(int capacity) {
+        int size = MathUtils.nextPowerOfTwo(Math.max(capacity, 2));
+        mask = size - 1;
+        xs = new short[size];
+        ys = new short[size];
+        oldColors = new Color[size];
+        newColors = new Color[size];
+        causes = new Cause[size];
+        countDeltas = new int[Color.size()];
+    }
+    
+    // Recording ----------------------------------------------------------------------------------
+    
+    /**
+     * Records the change of a single cell and adds it to the counts of the current frame.
+     *
+     * @param oldColor The color before the change, {@link Color#Empty} if the cell hasn't been counted before
+     * @param newColor The color after the change, {@link Color#Empty} if the cell isn't counted anymore
+     */
+    public void record(int x, int y, Color oldColor, Color newColor, Cause cause) {
+        int index = (int) (sequence & mask);
+        xs[index] = (short) x;
+        ys[index] = (short) y;
+        oldColors[index] = oldColor;
+        newColors[index] = newColor;
+        causes[index] = cause;
+        sequence++;
+        
+        if (oldColor.getNumber() >= 0) {
+            countDeltas[oldColor.getNumber()]--;
+        }
+        if (newColor.getNumber() >= 0) {
+            countDeltas[newColor.getNumber()]++;
+        }
+        if (cause == Cause.Removed || cause == Cause.Teleported) {
+            removedCells++;
+        }
+    }
+    
+    /**
+     * Adds a change of a color count that isn't attributed to a single cell.
+     */
+    public void addCountDelta(int colorNumber, int delta) {
+        countDeltas[colorNumber] += delta;
+    }
+    
+    /**
+     * Marks the whole grid as changed in the current frame, e.g. because it has been replaced. Consumers should read
+     * the grid again instead of applying the changes.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+    
+    /**
+     * Starts a new frame. The entries of the ended frame stay readable until they are overwritten.
+     */
+    public void endFrame() {
+        frameStart = sequence;
+        Arrays.fill(countDeltas, 0);
+        removedCells = 0;
+        invalidated = false;
+    }
+    
+    // Data Polling -------------------------------------------------------------------------------
+    
+    /**
+     * @return If anything has been recorded in the current frame
+     */
+    public boolean hasChanges() {
+        if (invalidated || removedCells > 0 || sequence != frameStart) {
+            return true;
+        }
+        for (int delta : countDeltas) {
+            if (delta != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public long getFrameStart() {
+        return frameStart;
+    }
+    
+    /**
+     * @return The sequence number the next entry will get
+     */
+    public long getSequence() {
+        return sequence;
+    }
+    
+    public int getCountDelta(int colorNumber) {
+        return countDeltas[colorNumber];
+    }
+    
+    public int getRemovedCells() {
+        return removedCells;
+    }
+    
+    public boolean isInvalidated() {
+        return invalidated;
+    }
+    
+    /**
+     * @return If the entry with the given sequence number has been recorded and not been overwritten yet
+     */
+    public boolean contains(long sequence) {
+        return sequence >= 0 && sequence < this.sequence && this.sequence - sequence <= mask + 1;
+    }
+    
+    public int getX(long sequence) {
+        return xs[index(sequence)];
+    }
+    
+    public int getY(long sequence) {
+        return ys[index(sequence)];
+    }
+    
+    public Color getOldColor(long sequence) {
+        return oldColors[index(sequence)];
+    }
+    
+    public Color getNewColor(long sequence) {
+        return newColors[index(sequence)];
+    }
+    
+    public Cause getCause(long sequence) {
+        return causes[index(sequence)];
+    }
+    
+    private int index(long sequence) {
+        if (!contains(sequence)) {
+            throw new IndexOutOfBoundsException("The entry " + sequence + " isn't available, the journal is at " + this.sequence);
+        }
+        return (int) (sequence & mask);
+    }
+    
+    public int getCapacity() {
+        return mask + 1;
+    }
+    
+}
@@ -0,0 +1,120 @@
+package com.upseil.game.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A snapshot of a {@link Grid} between two turns: the color of every cell packed into 3 bits (column by column), the
+ * colors of the borders and the state of the random number generator the grid draws from.
+ */
+public final class GridState {
+
+    private static final int BitsPerColor = 3;
+    private static final int ColorMask = (1 << BitsPerColor) - 1;
+    private static final Color[] Colors = Color.values();
+
+    private final int size;
+    private final byte[] cells;
+    private final int borderColors;
+    private final long randomState0;
+    private final long randomState1;
+
+    /** Only for serialization! **/
+    @JsonCreator
+    @Deprecated
+    public GridState(@JsonProperty("size") int size, @JsonProperty("cells") byte[] cells, @JsonProperty("borderColors") int borderColors,
+                     @JsonProperty("randomState0") long randomState0, @JsonProperty("randomState1") long randomState1) {
+        if (cells.length != getByteCount(size)) {
+            throw new IllegalArgumentException("Expected " + getByteCount(size) + " bytes for a grid of size " + size + " but got " + cells.length);
+        }
+        this.size = size;
+        this.cells = cells;
+        this.borderColors = borderColors;
+        this.randomState0 = randomState0;
+        this.randomState1 = randomState1;
+    }
+
+    @SuppressWarnings("deprecation")
+    public static GridState of(Grid grid, long randomState0, long randomState1) {
+        int size = grid.getWidth();
+        byte[] cells = new byte[getByteCount(size)];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                Cell cell = grid.getCell(x, y);
+                writeColor(cells, x * size + y, cell == null ? Color.Empty : cell.getColor());
+            }
+        }
+
+        int borderColors = 0;
+        Direction[] directions = Direction.all();
+        for (int index = 0; index < directions.length; index++) {
+            borderColors |= grid.getBorderColor(directions[index]).ordinal() << (index * BitsPerColor);
+        }
+        return new GridState(size, cells, borderColors, randomState0, randomState1);
+    }
+
+    private static int getByteCount(int size) {
+        return (size * size * BitsPerColor + 7) / 8;
+    }
+
+    private static void writeColor(byte[] cells, int index, Color color) {
+        int bit = index * BitsPerColor;
+        int value = color.ordinal() << (bit % 8);
+        cells[bit / 8] |= value;
+        if (bit % 8 + BitsPerColor > 8) {
+            cells[bit / 8 + 1] |= value >>> 8;
+        }
+    }
+
+    // Data Polling -------------------------------------------------------------------------------
+
+    @JsonIgnore
+    public Color getColor(int x, int y) {
+        int bit = (x * size + y) * BitsPerColor;
+        int value = (cells[bit / 8] & 0xFF) >>> (bit % 8);
+        if (bit % 8 + BitsPerColor > 8) {
+            value |= (cells[bit / 8 + 1] & 0xFF) << (8 - bit % 8);
+        }
+        return toColor(value & ColorMask);
+    }
+
+    @JsonIgnore
+    public Color getBorderColor(Direction direction) {
+        Direction[] directions = Direction.all();
+        for (int index = 0; index < directions.length; index++) {
+            if (directions[index] == direction) {
+                return toColor((borderColors >>> (index * BitsPerColor)) & ColorMask);
+            }
+        }
+        throw new IllegalArgumentException("Unknown direction " + direction);
+    }
+
+    private static Color toColor(int ordinal) {
+        if (ordinal >= Colors.length) {
+            throw new IllegalArgumentException("Invalid color " + ordinal);
+        }
+        return Colors[ordinal];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public byte[] getCells() {
+        return cells;
+    }
+
+    public int getBorderColors() {
+        return borderColors;
+    }
+
+    public long getRandomState0() {
+        return randomState0;
+    }
+
+    public long getRandomState1() {
+        return randomState1;
+    }
+
+}
@@ -0,0 +1,338 @@
+package com.upseil.game.domain;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * The result of a single step of a turn (removal, fill or teleport). All times are given in seconds relative to the
+ * start of the step, all positions in grid coordinates.
+ */
+public class GridStep {
+
+    private static final float ContactEpsilon = 0.001f;
+
+    private final Array<CellChange> changes;
+    private final Array<CellChange> freeChanges;
+    private final Track blackTrack;
+    private final Track whiteTrack;
+    private final FloatArray breakpoints;
+
+    private int removalCount;
+    private float duration;
+    private float contactTime;
+
+    public GridStep(int expectedChanges) {
+        changes = new Array<>(false, expectedChanges, CellChange.class);
+        freeChanges = new Array<>(false, expectedChanges, CellChange.class);
+        blackTrack = new Track();
+        whiteTrack = new Track();
+        breakpoints = new FloatArray();
+        begin();
+    }
+
+    void begin() {
+        freeChanges.addAll(changes);
+        changes.clear();
+        removalCount = 0;
+        duration = 0;
+        contactTime = -1;
+    }
+
+    CellChange add(CellChange.Type type, Cell cell, int fromX, int fromY, int toX, int toY) {
+        CellChange change = freeChanges.size > 0 ? freeChanges.pop() : new CellChange();
+        change.set(type, cell, fromX, fromY, toX, toY);
+        changes.add(change);
+        if (type == CellChange.Type.Removal) {
+            removalCount++;
+        }
+        return change;
+    }
+
+    /**
+     * Makes sure the step contains the given number of changes, which have to be {@link #set(int, CellChange.Type,
+     * Cell, int, int, int, int) set} afterwards. Different changes can be set from different threads.
+     */
+    void reserve(int size) {
+        while (changes.size < size) {
+            changes.add(freeChanges.size > 0 ? freeChanges.pop() : new CellChange());
+        }
+    }
+
+    /**
+     * Only for moves and spawns, removals wouldn't be counted.
+     */
+    CellChange set(int index, CellChange.Type type, Cell cell, int fromX, int fromY, int toX, int toY) {
+        CellChange change = changes.get(index);
+        change.set(type, cell, fromX, fromY, toX, toY);
+        return change;
+    }
+
+    /**
+     * Sets the time at which the game is lost, if it's earlier than the contact that has been found so far. Used for
+     * losses that can't be derived from the tracks, like a special cell that has been pushed out of the grid.
+     */
+    void setContactTime(float contactTime) {
+        if (this.contactTime < 0 || contactTime < this.contactTime) {
+            this.contactTime = contactTime;
+        }
+    }
+
+    CellChange get(int index) {
+        return changes.get(index);
+    }
+
+    int size() {
+        return changes.size;
+    }
+
+    void finish(Grid grid) {
+        for (CellChange change : changes) {
+            duration = Math.max(duration, change.getEndTime());
+        }
+        if (changes.size > 0) {
+            blackTrack.set(grid.getBlackCell(), changes);
+            whiteTrack.set(grid.getWhiteCell(), changes);
+            if (!grid.isLost()) {
+                contactTime = calculateContactTime(grid);
+            }
+        }
+    }
+
+    // Contact Detection --------------------------------------------------------------------------
+
+    private float calculateContactTime(Grid grid) {
+        breakpoints.clear();
+        breakpoints.add(0);
+        blackTrack.addBreakpoints(breakpoints);
+        whiteTrack.addBreakpoints(breakpoints);
+        breakpoints.sort();
+
+        // Between two breakpoints both cells move linearly (or not at all)
+        for (int index = 0; index < breakpoints.size; index++) {
+            float start = breakpoints.get(index);
+            float end = index + 1 < breakpoints.size ? breakpoints.get(index + 1) : start;
+            float contact = calculateContactTime(grid, start, end);
+            if (contact >= 0) {
+                return contact;
+            }
+        }
+        return -1;
+    }
+
+    private float calculateContactTime(Grid grid, float start, float end) {
+        float length = end - start;
+        float blackStartX = blackTrack.getX(start);
+        float blackStartY = blackTrack.getY(start);
+        float whiteStartX = whiteTrack.getX(start);
+        float whiteStartY = whiteTrack.getY(start);
+        float blackVelocityX = length > 0 ? (blackTrack.getX(end) - blackStartX) / length : 0;
+        float blackVelocityY = length > 0 ? (blackTrack.getY(end) - blackStartY) / length : 0;
+        float whiteVelocityX = length > 0 ? (whiteTrack.getX(end) - whiteStartX) / length : 0;
+        float whiteVelocityY = length > 0 ? (whiteTrack.getY(end) - whiteStartY) / length : 0;
+
+        float contact = calculateCellContact(blackStartX - whiteStartX, blackStartY - whiteStartY,
+                                             blackVelocityX - whiteVelocityX, blackVelocityY - whiteVelocityY, length);
+        for (Direction direction : Direction.all()) {
+            float borderContact = -1;
+            if (grid.getBorderColor(direction) == Color.White) {
+                borderContact = calculateBorderContact(grid, direction, blackStartX, blackStartY, blackVelocityX, blackVelocityY, length);
+            } else if (grid.getBorderColor(direction) == Color.Black) {
+                borderContact = calculateBorderContact(grid, direction, whiteStartX, whiteStartY, whiteVelocityX, whiteVelocityY, length);
+            }
+            if (borderContact >= 0 && (contact < 0 || borderContact < contact)) {
+                contact = borderContact;
+            }
+        }
+        return contact < 0 ? -1 : start + contact;
+    }
+
+    /**
+     * Solves |distance + velocity * t|^2 <= 1 for the smallest t in [0, length]. Cells are in contact if their centers
+     * are at most one cell apart.
+     */
+    private float calculateCellContact(float distanceX, float distanceY, float velocityX, float velocityY, float length) {
+        float threshold = 1 + ContactEpsilon;
+        float distanceSquared = distanceX * distanceX + distanceY * distanceY;
+        if (distanceSquared <= threshold) {
+            return 0;
+        }
+
+        float a = velocityX * velocityX + velocityY * velocityY;
+        if (a == 0) {
+            return -1;
+        }
+        float b = distanceX * velocityX + distanceY * velocityY;
+        float discriminant = b * b - a * (distanceSquared - threshold);
+        if (discriminant < 0) {
+            return -1;
+        }
+        float time = (-b - (float) Math.sqrt(discriminant)) / a;
+        return time >= 0 && time <= length ? time : -1;
+    }
+
+    private float calculateBorderContact(Grid grid, Direction border, float x, float y, float velocityX, float velocityY, float length) {
+        float distance = getBorderDistance(grid, border, x, y);
+        if (Math.abs(distance) <= ContactEpsilon) {
+            return 0;
+        }
+
+        float velocity = border.isHorizontal() ? velocityX : velocityY;
+        if (border == Direction.Right || border == Direction.Top) {
+            velocity = -velocity;
+        }
+        if (velocity == 0) {
+            return -1;
+        }
+        float time = -distance / velocity;
+        return time >= 0 && time <= length ? time : -1;
+    }
+
+    /**
+     * @return The minimal distance in cells between the black and the white cell or between one of them and a border
+     *         of the opposite color at the given time after the start of this step.
+     */
+    public float getMinBlackWhiteDistance(Grid grid, float time) {
+        if (changes.size == 0) {
+            return grid.getMinBlackWhiteDistance();
+        }
+        return getMinBlackWhiteDistance(grid, blackTrack.getX(time), blackTrack.getY(time), whiteTrack.getX(time), whiteTrack.getY(time));
+    }
+
+    static float getMinBlackWhiteDistance(Grid grid, float blackX, float blackY, float whiteX, float whiteY) {
+        float deltaX = blackX - whiteX;
+        float deltaY = blackY - whiteY;
+        float minDistance = (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY) - 1;
+        for (Direction direction : Direction.all()) {
+            Color borderColor = grid.getBorderColor(direction);
+            boolean white = borderColor == Color.Black;
+            float borderDistance = Math.abs(getBorderDistance(grid, direction, white ? whiteX : blackX, white ? whiteY : blackY));
+            minDistance = Math.min(minDistance, borderDistance);
+        }
+        return Math.max(minDistance, 0);
+    }
+
+    static float getBorderDistance(Grid grid, Direction border, float x, float y) {
+        switch (border) {
+        case Left:
+            return x;
+        case Right:
+            return grid.getWidth() - 1 - x;
+        case Bottom:
+            return y;
+        case Top:
+            return grid.getHeight() - 1 - y;
+        }
+        throw new IllegalArgumentException("Unknown border " + border);
+    }
+
+    // Data Polling -------------------------------------------------------------------------------
+
+    public Array<CellChange> getChanges() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.size == 0;
+    }
+
+    public int getRemovalCount() {
+        return removalCount;
+    }
+
+    public float getDuration() {
+        return duration;
+    }
+
+    public boolean hasContact() {
+        return contactTime >= 0;
+    }
+
+    /**
+     * @return The time at which the black and white cell touch each other or a border of the opposite color for the
+     *         first time or -1 if they don't.
+     */
+    public float getContactTime() {
+        return contactTime;
+    }
+
+    // Utility Classes ----------------------------------------------------------------------------
+
+    /**
+     * The piecewise linear path of a single cell during a step.
+     */
+    private static class Track {
+
+        private final Array<CellChange> segments = new Array<>(false, 4, CellChange.class);
+        private float startX;
+        private float startY;
+
+        public void set(Cell cell, Array<CellChange> changes) {
+            segments.clear();
+            for (CellChange change : changes) {
+                if (change.getCell() == cell && change.isMovement()) {
+                    int index = segments.size;
+                    while (index > 0 && segments.get(index - 1).getDelay() > change.getDelay()) {
+                        index--;
+                    }
+                    segments.insert(index, change);
+                }
+            }
+
+            if (segments.size > 0) {
+                CellChange start = segments.first();
+                if (start.getType() == CellChange.Type.Spawn) {
+                    // A teleported cell stays at its position before the step until it exits the grid
+                    start = findExit(cell.getColor(), changes, start);
+                }
+                startX = start.getFromX();
+                startY = start.getFromY();
+            } else {
+                startX = cell.getX();
+                startY = cell.getY();
+            }
+        }
+
+        private CellChange findExit(Color color, Array<CellChange> changes, CellChange spawn) {
+            for (CellChange change : changes) {
+                if (change.getType() == CellChange.Type.Exit && change.getColor() == color) {
+                    return change;
+                }
+            }
+            return spawn;
+        }
+
+        public void addBreakpoints(FloatArray breakpoints) {
+            for (CellChange segment : segments) {
+                breakpoints.add(segment.getDelay());
+                breakpoints.add(segment.getEndTime());
+            }
+        }
+
+        public float getX(float time) {
+            float x = startX;
+            for (CellChange segment : segments) {
+                if (time <= segment.getDelay()) break;
+                x = segment.getFromX() + (segment.getToX() - segment.getFromX()) * getProgress(segment, time);
+            }
+            return x;
+        }
+
+        public float getY(float time) {
+            float y = startY;
+            for (CellChange segment : segments) {
+                if (time <= segment.getDelay()) break;
+                y = segment.getFromY() + (segment.getToY() - segment.getFromY()) * getProgress(segment, time);
+            }
+            return y;
+        }
+
+        private float getProgress(CellChange segment, float time) {
+            if (segment.getDuration() <= 0 || time >= segment.getEndTime()) {
+                return 1;
+            }
+            return (time - segment.getDelay()) / segment.getDuration();
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.upseil.game.domain;
+
+/**
+ * The result of removing one color from a {@link Grid}, as computed by {@link MovePreview}.
+ */
+public class MoveOutcome {
+    
+    private int removedCells;
+    private int blackX;
+    private int blackY;
+    private int whiteX;
+    private int whiteY;
+    private boolean lost;
+    
+    void set(Grid grid, int removedCells) {
+        this.removedCells = removedCells;
+        blackX = grid.getBlackCell().getX();
+        blackY = grid.getBlackCell().getY();
+        whiteX = grid.getWhiteCell().getX();
+        whiteY = grid.getWhiteCell().getY();
+        lost = grid.isLost();
+    }
+    
+    public int getRemovedCells() {
+        return removedCells;
+    }
+    
+    public int getBlackX() {
+        return blackX;
+    }
+    
+    public int getBlackY() {
+        return blackY;
+    }
+    
+    public int getWhiteX() {
+        return whiteX;
+    }
+    
+    public int getWhiteY() {
+        return whiteY;
+    }
+    
+    public boolean isLost() {
+        return lost;
+    }
+    
+}
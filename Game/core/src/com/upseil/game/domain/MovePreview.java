@@ -0,0 +1,73 @@
+package com.upseil.game.domain;
+
+import com.upseil.game.domain.Grid.GridTiming;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * Resolves every possible move of a {@link GridState} on a scratch grid. Since the state contains the random state the
+ * grid draws from, the outcomes are exactly what the real grid will do. The outcomes are computed one color at a time
+ * by {@link #computeNext()}, so the work can be spread over several frames, and are kept until the state changes.
+ */
+public class MovePreview {
+    
+    private final ExtendedRandomXS128 random;
+    private final Grid grid;
+    private final MoveOutcome[] outcomes;
+    
+    private GridState state;
+    private int computedColors;
+    
+    public MovePreview(int size, GridTiming timing) {
+        random = new ExtendedRandomXS128();
+        grid = new Grid(size, timing, random);
+        outcomes = new MoveOutcome[Color.size()];
+        for (int number = 0; number < outcomes.length; number++) {
+            outcomes[number] = new MoveOutcome();
+        }
+        computedColors = outcomes.length;
+    }
+    
+    /**
+     * Discards the outcomes of the previous state, unless it is the same instance. A null state has no outcomes.
+     */
+    public void setState(GridState state) {
+        if (this.state != state) {
+            this.state = state;
+            computedColors = state == null ? outcomes.length : 0;
+        }
+    }
+    
+    /**
+     * Computes the outcome of the next color that hasn't been computed yet.
+     * 
+     * @return Whether all outcomes of the current state are available now
+     */
+    public boolean computeNext() {
+        if (isComplete()) {
+            return true;
+        }
+        
+        grid.restore(state);
+        random.setState(state.getRandomState0(), state.getRandomState1());
+        int removedCells = grid.resolveTurn(Color.forNumber(computedColors));
+        outcomes[computedColors].set(grid, removedCells);
+        computedColors++;
+        return isComplete();
+    }
+    
+    public boolean isComplete() {
+        return computedColors >= outcomes.length;
+    }
+    
+    /**
+     * @return The outcome of removing the given color from the current state or null if it hasn't been computed yet
+     */
+    public MoveOutcome get(Color color) {
+        int number = color.getNumber();
+        if (state == null || number < 0 || number >= computedColors) {
+            return null;
+        }
+        return outcomes[number];
+    }
+    
+}
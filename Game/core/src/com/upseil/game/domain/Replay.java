@@ -0,0 +1,157 @@
+package com.upseil.game.domain;
+
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.FloatArray;
+import com.upseil.game.serialization.BinaryReader;
+import com.upseil.game.serialization.BinaryWriter;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * A recorded game: the random state the {@link Grid} has been initialized with and every color choice together with
+ * the time (in seconds since the start of the game) it has been made at. Since the model draws all of its random
+ * numbers from that state, replaying the choices reproduces the game exactly.
+ */
+public class Replay {
+
+    private static final int Version = 1;
+    private static final int ColorBits = 2;
+    private static final int ColorMask = (1 << ColorBits) - 1;
+    private static final float TimeResolution = 1000;
+
+    private int gridSize;
+    private float exclusionAreaSize;
+    private long seed0;
+    private long seed1;
+
+    private final FloatArray times;
+    private final ByteArray colors;
+
+    public Replay() {
+        times = new FloatArray();
+        colors = new ByteArray();
+    }
+
+    // Recording ----------------------------------------------------------------------------------
+
+    public void start(int gridSize, float exclusionAreaSize, long seed0, long seed1) {
+        this.gridSize = gridSize;
+        this.exclusionAreaSize = exclusionAreaSize;
+        this.seed0 = seed0;
+        this.seed1 = seed1;
+        times.clear();
+        colors.clear();
+    }
+
+    public void record(float time, Color color) {
+        if (color.getNumber() < 0) {
+            throw new IllegalArgumentException("Only removable colors can be recorded, got " + color);
+        }
+        times.add(time);
+        colors.add((byte) color.getNumber());
+    }
+
+    // Playback -----------------------------------------------------------------------------------
+
+    /**
+     * Creates a grid in the state the recorded game has started with.
+     */
+    public Grid createGrid(Grid.GridTiming timing) {
+        Grid grid = new Grid(gridSize, timing, new ExtendedRandomXS128(seed0, seed1));
+        grid.initialize(exclusionAreaSize);
+        return grid;
+    }
+
+    /**
+     * Resolves all recorded choices on a grid created by {@link #createGrid(Grid.GridTiming)} as fast as possible,
+     * stopping early if the game is lost.
+     *
+     * @return The number of removed cells
+     */
+    public int play(Grid grid) {
+        int removedCells = 0;
+        for (int index = 0; index < colors.size && !grid.isLost(); index++) {
+            removedCells += grid.resolveTurn(getColor(index));
+        }
+        return removedCells;
+    }
+
+    // Serialization ------------------------------------------------------------------------------
+
+    /**
+     * Encodes the replay as variable length integers. Each choice takes the time since the previous choice in
+     * milliseconds shifted left by two bits and the color number in the lowest two bits, which fits into two bytes for
+     * choices that are up to 4 seconds apart.
+     */
+    public byte[] toBytes() {
+        BinaryWriter writer = new BinaryWriter(32 + colors.size * 2);
+        writer.writeVarInt(Version)
+              .writeVarInt(gridSize)
+              .writeFloat(exclusionAreaSize)
+              .writeLong(seed0)
+              .writeLong(seed1)
+              .writeVarInt(colors.size);
+
+        int previousTime = 0;
+        for (int index = 0; index < colors.size; index++) {
+            int time = Math.max(Math.round(times.get(index) * TimeResolution), previousTime);
+            writer.writeVarInt(((time - previousTime) << ColorBits) | colors.get(index));
+            previousTime = time;
+        }
+        return writer.toArray();
+    }
+
+    public static Replay fromBytes(byte[] bytes) {
+        BinaryReader reader = new BinaryReader(bytes);
+        int version = reader.readVarInt();
+        if (version != Version) {
+            throw new IllegalArgumentException("Unsupported replay version " + version);
+        }
+
+        Replay replay = new Replay();
+        int gridSize = reader.readVarInt();
+        float exclusionAreaSize = reader.readFloat();
+        long seed0 = reader.readLong();
+        long seed1 = reader.readLong();
+        replay.start(gridSize, exclusionAreaSize, seed0, seed1);
+
+        int size = reader.readVarInt();
+        int time = 0;
+        for (int index = 0; index < size; index++) {
+            int value = reader.readVarInt();
+            time += value >>> ColorBits;
+            replay.record(time / TimeResolution, Color.forNumber(value & ColorMask));
+        }
+        return replay;
+    }
+
+    // Data Polling -------------------------------------------------------------------------------
+
+    public int size() {
+        return colors.size;
+    }
+
+    public float getTime(int index) {
+        return times.get(index);
+    }
+
+    public Color getColor(int index) {
+        return Color.forNumber(colors.get(index));
+    }
+
+    public int getGridSize() {
+        return gridSize;
+    }
+
+    public float getExclusionAreaSize() {
+        return exclusionAreaSize;
+    }
+
+    public long getSeed0() {
+        return seed0;
+    }
+
+    public long getSeed1() {
+        return seed1;
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.upseil.game.event;
+
+import java.util.Arrays;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.GridChangeJournal;
+import com.upseil.game.domain.GridChangeJournal.Cause;
+import com.upseil.gdx.event.AbstractEvent;
+import com.upseil.gdx.event.EventType;
+
+/**
+ * Sent at most once per frame with the changes the grid has recorded in its {@link GridChangeJournal} during that
+ * frame. The counts are copied, the single changes are read from the journal by their index in the frame.
+ */
+public class GridChangedEvent extends AbstractEvent<GridChangedEvent> {
+    
+    public static final EventType<GridChangedEvent> Type = new EventType<>("Grid Changed");
+    
+    private GridChangeJournal journal;
+    private long fromSequence;
+    private int changeCount;
+    private final int[] countDeltas;
+    private int removedCells;
+    private boolean invalidated;
+    
+    public GridChangedEvent() {
+        super(Type);
+        countDeltas = new int[Color.size()];
+    }
+    
+    /**
+     * Takes the changes of the current frame of the journal.
+     */
+    public void set(GridChangeJournal journal) {
+        this.journal = journal;
+        fromSequence = journal.getFrameStart();
+        changeCount = (int) (journal.getSequence() - fromSequence);
+        for (int number = 0; number < countDeltas.length; number++) {
+            countDeltas[number] = journal.getCountDelta(number);
+        }
+        removedCells = journal.getRemovedCells();
+        invalidated = journal.isInvalidated();
+    }
+    
+    public int getCountDelta(int colorNumber) {
+        return countDeltas[colorNumber];
+    }
+    
+    public int getRemovedCells() {
+        return removedCells;
+    }
+    
+    /**
+     * @return If the whole grid has changed, so the single changes shouldn't be applied
+     */
+    public boolean isInvalidated() {
+        return invalidated;
+    }
+    
+    /**
+     * @return If all single changes of the frame can still be read from the journal
+     */
+    public boolean isComplete() {
+        return changeCount == 0 || journal.contains(fromSequence);
+    }
+    
+    public int getChangeCount() {
+        return changeCount;
+    }
+    
+    public int getX(int index) {
+        return journal.getX(fromSequence + index);
+    }
+    
+    public int getY(int index) {
+        return journal.getY(fromSequence + index);
+    }
+    
+    public Color getOldColor(int index) {
+        return journal.getOldColor(fromSequence + index);
+    }
+    
+    public Color getNewColor(int index) {
+        return journal.getNewColor(fromSequence + index);
+    }
+    
+    public Cause getCause(int index) {
+        return journal.getCause(fromSequence + index);
+    }
+    
+    @Override
+    public void reset() {
+        super.reset();
+        journal = null;
+        fromSequence = 0;
+        changeCount = 0;
+        Arrays.fill(countDeltas, 0);
+        removedCells = 0;
+        invalidated = false;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(super.toString());
+        builder.append(": ").append(changeCount).append(" changes, ").append(removedCells).append(" removed, counts ")
+               .append(Arrays.toString(countDeltas));
+        if (invalidated) {
+            builder.append(", invalidated");
+        }
+        return builder.toString();
+    }
+    
+}
@@ -0,0 +1,47 @@
+package com.upseil.game.event;
+
+import com.upseil.gdx.event.AbstractEvent;
+import com.upseil.gdx.event.EventType;
+
+public class SavegameStoredEvent extends AbstractEvent<SavegameStoredEvent> {
+    
+    public static final EventType<SavegameStoredEvent> Type = new EventType<>("Savegame Stored");
+    
+    private String slot;
+    private boolean successful;
+    
+    public SavegameStoredEvent() {
+        super(Type);
+    }
+
+    public String getSlot() {
+        return slot;
+    }
+
+    public void setSlot(String slot) {
+        this.slot = slot;
+    }
+
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    public void setSuccessful(boolean successful) {
+        this.successful = successful;
+    }
+    
+    @Override
+    public void reset() {
+        super.reset();
+        slot = null;
+        successful = false;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(super.toString());
+        builder.append(": ").append(slot).append(successful ? " stored" : " failed");
+        return builder.toString();
+    }
+    
+}
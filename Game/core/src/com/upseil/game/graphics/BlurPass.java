@@ -0,0 +1,46 @@
+package com.upseil.game.graphics;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+/**
+ * A gaussian blur that's separated into a horizontal and a vertical render of nine samples each.
+ */
+public class BlurPass extends PostProcessPass {
+    
+    private float radius;
+    
+    public BlurPass() {
+        super("shader/blur.frag");
+    }
+    
+    @Override
+    public boolean isActive() {
+        return super.isActive() && radius > 0;
+    }
+    
+    @Override
+    public int getRenderCount() {
+        return 2;
+    }
+    
+    @Override
+    protected void setUniforms(ShaderProgram shader, int render, int width, int height) {
+        if (render == 0) {
+            shader.setUniformf("u_direction", radius / width, 0);
+        } else {
+            shader.setUniformf("u_direction", 0, radius / height);
+        }
+    }
+    
+    public float getRadius() {
+        return radius;
+    }
+    
+    /**
+     * @param radius The distance of the samples in pixels, the blur reaches four times as far
+     */
+    public void setRadius(float radius) {
+        this.radius = radius;
+    }
+    
+}
@@ -0,0 +1,47 @@
+package com.upseil.game.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Binds frame buffers so that they can be nested. {@link FrameBuffer#end()} always binds the screen again, ending a
+ * buffer through this class binds the buffer that was bound before instead.
+ */
+public final class FrameBufferStack {
+    
+    private static final Array<FrameBuffer> Stack = new Array<>(false, 4, FrameBuffer.class);
+    
+    private FrameBufferStack() {
+    }
+    
+    public static void begin(FrameBuffer frameBuffer) {
+        Stack.add(frameBuffer);
+        bind(frameBuffer);
+    }
+    
+    /**
+     * Ends the current frame buffer and binds the previous one or the screen with the viewport of the given viewport.
+     */
+    public static void end(Viewport viewport) {
+        if (Stack.size == 0) {
+            throw new IllegalStateException("No frame buffer has been begun");
+        }
+        
+        Stack.pop();
+        if (Stack.size > 0) {
+            bind(Stack.peek());
+        } else {
+            FrameBuffer.unbind();
+            HdpiUtils.glViewport(viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(), viewport.getScreenHeight());
+        }
+    }
+    
+    private static void bind(FrameBuffer frameBuffer) {
+        frameBuffer.bind();
+        Gdx.gl.glViewport(0, 0, frameBuffer.getWidth(), frameBuffer.getHeight());
+    }
+    
+}
@@ -0,0 +1,34 @@
+package com.upseil.game.graphics;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+public class GrayscalePass extends PostProcessPass {
+    
+    private float amount;
+    
+    public GrayscalePass() {
+        super("shader/grayscale.frag");
+    }
+    
+    @Override
+    public boolean isActive() {
+        return super.isActive() && amount > 0;
+    }
+    
+    @Override
+    protected void setUniforms(ShaderProgram shader, int render, int width, int height) {
+        shader.setUniformf("u_amount", amount);
+    }
+    
+    public float getAmount() {
+        return amount;
+    }
+    
+    /**
+     * @param amount How gray the image becomes, from 0 (unchanged) to 1 (grayscale)
+     */
+    public void setAmount(float amount) {
+        this.amount = amount;
+    }
+    
+}
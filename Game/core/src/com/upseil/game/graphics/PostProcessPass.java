@@ -0,0 +1,65 @@
+package com.upseil.game.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * A full screen effect of a {@link PostProcessor}. A pass renders the image of the previous pass one or more times
+ * with its shader, a pass that isn't active is skipped. Passes can be shared by processors.
+ */
+public abstract class PostProcessPass implements Disposable {
+    
+    private static final String VertexShader = "shader/default.vert";
+    
+    private final ShaderProgram shader;
+    private boolean enabled;
+    
+    protected PostProcessPass(String fragmentShader) {
+        shader = new ShaderProgram(Gdx.files.internal(VertexShader), Gdx.files.internal(fragmentShader));
+        if (shader.isCompiled() == false) {
+            throw new IllegalArgumentException("Error compiling shader " + fragmentShader + ": " + shader.getLog());
+        }
+        enabled = true;
+    }
+    
+    /**
+     * @return If the pass changes the image, the default implementation returns if it's enabled
+     */
+    public boolean isActive() {
+        return enabled;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    /**
+     * @return How often the pass renders the image
+     */
+    public int getRenderCount() {
+        return 1;
+    }
+    
+    /**
+     * Sets the uniforms of the bound shader for the given render.
+     *
+     * @param width The width of the image in pixels
+     * @param height The height of the image in pixels
+     */
+    protected abstract void setUniforms(ShaderProgram shader, int render, int width, int height);
+    
+    public ShaderProgram getShader() {
+        return shader;
+    }
+    
+    @Override
+    public void dispose() {
+        shader.dispose();
+    }
+    
+}
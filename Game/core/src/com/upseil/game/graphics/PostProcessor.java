@@ -0,0 +1,202 @@
+package com.upseil.game.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Applies a chain of {@link PostProcessPass passes} to everything that's drawn between {@link #capture(Batch, Viewport)}
+ * and {@link #render(Batch, Viewport)}. The scene is captured into a frame buffer the size of the viewport, every
+ * render of a pass draws the previous image into the other one of two frame buffers and the last render draws to the
+ * screen. Nothing is captured as long as no pass is active, so an idle processor doesn't cost anything.
+ * <p>
+ * The scene is captured with premultiplied alpha, so that it can be blended over the layers below it.
+ */
+public class PostProcessor implements Disposable {
+    
+    private final Array<PostProcessPass> passes;
+    private final FrameBuffer[] buffers;
+    private final Matrix4 imageProjection;
+    private final Matrix4 projection;
+    private final Color color;
+    
+    private int blendSource;
+    private int blendDestination;
+    private int blendSourceAlpha;
+    private int blendDestinationAlpha;
+    private boolean capturing;
+    
+    public PostProcessor() {
+        passes = new Array<>(false, 4, PostProcessPass.class);
+        buffers = new FrameBuffer[2];
+        imageProjection = new Matrix4().setToOrtho2D(0, 0, 1, 1);
+        projection = new Matrix4();
+        color = new Color();
+    }
+    
+    public PostProcessor addPass(PostProcessPass pass) {
+        passes.add(pass);
+        return this;
+    }
+    
+    public boolean removePass(PostProcessPass pass) {
+        return passes.removeValue(pass, true);
+    }
+    
+    /**
+     * @return If any pass is active, so that the scene has to be captured
+     */
+    public boolean isActive() {
+        for (int index = 0; index < passes.size; index++) {
+            if (passes.get(index).isActive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Processing ---------------------------------------------------------------------------------
+    
+    /**
+     * Starts capturing everything that's drawn, the batch must not be drawing.
+     */
+    public void capture(Batch batch, Viewport viewport) {
+        if (capturing) {
+            throw new IllegalStateException("The post processor is already capturing");
+        }
+        
+        int width = Math.max(viewport.getScreenWidth(), 1);
+        int height = Math.max(viewport.getScreenHeight(), 1);
+        if (buffers[0] == null || buffers[0].getWidth() != width || buffers[0].getHeight() != height) {
+            createBuffers(width, height);
+        }
+        
+        blendSource = batch.getBlendSrcFunc();
+        blendDestination = batch.getBlendDstFunc();
+        blendSourceAlpha = batch.getBlendSrcFuncAlpha();
+        blendDestinationAlpha = batch.getBlendDstFuncAlpha();
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        
+        FrameBufferStack.begin(buffers[0]);
+        clear();
+        capturing = true;
+    }
+    
+    /**
+     * Ends capturing and renders the captured scene with all active passes to the screen, the batch must not be
+     * drawing.
+     */
+    public void render(Batch batch, Viewport viewport) {
+        if (!capturing) {
+            throw new IllegalStateException("The post processor isn't capturing");
+        }
+        capturing = false;
+        FrameBufferStack.end(viewport);
+        
+        ShaderProgram batchShader = batch.getShader();
+        projection.set(batch.getProjectionMatrix());
+        color.set(batch.getColor());
+        boolean blending = batch.isBlendingEnabled();
+        batch.setProjectionMatrix(imageProjection);
+        batch.setColor(Color.WHITE);
+        
+        int renderCount = 0;
+        for (int index = 0; index < passes.size; index++) {
+            PostProcessPass pass = passes.get(index);
+            if (pass.isActive()) {
+                renderCount += pass.getRenderCount();
+            }
+        }
+        
+        int source = 0;
+        int renderNumber = 0;
+        for (int index = 0; index < passes.size; index++) {
+            PostProcessPass pass = passes.get(index);
+            if (!pass.isActive()) {
+                continue;
+            }
+            
+            for (int render = 0; render < pass.getRenderCount(); render++) {
+                renderNumber++;
+                boolean toScreen = renderNumber == renderCount;
+                if (toScreen) {
+                    batch.enableBlending();
+                    batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+                } else {
+                    batch.disableBlending();
+                    FrameBufferStack.begin(buffers[1 - source]);
+                    clear();
+                }
+                
+                batch.setShader(pass.getShader());
+                batch.begin();
+                pass.setUniforms(pass.getShader(), render, buffers[source].getWidth(), buffers[source].getHeight());
+                drawImage(batch, buffers[source].getColorBufferTexture());
+                batch.end();
+                
+                if (!toScreen) {
+                    FrameBufferStack.end(viewport);
+                    source = 1 - source;
+                }
+            }
+        }
+        
+        batch.setShader(batchShader);
+        batch.setProjectionMatrix(projection);
+        batch.setColor(color);
+        if (blending) {
+            batch.enableBlending();
+        } else {
+            batch.disableBlending();
+        }
+        batch.setBlendFunctionSeparate(blendSource, blendDestination, blendSourceAlpha, blendDestinationAlpha);
+    }
+    
+    private void drawImage(Batch batch, Texture image) {
+        // Frame buffer textures are upside down
+        batch.draw(image, 0, 0, 1, 1, 0, 1, 1, 0);
+    }
+    
+    private void clear() {
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+    }
+    
+    private void createBuffers(int width, int height) {
+        disposeBuffers();
+        for (int index = 0; index < buffers.length; index++) {
+            buffers[index] = new FrameBuffer(Format.RGBA8888, width, height, false);
+            buffers[index].getColorBufferTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
+        }
+    }
+    
+    // Disposal -----------------------------------------------------------------------------------
+    
+    private void disposeBuffers() {
+        for (int index = 0; index < buffers.length; index++) {
+            if (buffers[index] != null) {
+                buffers[index].dispose();
+                buffers[index] = null;
+            }
+        }
+    }
+    
+    /**
+     * Disposes the frame buffers, the passes aren't disposed because they may be shared.
+     */
+    @Override
+    public void dispose() {
+        disposeBuffers();
+    }
+    
+}
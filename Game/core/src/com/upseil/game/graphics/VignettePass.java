@@ -0,0 +1,34 @@
+package com.upseil.game.graphics;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+public class VignettePass extends PostProcessPass {
+    
+    private float intensity;
+    
+    public VignettePass() {
+        super("shader/vignette.frag");
+    }
+    
+    @Override
+    public boolean isActive() {
+        return super.isActive() && intensity > 0;
+    }
+    
+    @Override
+    protected void setUniforms(ShaderProgram shader, int render, int width, int height) {
+        shader.setUniformf("u_intensity", intensity);
+    }
+    
+    public float getIntensity() {
+        return intensity;
+    }
+    
+    /**
+     * @param intensity How much the corners of the image are darkened, from 0 (unchanged) to 1 (black)
+     */
+    public void setIntensity(float intensity) {
+        this.intensity = intensity;
+    }
+    
+}
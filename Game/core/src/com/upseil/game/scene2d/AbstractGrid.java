@@ -27,7 +27,7 @@ public class AbstractGrid extends Group {
         this.random = random;
         
         float worldSize = size * style.paddedCellSize;
-        cellGroup = new Group();
+        cellGroup = new CellGroup();
         cellGroup.setBounds(0, 0, worldSize, worldSize);
         cells = new CellActor[size][size];
         initializeGrid();
@@ -55,6 +55,7 @@ public class BorderActor extends PolygonActor {
         if (this.color != color) {
             this.color = color;
             setColor(skin.getColor(color.getName()));
+            CachedGroup.invalidateCache(this);
         }
     }
     
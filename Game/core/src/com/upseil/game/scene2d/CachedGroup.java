@@ -0,0 +1,282 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Event;
+import com.badlogic.gdx.scenes.scene2d.EventListener;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.SnapshotArray;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.upseil.game.graphics.FrameBufferStack;
+
+/**
+ * A group that renders its children into a {@link FrameBuffer} and draws them as a single quad as long as they don't
+ * change. The cache is invalidated if the layout of the group is invalidated, if a child is added or removed, if any
+ * descendant has actions or receives touch or enter/exit events and if the size of the group on screen changes. Other
+ * changes, like a changed color or state of a child, have to be announced with {@link #invalidateCache()} or
+ * {@link #invalidateCache(Actor)}.
+ * <p>
+ * The children are drawn directly in the frame the cache has been invalidated in, the frame buffer is only rendered
+ * once they've stayed unchanged for a frame.
+ */
+public class CachedGroup extends WidgetGroup implements Disposable {
+    
+    private static final Matrix4 Identity = new Matrix4();
+    
+    private final Rectangle cacheBounds;
+    private final Matrix4 projection;
+    private final Matrix4 transform;
+    private final Matrix4 cacheProjection;
+    private final Matrix4 combined;
+    private final Vector3 corner;
+    private final Color batchColor;
+    
+    private FrameBuffer frameBuffer;
+    private TextureRegion cacheRegion;
+    private boolean cacheEnabled;
+    private boolean dirty;
+    private boolean cached;
+    
+    public CachedGroup() {
+        cacheBounds = new Rectangle();
+        projection = new Matrix4();
+        transform = new Matrix4();
+        cacheProjection = new Matrix4();
+        combined = new Matrix4();
+        corner = new Vector3();
+        batchColor = new Color();
+        cacheEnabled = true;
+        dirty = true;
+        
+        addCaptureListener(new InputInvalidator());
+    }
+    
+    // Invalidation -------------------------------------------------------------------------------
+    
+    /**
+     * Invalidates the cache of the first {@link CachedGroup} the actor is part of, if there is one.
+     */
+    public static void invalidateCache(Actor actor) {
+        for (Group parent = actor.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent instanceof CachedGroup) {
+                ((CachedGroup) parent).invalidateCache();
+                return;
+            }
+        }
+    }
+    
+    public void invalidateCache() {
+        dirty = true;
+        cached = false;
+    }
+    
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        invalidateCache();
+    }
+    
+    @Override
+    protected void childrenChanged() {
+        super.childrenChanged();
+        invalidateCache();
+    }
+    
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        if (hasAnimatedDescendants(this)) {
+            invalidateCache();
+        }
+    }
+    
+    private static boolean hasAnimatedDescendants(Group group) {
+        SnapshotArray<Actor> children = group.getChildren();
+        for (int index = 0, size = children.size; index < size; index++) {
+            Actor child = children.get(index);
+            if (child.hasActions() || (child instanceof Group && hasAnimatedDescendants((Group) child))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+    
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+        if (!cacheEnabled) {
+            disposeFrameBuffer();
+        }
+        invalidateCache();
+    }
+    
+    // Drawing ------------------------------------------------------------------------------------
+    
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+        if (!cacheEnabled || getStage() == null || !isTransform() || dirty) {
+            dirty = false;
+            super.draw(batch, parentAlpha);
+            return;
+        }
+        
+        applyTransform(batch, computeTransform());
+        computeCacheBounds(cacheBounds);
+        Viewport viewport = getStage().getViewport();
+        int pixelWidth = toPixels(batch, cacheBounds.width, 0, viewport);
+        int pixelHeight = toPixels(batch, 0, cacheBounds.height, viewport);
+        if (pixelWidth <= 0 || pixelHeight <= 0) {
+            resetTransform(batch);
+            return;
+        }
+        
+        if (frameBuffer == null || frameBuffer.getWidth() != pixelWidth || frameBuffer.getHeight() != pixelHeight) {
+            createFrameBuffer(pixelWidth, pixelHeight);
+            cached = false;
+        }
+        if (!cached) {
+            renderCache(batch, viewport);
+            cached = true;
+        }
+        drawCache(batch, parentAlpha);
+        resetTransform(batch);
+    }
+    
+    /**
+     * Computes the area of the group that's cached in local coordinates. It's the union of the bounds of the group and
+     * its children, ignoring rotations.
+     */
+    protected void computeCacheBounds(Rectangle bounds) {
+        float minX = 0;
+        float minY = 0;
+        float maxX = getWidth();
+        float maxY = getHeight();
+        SnapshotArray<Actor> children = getChildren();
+        for (int index = 0, size = children.size; index < size; index++) {
+            Actor child = children.get(index);
+            minX = Math.min(minX, child.getX());
+            minY = Math.min(minY, child.getY());
+            maxX = Math.max(maxX, child.getX() + child.getWidth() * child.getScaleX());
+            maxY = Math.max(maxY, child.getY() + child.getHeight() * child.getScaleY());
+        }
+        bounds.set(minX, minY, maxX - minX, maxY - minY);
+    }
+    
+    private int toPixels(Batch batch, float localWidth, float localHeight, Viewport viewport) {
+        combined.set(batch.getProjectionMatrix()).mul(batch.getTransformMatrix());
+        corner.set(0, 0, 0).prj(combined);
+        float startX = corner.x;
+        float startY = corner.y;
+        corner.set(localWidth, localHeight, 0).prj(combined);
+        float width = (corner.x - startX) * viewport.getScreenWidth() / 2;
+        float height = (corner.y - startY) * viewport.getScreenHeight() / 2;
+        return (int) Math.ceil(Math.sqrt(width * width + height * height));
+    }
+    
+    private void createFrameBuffer(int width, int height) {
+        disposeFrameBuffer();
+        frameBuffer = new FrameBuffer(Format.RGBA8888, width, height, false);
+        frameBuffer.getColorBufferTexture().setFilter(TextureFilter.Linear, TextureFilter.Linear);
+        cacheRegion = new TextureRegion(frameBuffer.getColorBufferTexture());
+        cacheRegion.flip(false, true);
+    }
+    
+    private void renderCache(Batch batch, Viewport viewport) {
+        batch.flush();
+        projection.set(batch.getProjectionMatrix());
+        transform.set(batch.getTransformMatrix());
+        int blendSource = batch.getBlendSrcFunc();
+        int blendDestination = batch.getBlendDstFunc();
+        int blendSourceAlpha = batch.getBlendSrcFuncAlpha();
+        int blendDestinationAlpha = batch.getBlendDstFuncAlpha();
+        
+        FrameBufferStack.begin(frameBuffer);
+        Gdx.gl.glClearColor(0, 0, 0, 0);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        
+        // The children are blended premultiplied, so that the alpha of the cache can be blended over the screen again
+        batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA, GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cacheProjection.setToOrtho2D(cacheBounds.x, cacheBounds.y, cacheBounds.width, cacheBounds.height);
+        batch.setProjectionMatrix(cacheProjection);
+        batch.setTransformMatrix(Identity);
+        drawChildren(batch, 1);
+        batch.flush();
+        
+        FrameBufferStack.end(viewport);
+        
+        batch.setBlendFunctionSeparate(blendSource, blendDestination, blendSourceAlpha, blendDestinationAlpha);
+        batch.setProjectionMatrix(projection);
+        batch.setTransformMatrix(transform);
+    }
+    
+    private void drawCache(Batch batch, float parentAlpha) {
+        int blendSource = batch.getBlendSrcFunc();
+        int blendDestination = batch.getBlendDstFunc();
+        int blendSourceAlpha = batch.getBlendSrcFuncAlpha();
+        int blendDestinationAlpha = batch.getBlendDstFuncAlpha();
+        batchColor.set(batch.getColor());
+        
+        Color color = getColor();
+        float alpha = color.a * parentAlpha;
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.setColor(color.r * alpha, color.g * alpha, color.b * alpha, alpha);
+        batch.draw(cacheRegion, cacheBounds.x, cacheBounds.y, cacheBounds.width, cacheBounds.height);
+        
+        batch.setColor(batchColor);
+        batch.setBlendFunctionSeparate(blendSource, blendDestination, blendSourceAlpha, blendDestinationAlpha);
+    }
+    
+    // Disposal -----------------------------------------------------------------------------------
+    
+    private void disposeFrameBuffer() {
+        if (frameBuffer != null) {
+            frameBuffer.dispose();
+            frameBuffer = null;
+            cacheRegion = null;
+        }
+    }
+    
+    @Override
+    public void dispose() {
+        disposeFrameBuffer();
+    }
+    
+    private class InputInvalidator implements EventListener {
+        
+        @Override
+        public boolean handle(Event event) {
+            if (event instanceof InputEvent) {
+                switch (((InputEvent) event).getType()) {
+                case touchDown:
+                case touchUp:
+                case enter:
+                case exit:
+                    invalidateCache();
+                    break;
+                default:
+                    break;
+                }
+            }
+            return false;
+        }
+        
+    }
+    
+}
@@ -14,6 +14,14 @@ public class CellActor extends Image implements Pooled<CellActor> {
     private Pool<CellActor> pool;
     private Color color;
     
+    private float previousX;
+    private float previousY;
+    private float simulatedX;
+    private float simulatedY;
+    
+    /** Maintained by the {@link CellAnimator} **/
+    int runningTweens;
+    
     public CellActor initialize(Skin skin, Color color, float size) {
         setDrawable(BackgroundBuilder.byColor(skin, "white"));
         setCellColor(color);
@@ -31,6 +39,25 @@ public class CellActor extends Image implements Pooled<CellActor> {
         setColor(Colors.get(color.getName()));
     }
     
+    public void storePreviousPosition() {
+        previousX = getX();
+        previousY = getY();
+    }
+    
+    /**
+     * Moves the cell to the interpolated position between the previous and the current position until
+     * {@link #endInterpolation()} is called.
+     */
+    public void beginInterpolation(float alpha) {
+        simulatedX = getX();
+        simulatedY = getY();
+        setPosition(previousX + (simulatedX - previousX) * alpha, previousY + (simulatedY - previousY) * alpha);
+    }
+    
+    public void endInterpolation() {
+        setPosition(simulatedX, simulatedY);
+    }
+    
     @Override
     public boolean remove() {
         boolean removed = super.remove();
@@ -66,6 +93,9 @@ public class CellActor extends Image implements Pooled<CellActor> {
         setSize(0, 0);
         setOrigin(Align.bottomLeft);
         setPosition(0, 0);
+        previousX = 0;
+        previousY = 0;
+        runningTweens = 0;
         setColor(com.badlogic.gdx.graphics.Color.WHITE);
         setScale(1);
     }
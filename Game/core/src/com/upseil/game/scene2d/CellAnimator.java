@@ -0,0 +1,335 @@
+package com.upseil.game.scene2d;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Interpolation;
+
+/**
+ * Animates single properties of {@link CellActor cells} without any {@link com.badlogic.gdx.scenes.scene2d.Action
+ * Action} objects. Every tween is a row in a set of parallel arrays and {@link #advance(float)} updates all of them in
+ * one loop. A tween starts after its delay, takes the current value of its property as start value and can call a
+ * {@link CellCallback} and remove its cell from the stage when it's finished.
+ * <p>
+ * Completions are handled after all tweens of a frame have been applied, so a cell whose tweens finish in the same
+ * frame can safely be removed by the last one of them. Callbacks may add tweens but must not cancel any.
+ */
+public class CellAnimator {
+
+    public static final int None = 0;
+    public static final int X = 1;
+    public static final int Y = 2;
+    public static final int Alpha = 3;
+    public static final int Scale = 4;
+
+    private static final int Relative = 1;
+    private static final int Started = 1 << 1;
+    private static final int Finished = 1 << 2;
+    private static final int RemoveOnComplete = 1 << 3;
+
+    private Interpolation[] interpolations;
+    private int interpolationCount;
+
+    private CellActor[] targets;
+    private byte[] properties;
+    private byte[] flags;
+    private byte[] interpolationIds;
+    private float[] starts;
+    private float[] ends;
+    private float[] durations;
+    private float[] times;
+    private CellCallback[] callbacks;
+    private int[] tags;
+    private int size;
+
+    public CellAnimator(int initialCapacity) {
+        interpolations = new Interpolation[8];
+        interpolations[0] = Interpolation.linear;
+        interpolationCount = 1;
+
+        int capacity = Math.max(initialCapacity, 8);
+        targets = new CellActor[capacity];
+        properties = new byte[capacity];
+        flags = new byte[capacity];
+        interpolationIds = new byte[capacity];
+        starts = new float[capacity];
+        ends = new float[capacity];
+        durations = new float[capacity];
+        times = new float[capacity];
+        callbacks = new CellCallback[capacity];
+        tags = new int[capacity];
+    }
+
+    // Scheduling ---------------------------------------------------------------------------------
+
+    /**
+     * Tweens the property of the cell to the given value.
+     *
+     * @param property One of {@link #X}, {@link #Y}, {@link #Alpha}, {@link #Scale} or {@link #None} for a tween that
+     *        only waits and completes
+     * @param interpolation The interpolation or null for linear
+     */
+    public CellAnimator to(CellActor cell, int property, float end, float delay, float duration, Interpolation interpolation) {
+        add(cell, property, end, delay, duration, interpolation, 0);
+        return this;
+    }
+
+    /**
+     * Tweens the property of the cell by the given amount, relative to its value when the tween starts.
+     */
+    public CellAnimator by(CellActor cell, int property, float amount, float delay, float duration, Interpolation interpolation) {
+        add(cell, property, amount, delay, duration, interpolation, Relative);
+        return this;
+    }
+
+    public CellAnimator moveTo(CellActor cell, float x, float y, float delay, float duration) {
+        add(cell, X, x, delay, duration, null, 0);
+        add(cell, Y, y, delay, duration, null, 0);
+        return this;
+    }
+
+    public CellAnimator delay(CellActor cell, float delay) {
+        add(cell, None, 0, delay, 0, null, 0);
+        return this;
+    }
+
+    /**
+     * Calls the callback when the last added tween is finished.
+     */
+    public CellAnimator thenCall(CellCallback callback, int tag) {
+        checkLastTween();
+        callbacks[size - 1] = callback;
+        tags[size - 1] = tag;
+        return this;
+    }
+
+    /**
+     * Removes the cell from its parent when the last added tween is finished, after its callback has been called.
+     */
+    public CellAnimator thenRemove() {
+        checkLastTween();
+        flags[size - 1] |= RemoveOnComplete;
+        return this;
+    }
+
+    private void checkLastTween() {
+        if (size == 0) {
+            throw new IllegalStateException("No tween has been added");
+        }
+    }
+
+    private void add(CellActor cell, int property, float end, float delay, float duration, Interpolation interpolation, int flag) {
+        if (property < None || property > Scale) {
+            throw new IllegalArgumentException("Unknown property " + property);
+        }
+        if (size == targets.length) {
+            grow();
+        }
+
+        int index = size++;
+        targets[index] = cell;
+        properties[index] = (byte) property;
+        flags[index] = (byte) flag;
+        interpolationIds[index] = getInterpolationId(interpolation);
+        ends[index] = end;
+        durations[index] = duration;
+        times[index] = -Math.max(delay, 0);
+        cell.runningTweens++;
+    }
+
+    private byte getInterpolationId(Interpolation interpolation) {
+        if (interpolation == null) {
+            return 0;
+        }
+        for (int id = 0; id < interpolationCount; id++) {
+            if (interpolations[id] == interpolation) {
+                return (byte) id;
+            }
+        }
+        if (interpolationCount == Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many different interpolations");
+        }
+        if (interpolationCount == interpolations.length) {
+            interpolations = Arrays.copyOf(interpolations, interpolationCount * 2);
+        }
+        interpolations[interpolationCount] = interpolation;
+        return (byte) interpolationCount++;
+    }
+
+    private void grow() {
+        int capacity = targets.length * 2;
+        targets = Arrays.copyOf(targets, capacity);
+        properties = Arrays.copyOf(properties, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        interpolationIds = Arrays.copyOf(interpolationIds, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        times = Arrays.copyOf(times, capacity);
+        callbacks = Arrays.copyOf(callbacks, capacity);
+        tags = Arrays.copyOf(tags, capacity);
+    }
+
+    // Processing ---------------------------------------------------------------------------------
+
+    public void advance(float delta) {
+        int finishedCount = 0;
+        for (int index = 0; index < size; index++) {
+            float time = times[index] + delta;
+            times[index] = time;
+            if (time < 0) {
+                continue;
+            }
+
+            int flag = flags[index];
+            int property = properties[index];
+            CellActor target = targets[index];
+            if ((flag & Started) == 0) {
+                float start = get(target, property);
+                starts[index] = start;
+                if ((flag & Relative) != 0) {
+                    ends[index] += start;
+                }
+                flag |= Started;
+            }
+
+            float duration = durations[index];
+            float alpha = duration > 0 && time < duration ? time / duration : 1;
+            float start = starts[index];
+            set(target, property, start + (ends[index] - start) * interpolations[interpolationIds[index]].apply(alpha));
+            if (alpha >= 1) {
+                flag |= Finished;
+                finishedCount++;
+            }
+            flags[index] = (byte) flag;
+        }
+
+        if (finishedCount > 0) {
+            complete();
+        }
+    }
+
+    private void complete() {
+        // Callbacks may add new tweens, which are appended after the current ones and moved down afterwards
+        int end = size;
+        int kept = 0;
+        for (int index = 0; index < end; index++) {
+            int flag = flags[index];
+            if ((flag & Finished) == 0) {
+                move(index, kept++);
+                continue;
+            }
+
+            CellActor target = targets[index];
+            CellCallback callback = callbacks[index];
+            int tag = tags[index];
+            target.runningTweens--;
+            if (callback != null) {
+                callback.call(target, tag);
+            }
+            if ((flag & RemoveOnComplete) != 0) {
+                target.remove();
+            }
+        }
+        for (int index = end; index < size; index++) {
+            move(index, kept++);
+        }
+        clear(kept, size);
+        size = kept;
+    }
+
+    private void move(int from, int to) {
+        if (from == to) {
+            return;
+        }
+        targets[to] = targets[from];
+        properties[to] = properties[from];
+        flags[to] = flags[from];
+        interpolationIds[to] = interpolationIds[from];
+        starts[to] = starts[from];
+        ends[to] = ends[from];
+        durations[to] = durations[from];
+        times[to] = times[from];
+        callbacks[to] = callbacks[from];
+        tags[to] = tags[from];
+    }
+
+    private void clear(int from, int to) {
+        Arrays.fill(targets, from, to, null);
+        Arrays.fill(callbacks, from, to, null);
+    }
+
+    /**
+     * Drops all tweens of the given cell without completing them.
+     */
+    public void cancel(CellActor cell) {
+        if (cell.runningTweens == 0) {
+            return;
+        }
+
+        int kept = 0;
+        for (int index = 0; index < size; index++) {
+            if (targets[index] != cell) {
+                move(index, kept++);
+            }
+        }
+        clear(kept, size);
+        size = kept;
+        cell.runningTweens = 0;
+    }
+
+    /**
+     * Drops all tweens without completing them.
+     */
+    public void clear() {
+        for (int index = 0; index < size; index++) {
+            targets[index].runningTweens = 0;
+        }
+        clear(0, size);
+        size = 0;
+    }
+
+    private static float get(CellActor cell, int property) {
+        switch (property) {
+        case X:
+            return cell.getX();
+        case Y:
+            return cell.getY();
+        case Alpha:
+            return cell.getColor().a;
+        case Scale:
+            return cell.getScaleX();
+        default:
+            return 0;
+        }
+    }
+
+    private static void set(CellActor cell, int property, float value) {
+        switch (property) {
+        case X:
+            cell.setX(value);
+            break;
+        case Y:
+            cell.setY(value);
+            break;
+        case Alpha:
+            cell.getColor().a = value;
+            break;
+        case Scale:
+            cell.setScale(value);
+            break;
+        default:
+            break;
+        }
+    }
+
+    // Data Polling -------------------------------------------------------------------------------
+
+    public boolean isAnimating(CellActor cell) {
+        return cell.runningTweens > 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.upseil.game.scene2d;
+
+public interface CellCallback {
+    
+    void call(CellActor cell, int tag);
+    
+}
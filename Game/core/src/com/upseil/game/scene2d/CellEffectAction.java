@@ -0,0 +1,141 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.graphics.Colors;
+import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.scenes.scene2d.Action;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Pool;
+import com.upseil.game.domain.Color;
+
+/**
+ * Base class of the fused cell actions: a delay, the effect itself and optionally a change of the cell's color that
+ * runs in parallel, all in a single pooled action instead of a tree of delay, sequence, parallel and temporal actions.
+ */
+public abstract class CellEffectAction extends Action {
+    
+    private static final Interpolation ColorInterpolation = Interpolation.fade;
+    
+    private final com.badlogic.gdx.graphics.Color startColor = new com.badlogic.gdx.graphics.Color();
+    private Color cellColor;
+    private com.badlogic.gdx.graphics.Color endColor;
+    
+    private float delay;
+    private float duration;
+    private float time;
+    private boolean began;
+    private boolean complete;
+    private boolean removeActor;
+    
+    protected void setDuration(float duration) {
+        this.duration = duration;
+    }
+    
+    public CellEffectAction setDelay(float delay) {
+        this.delay = delay;
+        return this;
+    }
+    
+    /**
+     * Changes the color of the cell over the whole duration of the action.
+     */
+    public CellEffectAction setCellColor(Color cellColor) {
+        this.cellColor = cellColor;
+        endColor = cellColor == null ? null : Colors.get(cellColor.getName());
+        return this;
+    }
+    
+    /**
+     * Removes the cell from its parent when the action is finished.
+     */
+    public CellEffectAction setRemoveActor(boolean removeActor) {
+        this.removeActor = removeActor;
+        return this;
+    }
+    
+    @Override
+    public void setTarget(Actor target) {
+        if (target != null && !(target instanceof CellActor)) {
+            throw new IllegalArgumentException("Targets of this action must be of type " + CellActor.class.getName());
+        }
+        super.setTarget(target);
+    }
+    
+    @Override
+    public boolean act(float delta) {
+        if (complete) {
+            return true;
+        }
+        
+        CellActor cell = (CellActor) target;
+        @SuppressWarnings("rawtypes")
+        Pool pool = getPool();
+        setPool(null); // Ensure this action can't be returned to the pool while executing
+        try {
+            time += delta;
+            if (time < delay) {
+                return false;
+            }
+            
+            if (!began) {
+                startColor.set(cell.getColor());
+                begin(cell);
+                began = true;
+            }
+            
+            float effectTime = Math.min(time - delay, duration);
+            complete = effectTime >= duration;
+            update(cell, effectTime);
+            if (endColor != null) {
+                float alpha = ColorInterpolation.apply(duration > 0 ? effectTime / duration : 1);
+                cell.getColor().set(startColor).lerp(endColor, alpha);
+            }
+            if (complete) {
+                end(cell);
+                if (cellColor != null) {
+                    cell.setCellColor(cellColor);
+                }
+            }
+        } finally {
+            setPool(pool);
+        }
+        
+        if (complete && removeActor) {
+            cell.remove();
+        }
+        return complete;
+    }
+    
+    protected void begin(CellActor cell) {
+    }
+    
+    /**
+     * @param time The time since the effect has started, clamped to the duration of the action
+     */
+    protected abstract void update(CellActor cell, float time);
+    
+    protected void end(CellActor cell) {
+    }
+    
+    public float getDuration() {
+        return duration;
+    }
+    
+    @Override
+    public void restart() {
+        time = 0;
+        began = false;
+        complete = false;
+    }
+    
+    @Override
+    public void reset() {
+        super.reset();
+        cellColor = null;
+        endColor = null;
+        delay = 0;
+        duration = 0;
+        removeActor = false;
+        restart();
+    }
+    
+}
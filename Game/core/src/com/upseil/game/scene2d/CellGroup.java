@@ -0,0 +1,49 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * A group that draws its {@link CellActor cells} with a single {@link CellRenderer} instead of one draw call per
+ * actor. Other children are drawn as usual, in order.
+ */
+public class CellGroup extends Group {
+    
+    private final CellRenderer renderer;
+    
+    public CellGroup() {
+        renderer = new CellRenderer();
+        setTransform(false);
+    }
+    
+    @Override
+    protected void drawChildren(Batch batch, float parentAlpha) {
+        parentAlpha *= getColor().a;
+        float offsetX = isTransform() ? 0 : getX();
+        float offsetY = isTransform() ? 0 : getY();
+        
+        SnapshotArray<Actor> children = getChildren();
+        Actor[] actors = children.begin();
+        renderer.begin(batch);
+        for (int index = 0, size = children.size; index < size; index++) {
+            Actor child = actors[index];
+            if (!child.isVisible()) {
+                continue;
+            }
+            
+            if (child instanceof CellActor) {
+                renderer.add((CellActor) child, offsetX, offsetY, parentAlpha);
+            } else {
+                renderer.flush();
+                child.moveBy(offsetX, offsetY);
+                child.draw(batch, parentAlpha);
+                child.moveBy(-offsetX, -offsetY);
+            }
+        }
+        renderer.end();
+        children.end();
+    }
+    
+}
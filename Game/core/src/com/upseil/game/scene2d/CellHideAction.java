@@ -0,0 +1,40 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.math.Interpolation;
+
+/**
+ * Scales the cell down to nothing, keeps it hidden and scales it back up, each for a third of the duration.
+ */
+public class CellHideAction extends CellEffectAction {
+    
+    private static final Interpolation ScaleInterpolation = Interpolation.fade;
+    
+    private float startScale;
+    
+    public CellHideAction initialize(float duration) {
+        setDuration(duration);
+        return this;
+    }
+    
+    @Override
+    protected void begin(CellActor cell) {
+        startScale = cell.getScaleX();
+    }
+    
+    @Override
+    protected void update(CellActor cell, float time) {
+        float frameDuration = getDuration() / 3;
+        float scale;
+        if (time < frameDuration) {
+            scale = startScale * (1 - ScaleInterpolation.apply(time / frameDuration));
+        } else if (time < 2 * frameDuration) {
+            scale = 0;
+        } else if (frameDuration > 0) {
+            scale = ScaleInterpolation.apply(Math.min((time - 2 * frameDuration) / frameDuration, 1));
+        } else {
+            scale = 1;
+        }
+        cell.setScale(scale);
+    }
+    
+}
@@ -0,0 +1,44 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.math.Interpolation;
+
+/**
+ * Moves the cell by the given amount after a delay, relative to its position, so that it can be combined with other
+ * movements.
+ */
+public class CellMoveAction extends CellEffectAction {
+    
+    private float amountX;
+    private float amountY;
+    private Interpolation interpolation;
+    private float appliedPercent;
+    
+    public CellMoveAction initialize(float amountX, float amountY, float duration, Interpolation interpolation) {
+        this.amountX = amountX;
+        this.amountY = amountY;
+        this.interpolation = interpolation;
+        setDuration(duration);
+        return this;
+    }
+    
+    @Override
+    protected void begin(CellActor cell) {
+        appliedPercent = 0;
+    }
+    
+    @Override
+    protected void update(CellActor cell, float time) {
+        float percent = getDuration() > 0 ? interpolation.apply(time / getDuration()) : 1;
+        float deltaPercent = percent - appliedPercent;
+        cell.moveBy(amountX * deltaPercent, amountY * deltaPercent);
+        appliedPercent = percent;
+    }
+    
+    @Override
+    public void reset() {
+        super.reset();
+        interpolation = null;
+        appliedPercent = 0;
+    }
+    
+}
@@ -0,0 +1,161 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
+import com.badlogic.gdx.scenes.scene2d.utils.TextureRegionDrawable;
+
+/**
+ * Writes the quads of cells directly into a vertex array and hands them to the batch in chunks, instead of drawing
+ * every cell through its drawable. Cells can be added from a {@link CellActor} or from plain values.
+ */
+public class CellRenderer {
+    
+    private static final int VertexSize = 5;
+    private static final int QuadSize = 4 * VertexSize;
+    /** Small enough to fit into the vertex buffer of the global batch */
+    private static final int QuadsPerChunk = 64;
+    
+    private final float[] vertices;
+    private int index;
+    private Texture texture;
+    private Batch batch;
+    
+    public CellRenderer() {
+        vertices = new float[QuadsPerChunk * QuadSize];
+    }
+    
+    public void begin(Batch batch) {
+        this.batch = batch;
+        index = 0;
+        texture = null;
+    }
+    
+    /**
+     * Adds the quad of the given cell or draws it the usual way if its drawable isn't backed by a texture region.
+     */
+    public void add(CellActor cell, float offsetX, float offsetY, float parentAlpha) {
+        if (!cell.isVisible()) {
+            return;
+        }
+        
+        Drawable drawable = cell.getDrawable();
+        TextureRegion region;
+        com.badlogic.gdx.graphics.Color tint = cell.getColor();
+        float red = tint.r;
+        float green = tint.g;
+        float blue = tint.b;
+        float alpha = tint.a * parentAlpha;
+        if (drawable instanceof SpriteDrawable) {
+            Sprite sprite = ((SpriteDrawable) drawable).getSprite();
+            com.badlogic.gdx.graphics.Color spriteColor = sprite.getColor();
+            region = sprite;
+            red *= spriteColor.r;
+            green *= spriteColor.g;
+            blue *= spriteColor.b;
+            alpha *= spriteColor.a;
+        } else if (drawable instanceof TextureRegionDrawable) {
+            region = ((TextureRegionDrawable) drawable).getRegion();
+        } else {
+            flush();
+            cell.moveBy(offsetX, offsetY);
+            cell.draw(batch, parentAlpha);
+            cell.moveBy(-offsetX, -offsetY);
+            return;
+        }
+        
+        float packedColor = com.badlogic.gdx.graphics.Color.toFloatBits(red, green, blue, alpha);
+        add(region, cell.getX() + offsetX, cell.getY() + offsetY, cell.getOriginX(), cell.getOriginY(), cell.getWidth(), cell.getHeight(),
+            cell.getScaleX(), cell.getScaleY(), cell.getRotation(), packedColor);
+    }
+    
+    public void add(TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+                    float scaleX, float scaleY, float rotation, float packedColor) {
+        if (texture != region.getTexture()) {
+            flush();
+            texture = region.getTexture();
+        } else if (index == vertices.length) {
+            flush();
+        }
+        
+        float worldOriginX = x + originX;
+        float worldOriginY = y + originY;
+        float left = -originX * scaleX;
+        float bottom = -originY * scaleY;
+        float right = (width - originX) * scaleX;
+        float top = (height - originY) * scaleY;
+        
+        float x1, y1, x2, y2, x3, y3, x4, y4;
+        if (rotation != 0) {
+            float cos = MathUtils.cosDeg(rotation);
+            float sin = MathUtils.sinDeg(rotation);
+            x1 = cos * left - sin * bottom;
+            y1 = sin * left + cos * bottom;
+            x2 = cos * left - sin * top;
+            y2 = sin * left + cos * top;
+            x3 = cos * right - sin * top;
+            y3 = sin * right + cos * top;
+            x4 = x1 + (x3 - x2);
+            y4 = y3 - (y2 - y1);
+        } else {
+            x1 = left;
+            y1 = bottom;
+            x2 = left;
+            y2 = top;
+            x3 = right;
+            y3 = top;
+            x4 = right;
+            y4 = bottom;
+        }
+        
+        float u = region.getU();
+        float v = region.getV2();
+        float u2 = region.getU2();
+        float v2 = region.getV();
+        
+        float[] vertices = this.vertices;
+        int index = this.index;
+        vertices[index++] = x1 + worldOriginX;
+        vertices[index++] = y1 + worldOriginY;
+        vertices[index++] = packedColor;
+        vertices[index++] = u;
+        vertices[index++] = v;
+        
+        vertices[index++] = x2 + worldOriginX;
+        vertices[index++] = y2 + worldOriginY;
+        vertices[index++] = packedColor;
+        vertices[index++] = u;
+        vertices[index++] = v2;
+        
+        vertices[index++] = x3 + worldOriginX;
+        vertices[index++] = y3 + worldOriginY;
+        vertices[index++] = packedColor;
+        vertices[index++] = u2;
+        vertices[index++] = v2;
+        
+        vertices[index++] = x4 + worldOriginX;
+        vertices[index++] = y4 + worldOriginY;
+        vertices[index++] = packedColor;
+        vertices[index++] = u2;
+        vertices[index++] = v;
+        this.index = index;
+    }
+    
+    public void flush() {
+        if (index > 0) {
+            batch.draw(texture, vertices, 0, index);
+            index = 0;
+        }
+    }
+    
+    public void end() {
+        flush();
+        batch = null;
+        texture = null;
+    }
+    
+}
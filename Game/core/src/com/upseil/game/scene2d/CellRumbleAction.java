@@ -0,0 +1,54 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.upseil.gdx.math.ExtendedRandom;
+
+/**
+ * Pushes the cell by the given distance in a random direction and back, the given number of times. The movement is
+ * applied relative to the current position.
+ */
+public class CellRumbleAction extends CellEffectAction {
+    
+    private float[] directions = new float[8];
+    private int rumbles;
+    private float distance;
+    private float appliedX;
+    private float appliedY;
+    
+    public CellRumbleAction initialize(int rumbles, float distance, float duration, ExtendedRandom random) {
+        this.rumbles = rumbles;
+        this.distance = distance;
+        if (directions.length < rumbles) {
+            directions = new float[rumbles];
+        }
+        for (int rumble = 0; rumble < rumbles; rumble++) {
+            directions[rumble] = random.randomIntExclusive(360);
+        }
+        setDuration(duration);
+        return this;
+    }
+    
+    @Override
+    protected void begin(CellActor cell) {
+        appliedX = 0;
+        appliedY = 0;
+    }
+    
+    @Override
+    protected void update(CellActor cell, float time) {
+        float x = 0;
+        float y = 0;
+        float frameDuration = rumbles > 0 ? getDuration() / rumbles / 2 : 0;
+        if (frameDuration > 0 && time < getDuration()) {
+            int rumble = Math.min((int) (time / (2 * frameDuration)), rumbles - 1);
+            float frames = (time - rumble * 2 * frameDuration) / frameDuration;
+            float amount = distance * (frames < 1 ? frames : 2 - frames);
+            x = amount * MathUtils.cosDeg(directions[rumble]);
+            y = amount * MathUtils.sinDeg(directions[rumble]);
+        }
+        cell.moveBy(x - appliedX, y - appliedY);
+        appliedX = x;
+        appliedY = y;
+    }
+    
+}
@@ -0,0 +1,45 @@
+package com.upseil.game.scene2d;
+
+/**
+ * Rotates the cell back and forth: every shake turns it by minus the rotation, by twice the rotation and back to where
+ * it started, each in a quarter of the shake duration. The rotation is applied relative to the current one.
+ */
+public class CellShakeAction extends CellEffectAction {
+    
+    private int shakes;
+    private float rotation;
+    private float shakeDuration;
+    private float appliedRotation;
+    
+    public CellShakeAction initialize(int shakes, float rotation, float duration) {
+        this.shakes = shakes;
+        this.rotation = rotation;
+        shakeDuration = shakes > 0 ? duration / shakes : 0;
+        setDuration(duration);
+        return this;
+    }
+    
+    @Override
+    protected void begin(CellActor cell) {
+        appliedRotation = 0;
+    }
+    
+    @Override
+    protected void update(CellActor cell, float time) {
+        float newRotation = 0;
+        float frameDuration = shakeDuration / 4;
+        if (frameDuration > 0 && time < shakes * 3 * frameDuration) {
+            float frames = (time % (3 * frameDuration)) / frameDuration;
+            if (frames < 1) {
+                newRotation = -rotation * frames;
+            } else if (frames < 2) {
+                newRotation = rotation * (2 * (frames - 1) - 1);
+            } else {
+                newRotation = rotation * (3 - frames);
+            }
+        }
+        cell.rotateBy(newRotation - appliedRotation);
+        appliedRotation = newRotation;
+    }
+    
+}
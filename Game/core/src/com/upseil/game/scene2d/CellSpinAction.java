@@ -0,0 +1,33 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.math.Interpolation;
+
+/**
+ * Spins the cell the given number of times, relative to its current rotation.
+ */
+public class CellSpinAction extends CellEffectAction {
+    
+    private static final Interpolation SpinInterpolation = Interpolation.swing;
+    
+    private float rotation;
+    private float appliedRotation;
+    
+    public CellSpinAction initialize(float spins, float duration) {
+        rotation = spins * 360;
+        setDuration(duration);
+        return this;
+    }
+    
+    @Override
+    protected void begin(CellActor cell) {
+        appliedRotation = 0;
+    }
+    
+    @Override
+    protected void update(CellActor cell, float time) {
+        float newRotation = rotation * (getDuration() > 0 ? SpinInterpolation.apply(time / getDuration()) : 1);
+        cell.rotateBy(newRotation - appliedRotation);
+        appliedRotation = newRotation;
+    }
+    
+}
@@ -1,11 +1,5 @@
 package com.upseil.game.scene2d;
 
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.delay;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.fadeOut;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.moveTo;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.parallel;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.scaleTo;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.sequence;
 import static com.upseil.game.Config.GridConfigValues.BorderSize;
 import static com.upseil.game.Config.GridConfigValues.CellMoveSpeed;
 import static com.upseil.game.Config.GridConfigValues.CellSize;
@@ -17,64 +11,87 @@ import static com.upseil.game.Config.GridConfigValues.Spacing;
 import static com.upseil.game.Config.GridConfigValues.TeleportDelay;
 import static com.upseil.game.Config.GridConfigValues.TeleportMoveSpeed;
 
-import java.util.Iterator;
+import java.util.Arrays;
 
 import com.artemis.World;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.math.Interpolation;
-import com.badlogic.gdx.scenes.scene2d.Action;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Group;
-import com.badlogic.gdx.scenes.scene2d.actions.Actions;
-import com.badlogic.gdx.scenes.scene2d.actions.MoveToAction;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Array;
-import com.badlogic.gdx.utils.ObjectFloatMap;
-import com.badlogic.gdx.utils.ObjectFloatMap.Entries;
-import com.badlogic.gdx.utils.ObjectFloatMap.Entry;
-import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.Disposable;
 import com.upseil.game.Config.GameConfig;
 import com.upseil.game.Config.GridConfig;
 import com.upseil.game.Config.GridConfigValues;
+import com.upseil.game.domain.Cell;
+import com.upseil.game.domain.CellChange;
 import com.upseil.game.domain.Color;
 import com.upseil.game.domain.Direction;
-import com.upseil.game.event.CellsAddedEvent;
-import com.upseil.game.event.CellsChangedEvent;
-import com.upseil.game.event.CellsRemovedEvent;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.Grid.GridTiming;
+import com.upseil.game.domain.GridChangeJournal;
+import com.upseil.game.domain.GridChangeJournal.Cause;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.domain.GridStep;
+import com.upseil.game.event.GridChangedEvent;
+import com.upseil.game.util.TimerWheel;
 import com.upseil.gdx.artemis.system.EventSystem;
 import com.upseil.gdx.math.ExtendedRandom;
+import com.upseil.gdx.math.ExtendedRandomXS128;
 import com.upseil.gdx.pool.PooledPools;
-import com.upseil.gdx.pool.pair.PairPool;
-import com.upseil.gdx.pool.pair.PooledPair;
 import com.upseil.gdx.util.EnumMap;
 import com.upseil.gdx.util.GDXArrays;
 
 // TODO extend AbstractGrid
-public class GameGrid extends Group {
+/**
+ * Animates the results of the {@link Grid} model. The rules themselves are resolved by the model, this class only
+ * keeps the actors in sync with the model's cells.
+ */
+public class GameGrid extends Group implements Disposable {
+    
+    private static final float RemovalTickDuration = 1 / 240f;
     
     private final World world;
     private final Skin skin;
     private final GameGridStyle style;
     private final ExtendedRandom random;
+    private final ExtendedRandomXS128 modelRandom;
+    private final Grid model;
+    private long initialRandomState0;
+    private long initialRandomState1;
     
-    private final Group borderGroup;
+    private final CachedGroup borderGroup;
     private final EnumMap<Direction, BorderActor> borders;
     
     private final Group cellGroup;
     private final CellActor[][] cells;
-    private final Array<ObjectSet<CellActor>> cellsByColor;
-    private ObjectFloatMap<CellActor> cellRemovalDelays;
-    
-    private final PairPool<CellActor, MoveToAction> movementPool;
-    private final Array<PooledPair<CellActor, MoveToAction>> queuedMovements;
-    private final Array<CellActor> newCells;
-    private boolean movementInProgress;
+    private final CellAnimator animator;
+    private final int[] colorCounts;
+    private final TimerWheel<CellActor> cellRemovals;
+    private final TimerWheel.Callback<CellActor> onCellRemoved;
+    private final GridChangeJournal journal;
+    private final int[] previousColorCounts;
+    
+    private final Array<CellActor> cellsToStop;
+    private final CellCallback onMovementFinished;
+    private final CellCallback onCellEntered;
+    private int runningMovements;
+    private int movementGeneration;
     
     private CellActor blackCell;
     private CellActor whiteCell;
-    private float minBlackWhiteDistance;
     private boolean teleportEnabled;
     
+    private float stepTime;
+    private float contactTime;
+    
+    private final float fixedTimeStep;
+    private final int maxFixedSteps;
+    private float accumulatedTime;
+    private float interpolationAlpha;
+    
     public GameGrid(World world, ExtendedRandom random, float exclusionAreaSize) {
         this.world = world;
         this.skin = world.getRegistered("Skin");
@@ -86,24 +103,31 @@ public class GameGrid extends Group {
         int size = config.getInt(GridConfigValues.GridSize);
         float worldSize = size * style.paddedCellSize + 2 * style.borderSize;
         int expectedColorCount = (size * size) / Color.size();
-        
-        borderGroup = new Group();
+        // The model gets its own random numbers, so that a game can be reproduced from its initial state and the choices
+        modelRandom = new ExtendedRandomXS128();
+        model = new Grid(size, style.toGridTiming(), modelRandom);
+        fixedTimeStep = config.getFloat(GridConfigValues.FixedTimeStep);
+        maxFixedSteps = config.getInt(GridConfigValues.MaxFixedSteps);
+        interpolationAlpha = 1;
+        
+        borderGroup = new CachedGroup();
         borderGroup.setBounds(0, 0, worldSize, worldSize);
         borders = new EnumMap<>(Direction.class);
         initializeBorders();
         
-        cellGroup = new Group();
+        cellGroup = new CellGroup();
         cellGroup.setBounds(0, 0, worldSize, worldSize);
         cells = new CellActor[size][size];
-        cellsByColor = new Array<>(Color.size());
-        for (int i = 0; i < Color.size(); i++) {
-            cellsByColor.add(new ObjectSet<>(expectedColorCount));
-        }
-        cellRemovalDelays = new ObjectFloatMap<>(expectedColorCount);
+        colorCounts = new int[Color.size()];
+        animator = new CellAnimator(size * size * 2);
+        cellRemovals = new TimerWheel<>(RemovalTickDuration, style.maxRemovalDelay, expectedColorCount);
+        onCellRemoved = this::onCellRemoved;
+        journal = new GridChangeJournal(size * size * 4);
+        previousColorCounts = new int[Color.size()];
         
-        movementPool = new PairPool<>();
-        queuedMovements = new Array<>(false, size, PooledPair.class);
-        newCells = new Array<>(false, expectedColorCount, CellActor.class);
+        onMovementFinished = (cell, generation) -> onMovementFinished(generation);
+        onCellEntered = (cell, generation) -> onCellEntered(cell, generation);
+        cellsToStop = new Array<>(false, size * size, CellActor.class);
         
         initializeGrid(exclusionAreaSize);
         addActor(cellGroup);
@@ -117,48 +141,30 @@ public class GameGrid extends Group {
         float worldWidth = getWorldWidth();
         float borderSize = style.borderSize;
         
-        Color borderColor = Color.Black;
-        for (Direction direction : Direction.values()) {
+        for (Direction direction : Direction.all()) {
             BorderActor actor = new BorderActor(skin, direction, worldWidth, worldHeight, borderSize);
-            actor.setBorderColor(borderColor);
             borderGroup.addActor(actor);
             borders.put(direction, actor);
-            if (borderColor == Color.Black) {
-                borderColor = Color.White;
-            } else {
-                borderColor = Color.Black;
-            }
         }
     }
 
     private void initializeGrid(float exclusionAreaSize) {
-        int width = getGridWidth();
-        int height = getGridHeight();
-        float exclusionAreaWidth = width * exclusionAreaSize;
-        float exclusionAreaHeight = height * exclusionAreaSize;
-        float exclusionAreaX = (width - exclusionAreaWidth) / 2;
-        float exclusionAreaY = (height - exclusionAreaHeight) / 2;
-
-        int minX = Math.round(exclusionAreaX + exclusionAreaWidth);
-        int minY = Math.round(exclusionAreaY + exclusionAreaHeight);
-        int maxX = Math.round(exclusionAreaX);
-        int maxY = Math.round(exclusionAreaY);
-        
-        int blackX = random.randomBoolean() ? random.randomInt(1, maxX - 1) : random.randomInt(minX, width - 2);
-        int blackY = random.randomBoolean() ? random.randomInt(1, maxY - 1) : random.randomInt(minY, height - 2);
-        int whiteX = width - blackX - 1;
-        int whiteY = height - blackY - 1;
-
-        minBlackWhiteDistance = -1;
-        blackCell = createAndSetCell(blackX, blackY, Color.Black);
-        whiteCell = createAndSetCell(whiteX, whiteY, Color.White);
+        initialRandomState0 = modelRandom.getState(0);
+        initialRandomState1 = modelRandom.getState(1);
+        model.initialize(exclusionAreaSize);
+        createCells();
+        journal.invalidate();
+    }
+    
+    private void createCells() {
+        resetTimeline();
         for (int x = 0; x < getGridWidth(); x++) {
             for (int y = 0; y < getGridHeight(); y++) {
-                if (cells[x][y] == null) {
-                    createAndSetCell(x, y, Color.random(random));
-                }
+                createAndSetCell(x, y, model.getCell(x, y).getColor());
             }
         }
+        updateSpecialCells();
+        updateBorderColors();
         teleportEnabled = true;
     }
     
@@ -171,6 +177,7 @@ public class GameGrid extends Group {
     private CellActor createCell(int x, int y, Color color) {
         CellActor cell = PooledPools.obtain(CellActor.class).initialize(skin, color, style.cellSize);
         cell.setPosition(toWorld(x), toWorld(y));
+        cell.storePreviousPosition();
         cellGroup.addActor(cell);
         return cell;
     }
@@ -179,434 +186,380 @@ public class GameGrid extends Group {
         cells[x][y] = cell;
         int colorNumber = cell.getCellColor().getNumber();
         if (colorNumber >= 0) {
-            cellsByColor.get(colorNumber).add(cell);
+            colorCounts[colorNumber]++;
+        }
+    }
+    
+    private void updateSpecialCells() {
+        Cell modelBlackCell = model.getBlackCell();
+        if (isOnGrid(modelBlackCell)) {
+            blackCell = cells[modelBlackCell.getX()][modelBlackCell.getY()];
+        }
+        Cell modelWhiteCell = model.getWhiteCell();
+        if (isOnGrid(modelWhiteCell)) {
+            whiteCell = cells[modelWhiteCell.getX()][modelWhiteCell.getY()];
+        }
+    }
+    
+    /**
+     * @return If the model cell is still part of the grid, a special cell that has been pushed out keeps its last
+     *         position
+     */
+    private boolean isOnGrid(Cell modelCell) {
+        return isInsideGrid(modelCell.getX(), modelCell.getY()) && model.getCell(modelCell.getX(), modelCell.getY()) == modelCell;
+    }
+    
+    private void updateBorderColors() {
+        for (Direction direction : Direction.all()) {
+            borders.get(direction).setBorderColor(model.getBorderColor(direction));
         }
     }
     
     // Modifications and Interactions -------------------------------------------------------------
     
     public void removeCells(Color color) {
-        ObjectSet<CellActor> cellsOfColor = cellsByColor.get(color.getNumber());
-        if (cellsOfColor.size == 0) return;
+        resetTimeline();
+        GridStep step = model.removeCells(color);
+        if (step.isEmpty()) return;
         
-        float duration = style.removalDuration;
-        float scaleTo = style.removalScaleTo;
-        float moveAmount = style.removalMoveAmount;
-        for (CellActor cell : cellsOfColor) {
+        for (CellChange change : step.getChanges()) {
             float removalDelay = random.randomFloat(0, style.maxRemovalDelay);
-            int x = toGrid(cell.getX());
-            int y = toGrid(cell.getY());
-            
-            cells[x][y] = null;
-            cellRemovalDelays.put(cell, removalDelay);
+            CellActor cell = cells[change.getFromX()][change.getFromY()];
+            cells[change.getFromX()][change.getFromY()] = null;
+            cellRemovals.schedule(removalDelay, onCellRemoved, cell);
 
             cell.toFront();
-            cell.addAction(sequence(delay(removalDelay),
-                                    parallel(fadeOut(duration, Interpolation.fade),
-                                             scaleTo(scaleTo, scaleTo, duration, Interpolation.fade),
-                                             Actions.moveBy(0, moveAmount, duration, Interpolation.pow2In)),
-                                    Actions.removeActor()));
+            animateRemoval(cell, removalDelay);
         }
     }
     
     public void fillGrid(Direction moveDirection) {
-        FillGridContext context = new FillGridContext(moveDirection, getGridWidth(), getGridHeight());
-        int x = context.getStartX();
-        int y = context.getStartY();
-        int newX = -1;
-        int newY = -1;
-        while (!context.isGridFilled(x, y)) {
-            CellActor cell = cells[x][y];
-            // First empty cell -> initialize new position
-            if (cell == null && newX < 0 && newY < 0) {
-                newX = x;
-                newY = y;
-            }
-            // Non-empty cell with initialized new position -> queue movement
-            if (cell != null && newX >= 0 && newY >= 0) {
-                queuedMovements.add(createLinearMoveToAction(cell, toWorld(newX), toWorld(newY)));
-                cells[x][y] = null;
-                cells[newX][newY] = cell;
-                newX += context.incrementX();
-                newY += context.incrementY();
-            }
-            
-            // Increment position and check if done
-            x += context.incrementX();
-            y += context.incrementY();
-            if (context.moveToNextLine(x, y)) {
-                // If either newX = -1 or newY = -1, no cells in this line have been removed
-                if (newX >= 0 && newY >= 0) {
-                    fillGaps(newX, newY, context);
-                    applyQueuedMovements(context);
-                }
-
-                x = context.nextLineX(x);
-                y = context.nextLineY(y);
-                newX = -1;
-                newY = -1;
-            }
-        }
+        applyChanges(model.fill(moveDirection));
         teleportEnabled = true;
     }
-
-    private void fillGaps(int startX, int startY, FillGridContext context) {
-        int gridX = startX;
-        int gridY = startY;
-        int spawnX = context.moveLeft() ? getGridWidth()  : context.moveRight() ? -1 : gridX;
-        int spawnY = context.moveDown() ? getGridHeight() : context.moveUp()    ? -1 : gridY;
-        while (!context.moveToNextLine(gridX, gridY)) {
-            CellActor newCell = createCell(spawnX, spawnY, Color.random(random));
-            cells[gridX][gridY] = newCell;
-            newCells.add(newCell);
-            queuedMovements.add(createLinearMoveToAction(newCell, toWorld(gridX), toWorld(gridY)));
-
-            gridX += context.incrementX();
-            gridY += context.incrementY();
-            spawnX += context.incrementX();
-            spawnY += context.incrementY();
-        }
-    }
-
-    private PooledPair<CellActor, MoveToAction> createLinearMoveToAction(CellActor cell, float targetX, float targetY) {
-        float duration = Math.max(Math.abs(cell.getX() - targetX), Math.abs(cell.getY() - targetY)) / style.cellMoveSpeed;
-        PooledPair<CellActor, MoveToAction> movement = movementPool.obtain().set(cell, moveTo(targetX, targetY, duration));
-        movement.setFreeA(false);
-        return movement;
-    }
-    
-    private void applyQueuedMovements(FillGridContext context) {
-        float delay = 0;
-        PooledPair<CellActor, MoveToAction>[] movements = queuedMovements.items;
-        // Iterating over the queued movements backwards, accumulating the
-        // needed time for the previous cell to reach the current cell.
-        // This looks like cells are "pushed" by their predecessor.
-        for (int index = queuedMovements.size - 1; index >= 0; index--) {
-            CellActor movingCell = movements[index].getA();
-            MoveToAction moveAction = movements[index].getB();
-            if (index < queuedMovements.size - 1) {
-                CellActor previousCell = movements[index + 1].getA();
-                delay += (context.calculateDistance(movingCell, previousCell) - (style.cellOffset * 2)) / style.cellMoveSpeed;
+    
+    private void teleport() {
+        GridStep step = model.teleport();
+        if (!step.isEmpty()) {
+            applyChanges(step);
+            teleportEnabled = false;
+        }
+    }
+    
+    private void applyChanges(GridStep step) {
+        for (CellChange change : step.getChanges()) {
+            switch (change.getType()) {
+            case Removal:
+                removeCell(change);
+                break;
+            case Move:
+                moveCell(change);
+                break;
+            case Spawn:
+                spawnCell(change);
+                break;
+            case Exit:
+                exitCell(change);
+                break;
             }
-            movingCell.addAction(delay(delay, moveAction));
         }
+        updateSpecialCells();
         
-        for (PooledPair<CellActor, MoveToAction> movement : queuedMovements) {
-            movement.free();
+        stepTime = 0;
+        contactTime = step.getContactTime();
+    }
+    
+    private void removeCell(CellChange change) {
+        CellActor cell = cells[change.getFromX()][change.getFromY()];
+        cells[change.getFromX()][change.getFromY()] = null;
+        int colorNumber = cell.getCellColor().getNumber();
+        if (colorNumber >= 0) {
+            colorCounts[colorNumber]--;
         }
-        queuedMovements.clear();
-        movementInProgress = true;
+        journal.record(change.getFromX(), change.getFromY(), cell.getCellColor(), Color.Empty, Cause.Teleported);
+        animateRemoval(cell, 0);
+        trackMovement();
     }
-
-    public void randomizeBorderColors() {
-        // Prevent color changes of borders that are "touched" by the black or white cell
-        Direction[] directions = Direction.values();
-        Array<Direction> changeableBorders = new Array<>(false, directions, 0, directions.length);
-
-        int blackX = toGrid(blackCell.getX());
-        int blackY = toGrid(blackCell.getY());
-        if (blackX == 0) changeableBorders.removeValue(Direction.Left, true);
-        if (blackX == getGridWidth() - 1) changeableBorders.removeValue(Direction.Right, true);
-        if (blackY == 0) changeableBorders.removeValue(Direction.Bottom, true);
-        if (blackY == getGridHeight() - 1) changeableBorders.removeValue(Direction.Top, true);
-
-        int whiteX = toGrid(whiteCell.getX());
-        int whiteY = toGrid(whiteCell.getY());
-        if (whiteX == 0) changeableBorders.removeValue(Direction.Left, true);
-        if (whiteX == getGridWidth() - 1) changeableBorders.removeValue(Direction.Right, true);
-        if (whiteY == 0) changeableBorders.removeValue(Direction.Bottom, true);
-        if (whiteY == getGridHeight() - 1) changeableBorders.removeValue(Direction.Top, true);
+    
+    private void moveCell(CellChange change) {
+        CellActor cell = cells[change.getFromX()][change.getFromY()];
+        cells[change.getFromX()][change.getFromY()] = null;
+        cells[change.getToX()][change.getToY()] = cell;
+        animateMove(cell, change);
+        trackMovement();
+    }
+    
+    private void spawnCell(CellChange change) {
+        CellActor cell = createCell(change.getFromX(), change.getFromY(), change.getColor());
+        cells[change.getToX()][change.getToY()] = cell;
+        animateMove(cell, change);
+        trackMovement();
         
-        // Shuffling the colors of the changeable borders
-        Color[] borderColors = new Color[changeableBorders.size];
-        for (int index = 0; index < borderColors.length; index++) {
-            borderColors[index] = borders.get(changeableBorders.items[index]).getBorderColor();
+        // The cell counts as added as soon as it's completely inside of the grid
+        int outsideDistance = Math.max(getOutsideDistance(change.getFromX(), getGridWidth()),
+                                       getOutsideDistance(change.getFromY(), getGridHeight()));
+        int distance = Math.abs(change.getToX() - change.getFromX()) + Math.abs(change.getToY() - change.getFromY());
+        float enterTime = change.getDelay() + change.getDuration() * outsideDistance / distance;
+        animator.delay(cell, enterTime).thenCall(onCellEntered, movementGeneration);
+    }
+    
+    private int getOutsideDistance(int gridPosition, int gridSize) {
+        return gridPosition < 0 ? -gridPosition : Math.max(gridPosition - gridSize + 1, 0);
+    }
+    
+    private void exitCell(CellChange change) {
+        CellActor cell = cells[change.getFromX()][change.getFromY()];
+        cells[change.getFromX()][change.getFromY()] = null;
+        animateMove(cell, change);
+        trackMovement();
+        animator.thenRemove();
+    }
+    
+    /**
+     * Counts the last added tween as running movement until it's finished.
+     */
+    private void trackMovement() {
+        runningMovements++;
+        animator.thenCall(onMovementFinished, movementGeneration);
+    }
+    
+    private void onMovementFinished(int generation) {
+        if (generation == movementGeneration) {
+            runningMovements--;
         }
-        GDXArrays.shuffle(borderColors);
-        for (int index = 0; index < borderColors.length; index++) {
-            borders.get(changeableBorders.items[index]).setBorderColor(borderColors[index]);
+    }
+    
+    private void onCellEntered(CellActor cell, int generation) {
+        int colorNumber = cell.getCellColor().getNumber();
+        if (generation == movementGeneration && colorNumber >= 0) {
+            colorCounts[colorNumber]++;
+            journal.record(toGrid(cell.getX(Align.center)), toGrid(cell.getY(Align.center)), Color.Empty, cell.getCellColor(), Cause.Entered);
         }
     }
     
+    /**
+     * Movements that have been scheduled before calling this method won't be tracked anymore.
+     */
+    private void resetMovementTracking() {
+        movementGeneration++;
+        runningMovements = 0;
+    }
+    
+    private void animateMove(CellActor cell, CellChange change) {
+        animator.moveTo(cell, toWorld(change.getToX()), toWorld(change.getToY()), change.getDelay(), change.getDuration());
+    }
+    
+    private void animateRemoval(CellActor cell, float delay) {
+        float duration = style.removalDuration;
+        animator.to(cell, CellAnimator.Alpha, 0, delay, duration, Interpolation.fade)
+                .to(cell, CellAnimator.Scale, style.removalScaleTo, delay, duration, Interpolation.fade)
+                .by(cell, CellAnimator.Y, style.removalMoveAmount, delay, duration, Interpolation.pow2In)
+                .thenRemove();
+    }
+
+    public void randomizeBorderColors() {
+        model.randomizeBorderColors();
+        updateBorderColors();
+    }
+    
     public void abortMovement() {
         if (!isMovementInProgress()) {
             return;
         }
         
-        for (ObjectSet<CellActor> cells : cellsByColor) {
-            cells.clear();
-        }
-        newCells.clear();
+        resetMovementTracking();
+        resetTimeline();
         teleportEnabled = false;
         
-        Array<CellActor> cellsToStop = new Array<>(getGridWidth() * getGridHeight());
         for (int x = 0; x < getGridWidth(); x++) {
             for (int y = 0; y < getGridHeight(); y++) {
                 CellActor cell = cells[x][y];
-                if (cell != null && cell.getActions().size > 0) {
+                if (cell != null && animator.isAnimating(cell)) {
                     cellsToStop.add(cell);
                     cells[x][y] = null;
                 }
             }
         }
         
-        boolean cellsWereRemoved = false;
         for (CellActor cell : cellsToStop) {
             int x = toGrid(cell.getX(Align.center));
             int y = toGrid(cell.getY(Align.center));
             float targetX = toWorld(x);
             float targetY = toWorld(y);
             float duration = Math.max(Math.abs(cell.getX() - targetX), Math.abs(cell.getY() - targetY)) / style.cellMoveSpeed;
-            Action action = moveTo(targetX, targetY, duration);
+            animator.cancel(cell);
+            animator.moveTo(cell, targetX, targetY, 0, duration);
+            trackMovement();
             
             if (isInsideGrid(x, y)) {
-                setCell(x, y, cell);
+                cells[x][y] = cell;
             } else {
-                action = sequence(action, Actions.removeActor());
-                cellsWereRemoved = true;
+                animator.thenRemove();
             }
-            cell.clearActions();
-            cell.addAction(action);
         }
-
-        if (cellsWereRemoved) {
-            EventSystem.schedule(world, PooledPools.obtain(CellsChangedEvent.class));
+        cellsToStop.clear();
+        
+        // Stopped cells can't be attributed to single changes, only the difference of the counts is recorded
+        System.arraycopy(colorCounts, 0, previousColorCounts, 0, colorCounts.length);
+        countCells();
+        for (int number = 0; number < colorCounts.length; number++) {
+            journal.addCountDelta(number, colorCounts[number] - previousColorCounts[number]);
         }
     }
     
-    public void reset(float exclusionAreaSize) {
-        for (ObjectSet<CellActor> cells : cellsByColor) {
-            cells.clear();
+    private void countCells() {
+        Arrays.fill(colorCounts, 0);
+        for (int x = 0; x < getGridWidth(); x++) {
+            for (int y = 0; y < getGridHeight(); y++) {
+                CellActor cell = cells[x][y];
+                if (cell != null && cell.getCellColor().getNumber() >= 0) {
+                    colorCounts[cell.getCellColor().getNumber()]++;
+                }
+            }
         }
+    }
+    
+    public void reset(float exclusionAreaSize) {
+        clearCells();
+        initializeGrid(exclusionAreaSize);
+    }
+    
+    private void clearCells() {
+        Arrays.fill(colorCounts, 0);
         GDXArrays.clear(cells);
-        cellRemovalDelays.clear();
-        queuedMovements.clear();
-        newCells.clear();
+        cellRemovals.clear();
+        animator.clear();
+        resetMovementTracking();
         cellGroup.clear();
-        initializeGrid(exclusionAreaSize);
+        accumulatedTime = 0;
+        interpolationAlpha = 1;
+    }
+    
+    /**
+     * Resets the grid with the given state of the model's random number generator, which reproduces the grid of the
+     * game that has been started with this state.
+     */
+    public void reset(float exclusionAreaSize, long randomState0, long randomState1) {
+        modelRandom.setState(randomState0, randomState1);
+        reset(exclusionAreaSize);
+    }
+    
+    /**
+     * Continues the game the given state has been taken from.
+     */
+    public void restore(GridState state) {
+        clearCells();
+        modelRandom.setState(state.getRandomState0(), state.getRandomState1());
+        model.restore(state);
+        createCells();
+        journal.invalidate();
+    }
+    
+    /**
+     * @return A snapshot of the grid, only valid between two turns
+     */
+    public GridState createState() {
+        return GridState.of(model, modelRandom.getState(0), modelRandom.getState(1));
     }
     
     // Processing ---------------------------------------------------------------------------------
     
+    /**
+     * Advances the grid in steps of the configured fixed time step if it's greater than 0. Time that exceeds the
+     * maximal number of steps per frame is dropped.
+     */
     @Override
     public void act(float delta) {
-        super.act(delta);
-        boolean movementStopped = false;
-        if (movementInProgress) {
-            movementInProgress = false;
-            for (Actor actor : cellGroup.getChildren()) {
-                if (actor.getActions().size > 0) {
-                    movementInProgress = true;
-                    break;
-                }
-            }
-            movementStopped = !movementInProgress;
-        }
-        
-        if (isRemovalInProgress()) {
-            processCellRemovalDelays(delta);
-        }
-        if (isMovementInProgress() || minBlackWhiteDistance < 0) {
-            updateMinBlackWhiteDistance();
+        if (fixedTimeStep <= 0) {
+            simulate(delta);
+        } else {
+            simulateFixedSteps(delta);
         }
-        if (isMovementInProgress()) {
-            processNewCells();
+        publishChanges();
+    }
+    
+    private void simulateFixedSteps(float delta) {
+        accumulatedTime += delta;
+        int steps = 0;
+        while (accumulatedTime >= fixedTimeStep && steps < maxFixedSteps) {
+            for (Actor cell : cellGroup.getChildren()) {
+                ((CellActor) cell).storePreviousPosition();
+            }
+            simulate(fixedTimeStep);
+            accumulatedTime -= fixedTimeStep;
+            steps++;
         }
-
-        if (movementStopped && teleportEnabled) {
-            checkTeleportation(whiteCell);
-            checkTeleportation(blackCell);
+        if (steps == maxFixedSteps) {
+            accumulatedTime = Math.min(accumulatedTime, fixedTimeStep);
         }
+        interpolationAlpha = accumulatedTime / fixedTimeStep;
     }
-
-    private void processCellRemovalDelays(float delta) {
-        int cellsRemovedCount = 0;
-        Entries<CellActor> cellsToRemove = cellRemovalDelays.entries();
-        while (cellsToRemove.hasNext()) {
-            Entry<CellActor> entry = cellsToRemove.next();
-            if (entry.value <= delta) {
-                cellsToRemove.remove();
-                cellsRemovedCount++;
-                
-                Color cellColor = entry.key.getCellColor();
-                cellsByColor.get(cellColor.getNumber()).remove(entry.key);
-            } else {
-                cellRemovalDelays.put(entry.key, entry.value - delta);
-            }
+    
+    private void simulate(float delta) {
+        // Movement stops exactly at the contact of the black and white cell, no matter how big the delta is
+        float movementDelta = delta;
+        if (contactTime >= 0) {
+            movementDelta = Math.max(Math.min(delta, contactTime - stepTime), 0);
         }
+        stepTime += movementDelta;
         
-        if (cellsRemovedCount > 0) {
-            CellsRemovedEvent event = PooledPools.obtain(CellsRemovedEvent.class);
-            event.setCount(cellsRemovedCount);
-            EventSystem.schedule(world, event);
+        boolean movementWasInProgress = isMovementInProgress();
+        super.act(movementDelta);
+        animator.advance(movementDelta);
+        boolean movementStopped = movementWasInProgress && !isMovementInProgress();
+        
+        // Removals run on the same clock as their animations
+        if (isRemovalInProgress()) {
+            cellRemovals.advance(movementDelta);
         }
-    }
 
-    private void updateMinBlackWhiteDistance() {
-        float blackCenterX = blackCell.getX(Align.center);
-        float blackCenterY = blackCell.getY(Align.center);
-        float whiteCenterX = whiteCell.getX(Align.center);
-        float whiteCenterY = whiteCell.getY(Align.center);
-
-        // Initializing distance with black to white cell distance
-        float cellDeltaX = blackCenterX - whiteCenterX;
-        float cellDeltaY = blackCenterY - whiteCenterY;
-        float distanceSquared = cellDeltaX * cellDeltaX + cellDeltaY * cellDeltaY;
-        boolean isCellNearest = true;
-
-        // Checking if the black or white cell is closer to a border of opposite color
-        com.badlogic.gdx.graphics.Color black = skin.getColor(Color.Black.getName());
-        for (Direction direction : Direction.values()) { // TODO Adjust after EnumMap implements Iterable
-            Actor border = borders.get(direction);
-            
-            float cellReference = border.getColor().equals(black) ? (direction.isHorizontal() ? whiteCenterX : whiteCenterY)
-                                                                  : (direction.isHorizontal() ? blackCenterX : blackCenterY);
-            float borderReference = style.borderSize;
-            if (border.getX() > 0 || border.getY() > 0) {
-                borderReference = (direction.isHorizontal() ? getWorldHeight() : getWorldWidth()) - style.borderSize;
-            }
-            
-            float borderDistance = cellReference - borderReference;
-            float borderDistanceSquared = borderDistance * borderDistance;
-            if (borderDistanceSquared <= distanceSquared) {
-                distanceSquared = borderDistanceSquared;
-                isCellNearest = false;
-            }
+        if (movementStopped && teleportEnabled) {
+            teleport();
         }
-        
-        float distanceSurplus = isCellNearest ? style.cellSize + style.cellSpacing
-                                              : style.cellOffset + style.cellSize / 2;
-        minBlackWhiteDistance = (float) Math.sqrt(distanceSquared) - distanceSurplus;
     }
 
-    private void processNewCells() {
-        int cellsAddedCount = 0;
-        Iterator<CellActor> newCellsIterator = newCells.iterator();
-        while (newCellsIterator.hasNext()) {
-            CellActor cell = newCellsIterator.next();
-            if (isInsideGrid(cell)) {
-                int colorNumber = cell.getCellColor().getNumber();
-                if (colorNumber >= 0) {
-                    cellsByColor.get(colorNumber).add(cell);
-                    cellsAddedCount++;
-                }
-                newCellsIterator.remove();
+    /**
+     * Draws the cells at the position between the last two fixed steps that corresponds to the time that hasn't been
+     * simulated yet.
+     */
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        boolean interpolate = fixedTimeStep > 0 && interpolationAlpha < 1;
+        if (interpolate) {
+            for (Actor cell : cellGroup.getChildren()) {
+                ((CellActor) cell).beginInterpolation(interpolationAlpha);
             }
         }
-        
-        if (cellsAddedCount > 0) {
-            CellsAddedEvent event = PooledPools.obtain(CellsAddedEvent.class);
-            event.setCount(cellsAddedCount);
-            EventSystem.schedule(world, event);
-        }
-    }
-    
-    private void checkTeleportation(CellActor cell) {
-        Color color = cell.getCellColor();
-        Direction touchingHorizontalBorder = getTouchingBorder(cell.getX(), true);
-        Direction touchingVerticalBorder = getTouchingBorder(cell.getY(), false);
-        if ((touchingHorizontalBorder != null && touchingVerticalBorder == null) ||
-            (touchingHorizontalBorder == null && touchingVerticalBorder != null)) {
-            Direction touchingBorder = touchingHorizontalBorder != null ? touchingHorizontalBorder : touchingVerticalBorder;
-            if (borders.get(touchingBorder).getBorderColor() == color) {
-                teleport(cell, touchingBorder, getOtherBorder(touchingBorder, color));
+        super.draw(batch, parentAlpha);
+        if (interpolate) {
+            for (Actor cell : cellGroup.getChildren()) {
+                ((CellActor) cell).endInterpolation();
             }
         }
     }
-    
-    private Direction getTouchingBorder(float worldPosition, boolean horizontal) {
-        int gridPosition = toGrid(worldPosition);
-        if (gridPosition == 0) {
-            return horizontal ? Direction.Left : Direction.Bottom;
-        }
-        if (horizontal && gridPosition == getGridWidth() - 1) {
-            return Direction.Right;
-        }
-        if (!horizontal && gridPosition == getGridHeight() -1) {
-            return Direction.Top;
-        }
-        return null;
-    }
 
-    private Direction getOtherBorder(Direction knownDirection, Color color) {
-        for (Direction direction : Direction.values()) {
-            if (direction != knownDirection && color == borders.get(direction).getBorderColor()) {
-                return direction;
-            }
-        }
-        throw new IllegalStateException("No other border for color " + color + " exists: knownDirection = " + knownDirection);
+    private void onCellRemoved(CellActor cell) {
+        colorCounts[cell.getCellColor().getNumber()]--;
+        journal.record(toGrid(cell.getX(Align.center)), toGrid(cell.getY(Align.center)), cell.getCellColor(), Color.Empty, Cause.Removed);
     }
-    
-    private void teleport(CellActor cell, Direction from, Direction to) {
-        float moveDuration = style.paddedCellSize / style.teleportMoveSpeed;
-        
-        int cellX = toGrid(cell.getX());
-        int cellY = toGrid(cell.getY());
-        cell.addAction(sequence(delay(style.teleportDelay), moveTo(toWorld(cellX + from.getDeltaX()), toWorld(cellY + from.getDeltaY()), moveDuration), Actions.removeActor()));
-        cells[cellX][cellY] = null;
-        
-        boolean inLine = from.isHorizontal() == to.isHorizontal();
-        int targetX = to == Direction.Left ? 0 : to == Direction.Right ? getGridWidth() - 1 : inLine ? cellX : cellY;
-        int targetY = to == Direction.Bottom ? 0 : to == Direction.Top ? getGridHeight() - 1 : inLine ? cellY : cellX;
-        CellActor newCell = createCell(targetX + to.getDeltaX(), targetY + to.getDeltaY(), cell.getCellColor());
-        newCell.addAction((delay(style.teleportDelay, moveTo(toWorld(targetX), toWorld(targetY), moveDuration))));
-        
-        if (inLine) {
-            shiftLine(from.isHorizontal() ? cellY : cellX, from, style.teleportMoveSpeed, style.teleportDelay);
-            newCells.add(newCell);
-        } else {
-            Direction toOpposite = to.getOpposite();
-            int removeX = toOpposite == Direction.Left ? 0 : toOpposite == Direction.Right ? getGridWidth() - 1 : targetX;
-            int removeY = toOpposite == Direction.Bottom ? 0 : toOpposite == Direction.Top ? getGridHeight() - 1 : targetY;
-            cells[removeX][removeY].addAction(sequence(parallel(fadeOut(style.removalDuration, Interpolation.fade),
-                                                                scaleTo(style.removalScaleTo, style.removalScaleTo, style.removalDuration, Interpolation.fade),
-                                                                Actions.moveBy(0, style.removalMoveAmount, style.removalDuration, Interpolation.pow2In)),
-                                              Actions.removeActor()));
-            cellsByColor.get(cells[removeX][removeY].getCellColor().getNumber()).remove(cells[removeX][removeY]);
-            cells[removeX][removeY] = null;
-            CellsRemovedEvent event = PooledPools.obtain(CellsRemovedEvent.class);
-            event.setCount(1);
-            EventSystem.schedule(world, event);
-            shiftLine(to.isHorizontal() ? targetY : targetX, toOpposite, style.teleportMoveSpeed, style.teleportDelay);
-            
-            Direction fromOpposite = from.getOpposite();
-            int fillX = fromOpposite == Direction.Left ? 0 : fromOpposite == Direction.Right ? getGridWidth() - 1 : cellX;
-            int fillY = fromOpposite == Direction.Bottom ? 0 : fromOpposite == Direction.Top ? getGridHeight() - 1 : cellY;
-            CellActor fillCell = createCell(fillX + fromOpposite.getDeltaX(), fillY + fromOpposite.getDeltaY(), Color.random(random));
-            fillCell.addAction(delay(moveDuration + 2 * style.teleportDelay, moveTo(toWorld(fillX), toWorld(fillY), moveDuration)));
-            shiftLine(from.isHorizontal() ? cellY : cellX, from, style.teleportMoveSpeed, moveDuration + 2 * style.teleportDelay);
-            cells[fillX][fillY] = fillCell;
-            newCells.add(fillCell);
-        }
 
-        cells[targetX][targetY] = newCell;
-        if (cell.getCellColor() == Color.White) {
-            whiteCell = newCell;
-        }
-        if (cell.getCellColor() == Color.Black) {
-            blackCell = newCell;
-        }
-        teleportEnabled = false;
-        movementInProgress = true;
+    private void resetTimeline() {
+        stepTime = 0;
+        contactTime = -1;
     }
-    
-    private void shiftLine(int number, Direction direction, float movementSpeed, float delay) {
-        int cellX = direction ==   Direction.Left ? 0 : direction == Direction.Right ? getGridWidth() - 1  : number;
-        int cellY = direction == Direction.Bottom ? 0 : direction ==   Direction.Top ? getGridHeight() - 1 : number;
 
-        float moveDuration = style.paddedCellSize / movementSpeed;
-        for (int i = direction.isHorizontal() ? getGridWidth() : getGridHeight(); i > 0; i--) {
-            CellActor cell = cells[cellX][cellY];
-            int newCellX = cellX + direction.getDeltaX();
-            int newCellY = cellY + direction.getDeltaY();
-            if (cell != null) {
-                MoveToAction moveAction = moveTo(toWorld(newCellX), toWorld(newCellY), moveDuration);
-                cell.addAction(delay > 0 ? delay(delay, moveAction) : moveAction);
-                cells[newCellX][newCellY] = cell;
-            }
-            cellX -= direction.getDeltaX();
-            cellY -= direction.getDeltaY();
+    /**
+     * Sends the changes that have been recorded since the last call in one event.
+     */
+    private void publishChanges() {
+        if (!journal.hasChanges()) {
+            return;
         }
+        
+        GridChangedEvent event = PooledPools.obtain(GridChangedEvent.class);
+        event.set(journal);
+        journal.endFrame();
+        EventSystem.schedule(world, event);
     }
     
     // Data Polling -------------------------------------------------------------------------------
@@ -626,8 +579,20 @@ public class GameGrid extends Group {
         return gridX >= 0 && gridX < getGridWidth() && gridY >= 0 && gridY < getGridHeight();
     }
     
-    public float getMinBlackWhiteDistance() {
-        return minBlackWhiteDistance;
+    /**
+     * @return If the black and white cell touch each other or a border of the opposite color. The movement is halted
+     *         at that moment until it's aborted.
+     */
+    public boolean isContactReached() {
+        return contactTime >= 0 && stepTime >= contactTime;
+    }
+    
+    /**
+     * @return The time in seconds (grid time) until the black and white cell get in contact or -1 if the current
+     *         movement doesn't lead to a contact
+     */
+    public float getTimeUntilContact() {
+        return contactTime < 0 ? -1 : Math.max(contactTime - stepTime, 0);
     }
     
     public int toGrid(float world) {
@@ -659,21 +624,45 @@ public class GameGrid extends Group {
     }
     
     public int getColorCount(int colorNumber) {
-        return cellsByColor.get(colorNumber).size;
+        return colorCounts[colorNumber];
+    }
+    
+    /**
+     * @return The journal of the changes of the counted cells, which are sent once per frame as a
+     *         {@link GridChangedEvent}
+     */
+    public GridChangeJournal getChangeJournal() {
+        return journal;
     }
     
     public boolean isRemovalInProgress() {
-        return cellRemovalDelays.size > 0;
+        return !cellRemovals.isEmpty();
     }
     
     public boolean isMovementInProgress() {
-        return movementInProgress;
+        return runningMovements > 0;
     }
     
     public GameGridStyle getStyle() {
         return style;
     }
     
+    public Grid getModel() {
+        return model;
+    }
+    
+    /**
+     * @return The state of the model's random number generator at the start of the current game
+     */
+    public long getInitialRandomState(int index) {
+        return index == 0 ? initialRandomState0 : initialRandomState1;
+    }
+    
+    @Override
+    public void dispose() {
+        borderGroup.dispose();
+    }
+    
     // Utility Classes ----------------------------------------------------------------------------
 
     public static class GameGridStyle {
@@ -715,88 +704,10 @@ public class GameGrid extends Group {
             this.removalScaleTo = removalScaleTo;
         }
         
-    }
-    
-    private static class FillGridContext {
-        
-        private final Direction moveDirection;
-        private final int gridWidth;
-        private final int gridHeight;
-        
-        public FillGridContext(Direction moveDirection, int gridWidth, int gridHeight) {
-            this.moveDirection = moveDirection;
-            this.gridWidth = gridWidth;
-            this.gridHeight = gridHeight;
-        }
-
-        public boolean moveUp() {
-            return moveDirection == Direction.Top;
-        }
-        
-        public boolean moveLeft() {
-            return moveDirection == Direction.Left;
-        }
-        
-        public boolean moveDown() {
-            return moveDirection == Direction.Bottom;
-        }
-        
-        public boolean moveRight() {
-            return moveDirection == Direction.Right;
-        }
-        
-        public boolean moveHorizontal() {
-            return moveLeft() || moveRight();
-        }
-        
-        public boolean moveVertical() {
-            return moveUp() || moveDown();
-        }
-        
-        public int getStartY() {
-            return moveUp() ? gridHeight - 1 : 0;
-        }
-
-        public int getStartX() {
-            return moveRight() ? gridWidth - 1 : 0;
-        }
-        
-        public int incrementX() {
-            return moveDirection.getDeltaX() * -1;
-        }
-        
-        public int incrementY() {
-            return moveDirection.getDeltaY() * -1;
-        }
-
-        public boolean moveToNextLine(int x, int y) {
-            return (moveLeft() && x >= gridWidth)  || (moveRight() && x < 0) ||
-                   (moveDown() && y >= gridHeight) || (moveUp()    && y < 0);
-        }
-
-        public int nextLineX(int currentX) {
-            return moveRight() ? gridWidth - 1 : moveLeft() ? 0 : currentX + 1;
-        }
-
-        public int nextLineY(int currentY) {
-            return moveUp() ? gridHeight - 1 : moveDown() ? 0 : currentY + 1;
-        }
-        
-        public float calculateDistance(CellActor movingCell, CellActor previousCell) {
-            float movingCellReference = moveHorizontal() ? movingCell.getX(Align.center)
-                                                         : movingCell.getY(Align.center);
-            float previousCellReference = moveHorizontal() ? previousCell.getX(Align.center)
-                                                           : previousCell.getY(Align.center);
-            float cellSize = moveHorizontal() ? movingCell.getWidth() / 2 + previousCell.getWidth() / 2
-                                              : movingCell.getHeight() / 2 + previousCell.getHeight() / 2;
-            return Math.abs(movingCellReference - previousCellReference) - cellSize;
-        }
-
-        public boolean isGridFilled(int x, int y) {
-            return (moveHorizontal() && y >= gridHeight) ||
-                   (moveVertical()   && x >= gridWidth);
+        public GridTiming toGridTiming() {
+            return new GridTiming(cellMoveSpeed / paddedCellSize, teleportMoveSpeed / paddedCellSize, teleportDelay);
         }
         
     }
     
-}
\ No newline at end of file
+}
@@ -1,24 +1,24 @@
 package com.upseil.game.scene2d;
 
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.delay;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.run;
 import static com.upseil.game.Config.HUDConfigValues.ButtonRatio;
 import static com.upseil.game.Config.HUDConfigValues.ButtonSpacing;
 import static com.upseil.game.Config.HUDConfigValues.CounterSize;
 import static com.upseil.game.Config.HUDConfigValues.Padding;
 import static com.upseil.gdx.scene2d.util.Values.floatValue;
 
+import java.util.Arrays;
+
 import com.artemis.ComponentMapper;
 import com.artemis.World;
 import com.artemis.annotations.Wire;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input.Buttons;
 import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.graphics.Colors;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
-import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Button;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
@@ -33,10 +33,10 @@ import com.upseil.game.Config.HUDConfig;
 import com.upseil.game.Constants.Tag;
 import com.upseil.game.component.GameState;
 import com.upseil.game.domain.Color;
-import com.upseil.game.event.CellsAddedEvent;
-import com.upseil.game.event.CellsChangedEvent;
-import com.upseil.game.event.CellsRemovedEvent;
+import com.upseil.game.domain.MoveOutcome;
+import com.upseil.game.event.GridChangedEvent;
 import com.upseil.game.system.GridController;
+import com.upseil.game.util.TimerWheel;
 import com.upseil.gdx.artemis.system.EventSystem;
 import com.upseil.gdx.artemis.system.TagManager;
 import com.upseil.gdx.scene2d.SimpleKeyInputListener;
@@ -45,9 +45,11 @@ import com.upseil.gdx.scene2d.util.TextColor;
 import com.upseil.gdx.scene2d.util.ValueLabelBuilder;
 
 @Wire
-public class HUDStage extends Stage {
+public class HUDStage extends PostProcessedStage {
     
     private static final StringBuilder Text = new StringBuilder();
+    private static final float KeyPressDuration = 0.1f;
+    private static final float TimerTickDuration = 1 / 60f;
     
     private TagManager<Tag> tagManager;
     private GridController gridController;
@@ -58,16 +60,26 @@ public class HUDStage extends Stage {
     @Wire(name="UI") private I18NBundle hudMessages;
     private HUDConfig config;
     
+    private final CachedGroup layer;
     private final Table container;
     private final CellCountersWidth cellCountersWidth;
     private final Table header;
     private final Button[] buttons;
     private final float buttonRatio;
     private final float buttonSpacing;
+    private final TimerWheel<Button> timers;
+    
+    private final com.badlogic.gdx.graphics.Color[] textColors;
+    private final com.badlogic.gdx.graphics.Color[] emphasizedTextColors;
+    private final NumberLabel scoreLabel;
+    private final NumberLabel[] countLabels;
+    private final Label[] timesLabels;
     
     private GameState gameState;
     
     private boolean updateValueLabels;
+    private boolean updateScore;
+    private final boolean[] updateCellCounters;
     private boolean buttonsDisabled;
     
     public HUDStage(Viewport viewport, Batch batch, World world) {
@@ -78,14 +90,22 @@ public class HUDStage extends Stage {
         config = gameConfig.getHUDConfig();
         buttonRatio = config.getFloat(ButtonRatio);
         buttonSpacing = config.getFloat(ButtonSpacing);
+        timers = new TimerWheel<>(TimerTickDuration, KeyPressDuration, 4);
+        updateCellCounters = new boolean[Color.size()];
+        
+        textColors = new com.badlogic.gdx.graphics.Color[Color.size()];
+        emphasizedTextColors = new com.badlogic.gdx.graphics.Color[Color.size()];
+        for (int number = 0; number < Color.size(); number++) {
+            String colorName = Color.forNumber(number).getName();
+            textColors[number] = Colors.get(colorName);
+            emphasizedTextColors[number] = Colors.get(colorName + "-emphasize");
+        }
+        scoreLabel = new NumberLabel(skin, "big");
+        countLabels = new NumberLabel[Color.size()];
+        timesLabels = new Label[Color.size()];
         
         EventSystem eventSystem = world.getSystem(EventSystem.class);
-        eventSystem.registerHandler(CellsRemovedEvent.Type, event -> {
-            gameState.incrementScore(event.getCount());
-            setUpdateValueLabels(true);
-        });
-        eventSystem.registerHandler(CellsAddedEvent.Type, e -> setUpdateValueLabels(true));
-        eventSystem.registerHandler(CellsChangedEvent.Type, e -> setUpdateValueLabels(true));
+        eventSystem.registerHandler(GridChangedEvent.Type, this::onGridChanged);
         
         addListener(new KeyPressListener());
         
@@ -101,11 +121,11 @@ public class HUDStage extends Stage {
         container = new Table(skin);
         container.setFillParent(true);
         container.pad(config.getFloat(Padding));
-
+        
         container.add();
         container.add(header).fillX().bottom();
         container.add();
-
+        
         container.row();
         container.add(buttons[0]).size(floatValue(this::calculateButtonSize), floatValue(this::calculateButtonLength)).right().padRight(buttonSpacing);
         container.add();
@@ -116,7 +136,11 @@ public class HUDStage extends Stage {
         container.add(buttons[1]).size(floatValue(this::calculateButtonLength), floatValue(this::calculateButtonSize)).top().padTop(buttonSpacing);
         container.add();
         
-        addActor(container);
+        // The HUD only changes with the values and the buttons' states, so it's drawn from a cache in between
+        layer = new CachedGroup();
+        layer.setFillParent(true);
+        layer.addActor(container);
+        addActor(layer);
         updateValueLabels = true;
     }
     
@@ -135,46 +159,65 @@ public class HUDStage extends Stage {
     }
     
     private Table createHeader() {
-        Table scoreLabel = new Table(skin);
-        scoreLabel.add(hudMessages.get("score") + ":", "big").expandX().right().padRight(5);
-        scoreLabel.add(ValueLabelBuilder.newLabel(skin, "big").updateIf(this::updateValueLabels)
-                                                          .withValue(() -> text().append(gameState.getScore()).toString())
-                                        .build())
-                  .expandX().left();
+        Table scoreTable = new Table(skin);
+        scoreTable.add(hudMessages.get("score") + ":", "big").expandX().right().padRight(5);
+        scoreTable.add(scoreLabel).expandX().left();
         Table cellCounters = createCellCounters();
+        Label previewLabel = new Label(null, skin, "default");
+        previewLabel.setAlignment(Align.center);
         
         Table header = new Table(skin);
-        header.add(scoreLabel);
+        header.add(scoreTable);
         header.row();
         header.add(cellCounters).expandX().fillX();
+        header.row();
+        header.add(ValueLabelBuilder.decorate(previewLabel)
+                                    .updateIf(this::updateValueLabels)
+                                    .withValue(this::getPreviewText)
+                                .build())
+              .expandX().fillX().minHeight(previewLabel.getStyle().font.getLineHeight());
         return header;
     }
-
+    
+    private String getPreviewText() {
+        for (int number = 0; number < buttons.length; number++) {
+            Button button = buttons[number];
+            if (button.isOver() && !button.isDisabled()) {
+                MoveOutcome outcome = gridController.getMoveOutcome(Color.forNumber(number));
+                if (outcome == null) {
+                    break;
+                }
+                
+                StringBuilder text = text(getTextColor(number)).append('+').append(outcome.getRemovedCells());
+                if (outcome.isLost()) {
+                    text.append(' ').append(hudMessages.get("previewLost"));
+                }
+                return text.toString();
+            }
+        }
+        return "";
+    }
+    
     private Table createCellCounters() {
         float spacing = 5;
         float counterSize = config.getFloat(CounterSize);
         
         Table cellCounters = new Table(skin);
-        for (int n = 0; n < Color.size(); n++) {
-            final int number = n;
-            Label countLabel = new Label(null, skin, "default");
+        for (int number = 0; number < Color.size(); number++) {
+            NumberLabel countLabel = new NumberLabel(skin, "default");
             countLabel.setAlignment(Align.right);
-            cellCounters.add(ValueLabelBuilder.decorate(countLabel)
-                                              .updateIf(this::updateValueLabels)
-                                              .withValue(() -> text(getTextColor(number)).append(gridController.getColorCount(number)).toString())
-                                          .build())
-                        .expandX().right().minWidth(cellCountersWidth);
-            cellCounters.add(ValueLabelBuilder.newLabel(skin, "default")
-                                              .updateIf(this::updateValueLabels)
-                                              .withValue(() -> text(getTextColor(number)).append("x").toString())
-                                          .build())
-                        .padLeft(spacing).padRight(spacing);
+            countLabels[number] = countLabel;
+            cellCounters.add(countLabel).expandX().right().minWidth(cellCountersWidth);
+            
+            Label timesLabel = new Label("x", skin, "default");
+            timesLabels[number] = timesLabel;
+            cellCounters.add(timesLabel).padLeft(spacing).padRight(spacing);
             cellCounters.add(new Image(BackgroundBuilder.byColor(skin, Color.forNumber(number).getName()))).size(counterSize).expandX().left();
         }
         
         return cellCounters;
     }
-
+    
     private String getTextColor(int colorNumber) {
         Color color = Color.forNumber(colorNumber);
         StringBuilder colorName = text();
@@ -186,7 +229,12 @@ public class HUDStage extends Stage {
         }
         return colorName.toString();
     }
-
+    
+    private com.badlogic.gdx.graphics.Color getCounterColor(int colorNumber) {
+        Button button = buttons[colorNumber];
+        return button.isOver() && !button.isDisabled() ? emphasizedTextColors[colorNumber] : textColors[colorNumber];
+    }
+    
     private StringBuilder text() {
         Text.setLength(0);
         return Text;
@@ -195,18 +243,69 @@ public class HUDStage extends Stage {
     private StringBuilder text(String color) {
         return text().append(TextColor.byName(color).asMarkup());
     }
-
+    
     @Override
     public void act(float delta) {
         gameState = gameStateMapper.get(tagManager.getEntityId(Tag.GameState));
         cellCountersWidth.setExpectedColorCount(gridController.getExpectedColorCount());
+        timers.advance(delta);
+        if (updateValueLabels || updateScore || hasCellCounterUpdates()) {
+            updateNumberLabels();
+            layer.invalidateCache();
+        }
         super.act(delta);
         if (updateValueLabels) {
             updateButtonsDisabled();
         }
         updateValueLabels = false;
+        updateScore = false;
+        Arrays.fill(updateCellCounters, false);
     }
-
+    
+    private boolean hasCellCounterUpdates() {
+        for (boolean update : updateCellCounters) {
+            if (update) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private void updateNumberLabels() {
+        if (updateValueLabels || updateScore) {
+            scoreLabel.setValue(gameState.getScore());
+        }
+        for (int number = 0; number < countLabels.length; number++) {
+            if (updateValueLabels || updateCellCounters[number]) {
+                countLabels[number].setValue(gridController.getColorCount(number));
+            }
+            if (updateValueLabels) {
+                com.badlogic.gdx.graphics.Color color = getCounterColor(number);
+                countLabels[number].setTextColor(color);
+                timesLabels[number].setColor(color);
+            }
+        }
+    }
+    
+    private void onGridChanged(GridChangedEvent event) {
+        if (event.getRemovedCells() > 0) {
+            gameState.incrementScore(event.getRemovedCells());
+            updateScore = true;
+        }
+        if (event.isInvalidated()) {
+            setUpdateValueLabels(true);
+            return;
+        }
+        
+        // Only the counters and buttons of the colors whose count has changed need to be updated
+        for (int number = 0; number < updateCellCounters.length; number++) {
+            if (event.getCountDelta(number) != 0) {
+                updateCellCounters[number] = true;
+                updateButtonDisabled(number);
+            }
+        }
+    }
+    
     public void setButtonsDisabled(boolean buttonsDisabled) {
         this.buttonsDisabled = buttonsDisabled;
         updateButtonsDisabled();
@@ -214,14 +313,23 @@ public class HUDStage extends Stage {
     
     private void updateButtonsDisabled() {
         for (int index = 0; index < buttons.length; index++) {
-            buttons[index].setDisabled(buttonsDisabled || gridController.getColorCount(index) <= 0);
+            updateButtonDisabled(index);
         }
     }
-
+    
+    private void updateButtonDisabled(int index) {
+        Button button = buttons[index];
+        boolean disabled = buttonsDisabled || gridController.getColorCount(index) <= 0;
+        if (button.isDisabled() != disabled) {
+            button.setDisabled(disabled);
+            layer.invalidateCache();
+        }
+    }
+    
     private boolean updateValueLabels() {
         return updateValueLabels;
     }
-
+    
     public void setUpdateValueLabels(boolean updateValueLabels) {
         this.updateValueLabels = updateValueLabels;
     }
@@ -246,6 +354,12 @@ public class HUDStage extends Stage {
         return container.getRowHeight(container.getRows() - 1) + container.getPadBottom();
     }
     
+    @Override
+    public void dispose() {
+        super.dispose();
+        layer.dispose();
+    }
+    
     private class CellCountersWidth extends Value {
         
         private final Label dummy;
@@ -254,7 +368,7 @@ public class HUDStage extends Stage {
         public CellCountersWidth(String styleName) {
             dummy = new Label("00", skin, styleName);
         }
-
+        
         public void setExpectedColorCount(int expectedColorCount) {
             if (this.expectedColorCount != expectedColorCount) {
                 this.expectedColorCount = expectedColorCount;
@@ -266,7 +380,7 @@ public class HUDStage extends Stage {
                 dummy.setText(dummyText.toString());
             }
         }
-
+        
         @Override
         public float get(Actor context) {
             return dummy.getPrefWidth();
@@ -277,6 +391,7 @@ public class HUDStage extends Stage {
     private class KeyPressListener extends SimpleKeyInputListener {
         
         private final Vector2 position = new Vector2();
+        private final TimerWheel.Callback<Button> releaseButton = this::releaseButton;
         private Button armedButton;
         
         @Override
@@ -286,7 +401,7 @@ public class HUDStage extends Stage {
                 armedButton = null;
                 return true;
             }
-
+            
             boolean handled = false;
             switch (keyCode) {
             case Keys.LEFT:
@@ -302,7 +417,7 @@ public class HUDStage extends Stage {
                 break;
             }
             if (armedButton != null) {
-                updatePosition();
+                updatePosition(armedButton);
                 mouseMoved((int) position.x, (int) position.y);
                 handled = true;
             }
@@ -313,25 +428,26 @@ public class HUDStage extends Stage {
         public boolean keyUp(InputEvent event, int keyCode) {
             boolean handled = false;
             if (armedButton != null && isKeyCodeValid(keyCode)) {
-                updatePosition();
-                int screenX = (int) position.x;
-                int screenY = (int) position.y;
-                touchDown(screenX, screenY, 0, Buttons.LEFT);
-                addAction(delay(0.1f, run(() -> {
-                    touchUp(screenX, screenY, 0, Buttons.LEFT);
-                    mouseMoved(Gdx.input.getX(), Gdx.input.getY());
-                })));
+                updatePosition(armedButton);
+                touchDown((int) position.x, (int) position.y, 0, Buttons.LEFT);
+                timers.schedule(KeyPressDuration, releaseButton, armedButton);
                 armedButton = null;
                 handled = true;
             }
             return handled;
         }
-
-        private void updatePosition() {
-            position.set(armedButton.getWidth() / 2, armedButton.getHeight() / 2);
-            stageToScreenCoordinates(armedButton.localToStageCoordinates(position));
+        
+        private void releaseButton(Button button) {
+            updatePosition(button);
+            touchUp((int) position.x, (int) position.y, 0, Buttons.LEFT);
+            mouseMoved(Gdx.input.getX(), Gdx.input.getY());
         }
-
+        
+        private void updatePosition(Button button) {
+            position.set(button.getWidth() / 2, button.getHeight() / 2);
+            stageToScreenCoordinates(button.localToStageCoordinates(position));
+        }
+        
         private boolean isKeyCodeValid(int keyCode) {
             return keyCode == Keys.LEFT || keyCode == Keys.DOWN || keyCode == Keys.RIGHT;
         }
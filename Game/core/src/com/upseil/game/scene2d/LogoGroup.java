@@ -21,13 +21,11 @@ import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.scenes.scene2d.ui.Image;
-import com.badlogic.gdx.scenes.scene2d.ui.WidgetGroup;
-import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.upseil.game.Config.MenuConfig;
 import com.upseil.game.math.Swing2Out;
 
-public class LogoGroup extends WidgetGroup implements Disposable {
+public class LogoGroup extends CachedGroup {
     
     private final LogoGroup.AnimationStyle animationStyle;
     private final TextureAtlas atlas;
@@ -201,6 +199,7 @@ public class LogoGroup extends WidgetGroup implements Disposable {
 
     @Override
     public void dispose() {
+        super.dispose();
         atlas.dispose();
     }
     
@@ -1,12 +1,8 @@
 package com.upseil.game.scene2d;
 
 import static com.badlogic.gdx.scenes.scene2d.actions.Actions.action;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.delay;
 import static com.badlogic.gdx.scenes.scene2d.actions.Actions.fadeIn;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.parallel;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.repeat;
 import static com.badlogic.gdx.scenes.scene2d.actions.Actions.scaleTo;
-import static com.badlogic.gdx.scenes.scene2d.actions.Actions.sequence;
 import static com.upseil.game.Config.MenuConfigValues.CellMoveSpeed;
 import static com.upseil.game.Config.MenuConfigValues.CellSize;
 import static com.upseil.game.Config.MenuConfigValues.CellSpacing;
@@ -30,10 +26,7 @@ import java.util.function.Supplier;
 
 import com.artemis.World;
 import com.badlogic.gdx.math.Interpolation;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.scenes.scene2d.Action;
 import com.badlogic.gdx.scenes.scene2d.actions.Actions;
-import com.badlogic.gdx.scenes.scene2d.actions.SequenceAction;
 import com.upseil.game.Config.MenuConfig;
 import com.upseil.game.domain.Color;
 import com.upseil.game.domain.Direction;
@@ -43,12 +36,11 @@ import com.upseil.gdx.util.function.FloatConsumer;
 public class MenuGridBackground extends AbstractGrid {
 
     private static final int FindRandomCellTries = 25;
-    private static final Vector2 Vector = new Vector2();
     
     private final MenuGridBackgroundStyle style;
     
     private final FloatConsumer[] entrances;
-    private final Supplier<Action>[] actionSuppliers;
+    private final Supplier<CellEffectAction>[] actionSuppliers;
     
     private float entranceDuration;
     private float actionAccumulator;
@@ -101,7 +93,7 @@ public class MenuGridBackground extends AbstractGrid {
             for (int x = 0; x < getGridWidth(); x++) {
                 CellActor cell = getCell(x, y);
                 cell.moveBy(translateX, 0);
-                cell.addAction(Actions.delay(delay, Actions.moveBy(-translateX, 0, duration, Interpolation.linear)));
+                cell.addAction(action(CellMoveAction.class).initialize(-translateX, 0, duration, Interpolation.linear).setDelay(delay));
             }
         }
     }
@@ -157,10 +149,9 @@ public class MenuGridBackground extends AbstractGrid {
                 do {
                     newColor = Color.random(random);
                 } while (newColor == cell.getCellColor());
-                cell.addAction(delay(random.randomFloatExclusive(style.maxAdditionalActionDelay),
-                        parallel(actionSuppliers[random.randomIntExclusive(actionSuppliers.length)].get(),
-                                action(CellColorAction.class).initialize(newColor, style.actionDuration, Interpolation.fade))
-                        ));
+                CellEffectAction action = actionSuppliers[random.randomIntExclusive(actionSuppliers.length)].get();
+                action.setDelay(random.randomFloatExclusive(style.maxAdditionalActionDelay)).setCellColor(newColor);
+                cell.addAction(action);
             }
             newActions--;
         }
@@ -192,13 +183,13 @@ public class MenuGridBackground extends AbstractGrid {
                 cell = createCell(x, y, Color.random(random));
             }
             
-            Action action = Actions.moveBy(moveByX, moveByY, style.actionDuration, Interpolation.linear);
+            CellEffectAction action = action(CellMoveAction.class).initialize(moveByX, moveByY, style.actionDuration, Interpolation.linear);
             int newX = x + direction.getDeltaX();
             int newY = y + direction.getDeltaY();
             if (isInsideGrid(newX, newY)) {
                 setCell(newX, newY, cell);
             } else {
-                action = sequence(action, Actions.removeActor());
+                action.setRemoveActor(true);
             }
             cell.addAction(action);
             
@@ -207,37 +198,21 @@ public class MenuGridBackground extends AbstractGrid {
         }
     }
 
-    private Action createHideAction() {
-        float frameDuration = style.actionDuration / 3;
-        Interpolation interpolation = Interpolation.fade;
-        return sequence(scaleTo(0, 0, frameDuration, interpolation), delay(frameDuration), scaleTo(1, 1, frameDuration, interpolation));
+    private CellEffectAction createHideAction() {
+        return action(CellHideAction.class).initialize(style.actionDuration);
     }
 
-    private Action createShakeAction() {
-        float shakeDuration = style.actionDuration / style.shakesPerAction;
-        float frameDuration = shakeDuration / 4;
-        Interpolation interpolation = Interpolation.linear;
-        Action singleShake = sequence(Actions.rotateBy(-style.shakeRotation, frameDuration, interpolation),
-                                      Actions.rotateBy(2 * style.shakeRotation, frameDuration, interpolation),
-                                      Actions.rotateBy(-style.shakeRotation, frameDuration, interpolation));
-        return repeat(style.shakesPerAction, singleShake);
+    private CellEffectAction createShakeAction() {
+        // Every shake takes three quarters of its share of the duration and rests for the last quarter
+        return action(CellShakeAction.class).initialize(style.shakesPerAction, style.shakeRotation, style.actionDuration);
     }
 
-    private Action createRumbleAction() {
-        float rumbleDuration = style.actionDuration / style.rumblesPerAction;
-        float frameDuration = rumbleDuration / 2;
-        Interpolation interpolation = Interpolation.linear;
-        SequenceAction action = sequence();
-        for (int i = 0; i < style.rumblesPerAction; i++) {
-            Vector.set(style.rumbleDistance, 0).rotate(random.randomIntExclusive(360));
-            action.addAction(Actions.moveBy(Vector.x, Vector.y, frameDuration, interpolation));
-            action.addAction(Actions.moveBy(-Vector.x, -Vector.y, frameDuration, interpolation));
-        }
-        return action;
+    private CellEffectAction createRumbleAction() {
+        return action(CellRumbleAction.class).initialize(style.rumblesPerAction, style.rumbleDistance, style.actionDuration, random);
     }
     
-    private Action createSpinAction() {
-        return Actions.rotateBy(style.spinsPerAction * 360, style.actionDuration, Interpolation.swing);
+    private CellEffectAction createSpinAction() {
+        return action(CellSpinAction.class).initialize(style.spinsPerAction, style.actionDuration);
     }
     
     public static class MenuGridBackgroundStyle extends GridStyle {
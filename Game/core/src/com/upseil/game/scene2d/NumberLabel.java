@@ -0,0 +1,243 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.scenes.scene2d.ui.Widget;
+import com.badlogic.gdx.utils.Align;
+
+/**
+ * Shows a non-negative number without any strings or markup. The quads of the glyphs of all ten digits are laid out
+ * once by the font, the label only copies the quads of the digits that have changed to their position and tints them
+ * with its text color. It's drawn like a single line {@link com.badlogic.gdx.scenes.scene2d.ui.Label Label} with the
+ * same style, ignoring kerning.
+ */
+public class NumberLabel extends Widget {
+    
+    private static final int MaxDigits = 10;
+    private static final int QuadSize = 20;
+    
+    private final BitmapFont font;
+    private final Color fontColor;
+    private final float[][] digitQuads;
+    private final Texture[] digitTextures;
+    private final float[] digitAdvances;
+    
+    private final float[] vertices;
+    private final int[] digits;
+    private int digitCount;
+    private final float[] digitPositions;
+    private float textWidth;
+    private float layoutX;
+    private float layoutY;
+    
+    private final Color textColor;
+    private final Color tint;
+    private float packedColor;
+    private int alignment;
+    private int value;
+    
+    public NumberLabel(Skin skin, String styleName) {
+        this(skin.get(styleName, LabelStyle.class));
+    }
+    
+    public NumberLabel(LabelStyle style) {
+        font = style.font;
+        fontColor = style.fontColor == null ? new Color(Color.WHITE) : new Color(style.fontColor);
+        digitQuads = new float[10][];
+        digitTextures = new Texture[10];
+        digitAdvances = new float[10];
+        layoutDigits();
+        
+        vertices = new float[MaxDigits * QuadSize];
+        digits = new int[MaxDigits];
+        digitPositions = new float[MaxDigits];
+        textColor = new Color(Color.WHITE);
+        tint = new Color();
+        alignment = Align.left;
+        
+        value = -1;
+        setValue(0);
+        setSize(getPrefWidth(), getPrefHeight());
+    }
+    
+    private void layoutDigits() {
+        BitmapFontCache cache = new BitmapFontCache(font, font.usesIntegerPositions());
+        float scaleX = font.getData().scaleX;
+        for (int digit = 0; digit < 10; digit++) {
+            char character = (char) ('0' + digit);
+            Glyph glyph = font.getData().getGlyph(character);
+            if (glyph == null) {
+                throw new IllegalArgumentException("The font has no glyph for " + character);
+            }
+            
+            cache.setText(String.valueOf(character), 0, 0);
+            float[] quad = new float[QuadSize];
+            System.arraycopy(cache.getVertices(glyph.page), 0, quad, 0, QuadSize);
+            digitQuads[digit] = quad;
+            digitTextures[digit] = font.getRegion(glyph.page).getTexture();
+            digitAdvances[digit] = glyph.xadvance * scaleX;
+        }
+    }
+    
+    // Value --------------------------------------------------------------------------------------
+    
+    /**
+     * Shows the given value. Only the quads from the first digit that differs from the current value on are copied.
+     */
+    public void setValue(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only non-negative numbers can be shown, got " + value);
+        }
+        if (value == this.value) {
+            return;
+        }
+        this.value = value;
+        
+        int newDigitCount = 0;
+        for (int remaining = value; remaining > 0 || newDigitCount == 0; remaining /= 10) {
+            newDigitCount++;
+        }
+        
+        // The digits are stored from the most significant one, so a changed digit count moves all of them
+        int firstChanged = newDigitCount == digitCount ? -1 : 0;
+        int remaining = value;
+        for (int index = newDigitCount - 1; index >= 0; index--) {
+            int digit = remaining % 10;
+            remaining /= 10;
+            if (digits[index] != digit || firstChanged == 0) {
+                digits[index] = digit;
+                firstChanged = firstChanged < 0 ? index : Math.min(firstChanged, index);
+            }
+        }
+        
+        float previousWidth = textWidth;
+        digitCount = newDigitCount;
+        if (firstChanged >= 0) {
+            patchDigits(firstChanged);
+        }
+        if (textWidth != previousWidth) {
+            invalidateHierarchy();
+        }
+    }
+    
+    private void patchDigits(int firstChanged) {
+        float position = firstChanged == 0 ? 0 : digitPositions[firstChanged - 1] + digitAdvances[digits[firstChanged - 1]];
+        for (int index = firstChanged; index < digitCount; index++) {
+            digitPositions[index] = position;
+            float[] quad = digitQuads[digits[index]];
+            int offset = index * QuadSize;
+            for (int vertex = 0; vertex < QuadSize; vertex += 5) {
+                vertices[offset + vertex] = quad[vertex] + position + layoutX;
+                vertices[offset + vertex + 1] = quad[vertex + 1] + layoutY;
+                vertices[offset + vertex + 2] = packedColor;
+                vertices[offset + vertex + 3] = quad[vertex + 3];
+                vertices[offset + vertex + 4] = quad[vertex + 4];
+            }
+            position += digitAdvances[digits[index]];
+        }
+        textWidth = position;
+    }
+    
+    public int getValue() {
+        return value;
+    }
+    
+    // Appearance ---------------------------------------------------------------------------------
+    
+    /**
+     * Sets the color the glyphs are tinted with in addition to the font color of the style and the color of the
+     * actor. The color is copied.
+     */
+    public void setTextColor(Color color) {
+        textColor.set(color);
+    }
+    
+    /**
+     * @param alignment The {@link Align alignment} of the number inside of the label
+     */
+    public void setAlignment(int alignment) {
+        this.alignment = alignment;
+        invalidate();
+    }
+    
+    // Layout and Drawing -------------------------------------------------------------------------
+    
+    @Override
+    public void layout() {
+        float x = 0;
+        if ((alignment & Align.right) != 0) {
+            x = getWidth() - textWidth;
+        } else if ((alignment & Align.left) == 0) {
+            x = (getWidth() - textWidth) / 2;
+        }
+        
+        float capHeight = font.getCapHeight();
+        float y;
+        if ((alignment & Align.top) != 0) {
+            y = getHeight() + font.getDescent();
+        } else if ((alignment & Align.bottom) != 0) {
+            y = capHeight - font.getDescent();
+        } else {
+            y = (getHeight() - capHeight) / 2 + capHeight;
+        }
+        
+        if (font.usesIntegerPositions()) {
+            x = Math.round(x);
+            y = Math.round(y);
+        }
+        moveVertices(x - layoutX, y - layoutY);
+        layoutX = x;
+        layoutY = y;
+    }
+    
+    private void moveVertices(float deltaX, float deltaY) {
+        if (deltaX == 0 && deltaY == 0) {
+            return;
+        }
+        for (int offset = 0, end = digitCount * QuadSize; offset < end; offset += 5) {
+            vertices[offset] += deltaX;
+            vertices[offset + 1] += deltaY;
+        }
+    }
+    
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        validate();
+        
+        Color color = getColor();
+        tint.set(fontColor).mul(textColor).mul(color.r, color.g, color.b, color.a * parentAlpha);
+        float newPackedColor = tint.toFloatBits();
+        if (newPackedColor != packedColor) {
+            packedColor = newPackedColor;
+            for (int offset = 2, end = digitCount * QuadSize; offset < end; offset += 5) {
+                vertices[offset] = packedColor;
+            }
+        }
+        
+        // The vertices are relative to the label, the batch's transform can't be used without flushing it
+        float x = getX();
+        float y = getY();
+        moveVertices(x, y);
+        for (int index = 0; index < digitCount; index++) {
+            batch.draw(digitTextures[digits[index]], vertices, index * QuadSize, QuadSize);
+        }
+        moveVertices(-x, -y);
+    }
+    
+    @Override
+    public float getPrefWidth() {
+        return textWidth;
+    }
+    
+    @Override
+    public float getPrefHeight() {
+        return font.getCapHeight() - font.getDescent() * 2;
+    }
+    
+}
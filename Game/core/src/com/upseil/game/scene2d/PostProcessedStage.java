@@ -0,0 +1,42 @@
+package com.upseil.game.scene2d;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.upseil.game.graphics.PostProcessor;
+
+/**
+ * A stage whose layer is drawn through its own {@link PostProcessor}.
+ */
+public class PostProcessedStage extends Stage {
+    
+    private final PostProcessor postProcessor;
+    
+    public PostProcessedStage(Viewport viewport, Batch batch) {
+        super(viewport, batch);
+        postProcessor = new PostProcessor();
+    }
+    
+    @Override
+    public void draw() {
+        if (!getRoot().isVisible() || !postProcessor.isActive()) {
+            super.draw();
+            return;
+        }
+        
+        postProcessor.capture(getBatch(), getViewport());
+        super.draw();
+        postProcessor.render(getBatch(), getViewport());
+    }
+    
+    public PostProcessor getPostProcessor() {
+        return postProcessor;
+    }
+    
+    @Override
+    public void dispose() {
+        super.dispose();
+        postProcessor.dispose();
+    }
+    
+}
@@ -0,0 +1,77 @@
+package com.upseil.game.serialization;
+
+/**
+ * Reads the primitives written by a {@link BinaryWriter}.
+ */
+public class BinaryReader {
+
+    private final byte[] bytes;
+    private int position;
+
+    public BinaryReader(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte current = readByte();
+            value |= (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed variable length integer at " + (position - 1));
+    }
+
+    public int readInt() {
+        return (readByte() & 0xFF) << 24 | (readByte() & 0xFF) << 16 | (readByte() & 0xFF) << 8 | (readByte() & 0xFF);
+    }
+
+    public long readLong() {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public byte[] readBytes() {
+        int length = readVarInt();
+        if (length < 0 || length > bytes.length - position) {
+            throw new IllegalArgumentException("Invalid length " + length + " at " + position);
+        }
+        byte[] value = new byte[length];
+        System.arraycopy(bytes, position, value, 0, length);
+        position += length;
+        return value;
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        if (length < 0 || length > bytes.length - position) {
+            throw new IllegalArgumentException("Invalid length " + length + " at " + position);
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (int index = 0; index < length; index++) {
+            builder.append((char) readVarInt());
+        }
+        return builder.toString();
+    }
+
+    private byte readByte() {
+        if (position >= bytes.length) {
+            throw new IllegalArgumentException("Unexpected end of data at " + position);
+        }
+        return bytes[position++];
+    }
+
+    public boolean hasRemaining() {
+        return position < bytes.length;
+    }
+
+}
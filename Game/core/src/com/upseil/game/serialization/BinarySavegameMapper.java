@@ -0,0 +1,88 @@
+package com.upseil.game.serialization;
+
+import com.badlogic.gdx.utils.Base64Coder;
+import com.upseil.game.MetaData;
+import com.upseil.game.Savegame;
+import com.upseil.game.component.GameState;
+import com.upseil.game.domain.GridState;
+import com.upseil.gdx.serialization.Mapper;
+import com.upseil.gdx.serialization.Reader;
+
+/**
+ * Writes savegames in a compact binary format, encoded as Base64 to fit into string based storages. The data starts
+ * with the format number and the {@link MetaData#getVersion() version} of the game that wrote it, so that later
+ * versions can decide how to read the rest. Data that hasn't been written by this mapper is handed to the legacy
+ * reader, if there's one. The mapper is stateless and may be used by several threads.
+ */
+public class BinarySavegameMapper implements Mapper<Savegame> {
+    
+    private static final char Marker = '#';
+    private static final int Format = 1;
+    
+    private final Reader<Savegame> legacyReader;
+    
+    public BinarySavegameMapper() {
+        this(null);
+    }
+    
+    public BinarySavegameMapper(Reader<Savegame> legacyReader) {
+        this.legacyReader = legacyReader;
+    }
+    
+    @Override
+    public String write(Savegame savegame) {
+        BinaryWriter writer = new BinaryWriter(128);
+        writer.writeVarInt(Format);
+        
+        MetaData metaData = savegame.getMetaData();
+        writer.writeString(metaData.getVersion())
+              .writeLong(metaData.getTimestamp());
+        
+        writer.writeInt(savegame.getGameState().getScore());
+        
+        GridState gridState = savegame.getGridState();
+        writer.writeBoolean(gridState != null);
+        if (gridState != null) {
+            writer.writeVarInt(gridState.getSize())
+                  .writeBytes(gridState.getCells())
+                  .writeVarInt(gridState.getBorderColors())
+                  .writeLong(gridState.getRandomState0())
+                  .writeLong(gridState.getRandomState1());
+        }
+        
+        return Marker + new String(Base64Coder.encode(writer.toArray()));
+    }
+    
+    @Override
+    @SuppressWarnings("deprecation")
+    public Savegame read(String data) {
+        if (data.isEmpty() || data.charAt(0) != Marker) {
+            if (legacyReader == null) {
+                throw new IllegalArgumentException("The data hasn't been written by " + getClass().getSimpleName());
+            }
+            return legacyReader.read(data);
+        }
+        
+        BinaryReader reader = new BinaryReader(Base64Coder.decode(data.substring(1)));
+        int format = reader.readVarInt();
+        if (format != Format) {
+            throw new IllegalArgumentException("Unsupported savegame format " + format);
+        }
+        
+        MetaData metaData = new MetaData(reader.readString(), reader.readLong());
+        
+        GameState gameState = new GameState();
+        gameState.setScore(reader.readInt());
+        
+        GridState gridState = null;
+        if (reader.readBoolean()) {
+            int size = reader.readVarInt();
+            byte[] cells = reader.readBytes();
+            int borderColors = reader.readVarInt();
+            gridState = new GridState(size, cells, borderColors, reader.readLong(), reader.readLong());
+        }
+        
+        return new Savegame(metaData, gameState, gridState);
+    }
+    
+}
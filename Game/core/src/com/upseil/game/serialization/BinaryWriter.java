@@ -0,0 +1,78 @@
+package com.upseil.game.serialization;
+
+import com.badlogic.gdx.utils.ByteArray;
+
+/**
+ * Writes primitives into a growing byte array. Integers are written either as variable length integers (7 bits per
+ * byte, lowest bits first) or with a fixed width in big endian order.
+ */
+public class BinaryWriter {
+
+    private final ByteArray bytes;
+
+    public BinaryWriter(int capacity) {
+        bytes = new ByteArray(capacity);
+    }
+
+    public BinaryWriter writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            bytes.add((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        bytes.add((byte) value);
+        return this;
+    }
+
+    public BinaryWriter writeInt(int value) {
+        bytes.add((byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value);
+        return this;
+    }
+
+    public BinaryWriter writeLong(long value) {
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+        return this;
+    }
+
+    public BinaryWriter writeFloat(float value) {
+        return writeInt(Float.floatToIntBits(value));
+    }
+
+    public BinaryWriter writeBoolean(boolean value) {
+        bytes.add((byte) (value ? 1 : 0));
+        return this;
+    }
+
+    /**
+     * Writes the length followed by the bytes.
+     */
+    public BinaryWriter writeBytes(byte[] value) {
+        writeVarInt(value.length);
+        bytes.addAll(value);
+        return this;
+    }
+
+    /**
+     * Writes the length followed by every character as a variable length integer.
+     */
+    public BinaryWriter writeString(String value) {
+        writeVarInt(value.length());
+        for (int index = 0; index < value.length(); index++) {
+            writeVarInt(value.charAt(index));
+        }
+        return this;
+    }
+
+    public void clear() {
+        bytes.clear();
+    }
+
+    public int size() {
+        return bytes.size;
+    }
+
+    public byte[] toArray() {
+        return bytes.toArray();
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.upseil.game.serialization;
+
+import com.upseil.game.Savegame;
+
+/**
+ * Stores savegames outside of the world tick. Implementations may encode and write the savegame at any later time, so
+ * it must not be modified after it has been handed over.
+ */
+public interface SavegameStore {
+    
+    void store(String storeName, String slot, Savegame savegame, Callback callback);
+    
+    /**
+     * Waits for all pending savegames to be written.
+     */
+    void dispose();
+    
+    public interface Callback {
+        
+        /**
+         * Called once the savegame has been written or writing it failed, possibly on another thread than the game
+         * thread. Isn't called for savegames that have been replaced by newer ones before they've been written.
+         */
+        void onStored(String slot, boolean successful);
+        
+    }
+    
+}
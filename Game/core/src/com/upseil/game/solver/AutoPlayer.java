@@ -0,0 +1,55 @@
+package com.upseil.game.solver;
+
+import java.util.concurrent.ForkJoinPool;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.Grid.GridTiming;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.domain.Replay;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * Plays whole games by making the first move of the {@link Solver}'s solution every turn. The games are recorded as
+ * {@link Replay replays}, one second per turn.
+ * <p>
+ * This class isn't available on GWT.
+ */
+public class AutoPlayer {
+    
+    private final int size;
+    private final GridTiming timing;
+    private final float exclusionAreaSize;
+    private final Solver solver;
+    
+    /**
+     * @param depth The number of turns to look ahead
+     * @param pool The pool the solver searches in, use a sequential solver if several games are played in parallel
+     */
+    public AutoPlayer(int size, GridTiming timing, float exclusionAreaSize, int depth, long timeBudgetMillis, int parallelDepth, ForkJoinPool pool) {
+        this.size = size;
+        this.timing = timing;
+        this.exclusionAreaSize = exclusionAreaSize;
+        solver = new Solver(size, timing, depth, timeBudgetMillis, parallelDepth, size * size, pool);
+    }
+    
+    /**
+     * Plays the game starting with the given random state until it's lost or the maximal number of turns is reached.
+     */
+    public Replay play(long seed0, long seed1, int maxTurns) {
+        ExtendedRandomXS128 random = new ExtendedRandomXS128(seed0, seed1);
+        Grid grid = new Grid(size, timing, random);
+        Replay replay = new Replay();
+        replay.start(size, exclusionAreaSize, seed0, seed1);
+        grid.initialize(exclusionAreaSize);
+        
+        for (int turn = 1; turn <= maxTurns && !grid.isLost(); turn++) {
+            Solution solution = solver.solve(GridState.of(grid, random.getState(0), random.getState(1)));
+            Color move = solution.getFirstMove();
+            replay.record(turn, move);
+            grid.resolveTurn(move);
+        }
+        return replay;
+    }
+    
+}
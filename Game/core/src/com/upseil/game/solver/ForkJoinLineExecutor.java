@@ -0,0 +1,74 @@
+package com.upseil.game.solver;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.Grid.LineExecutor;
+import com.upseil.game.domain.Grid.LineTask;
+
+/**
+ * Processes the lines of a {@link Grid} in stripes on a fork join pool. Grids with fewer lines than twice the minimal
+ * stripe size are processed on the calling thread.
+ * <p>
+ * This class isn't available on GWT.
+ */
+public class ForkJoinLineExecutor implements LineExecutor {
+    
+    private final ForkJoinPool pool;
+    private final int minLinesPerStripe;
+    
+    public ForkJoinLineExecutor(int minLinesPerStripe) {
+        this(ForkJoinPool.commonPool(), minLinesPerStripe);
+    }
+    
+    public ForkJoinLineExecutor(ForkJoinPool pool, int minLinesPerStripe) {
+        if (minLinesPerStripe < 1) {
+            throw new IllegalArgumentException("A stripe needs at least one line, got " + minLinesPerStripe);
+        }
+        this.pool = pool;
+        this.minLinesPerStripe = minLinesPerStripe;
+    }
+    
+    @Override
+    public void execute(int lineCount, LineTask task) {
+        if (lineCount < 2 * minLinesPerStripe || pool.getParallelism() <= 1) {
+            task.process(0, lineCount);
+            return;
+        }
+        
+        // A few stripes per thread to balance lines with different amounts of work
+        int stripes = Math.min(pool.getParallelism() * 4, lineCount / minLinesPerStripe);
+        pool.invoke(new StripeAction(task, 0, lineCount, (lineCount + stripes - 1) / stripes));
+    }
+    
+    private static class StripeAction extends RecursiveAction {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final LineTask task;
+        private final int fromLine;
+        private final int toLine;
+        private final int stripeSize;
+        
+        StripeAction(LineTask task, int fromLine, int toLine, int stripeSize) {
+            this.task = task;
+            this.fromLine = fromLine;
+            this.toLine = toLine;
+            this.stripeSize = stripeSize;
+        }
+        
+        @Override
+        protected void compute() {
+            if (toLine - fromLine <= stripeSize) {
+                task.process(fromLine, toLine);
+                return;
+            }
+            
+            int middle = fromLine + (toLine - fromLine) / 2;
+            invokeAll(new StripeAction(task, fromLine, middle, stripeSize), new StripeAction(task, middle, toLine, stripeSize));
+        }
+        
+    }
+    
+}
@@ -0,0 +1,66 @@
+package com.upseil.game.solver;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.Grid.GridTiming;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.domain.GridStep;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * A grid together with the random number generator it draws from, so that copying a node copies the whole future of
+ * the game.
+ */
+class SearchNode {
+    
+    final ExtendedRandomXS128 random;
+    final Grid grid;
+    private final ZobristHash zobrist;
+    long cellHash;
+    
+    SearchNode(int size, GridTiming timing, ZobristHash zobrist) {
+        random = new ExtendedRandomXS128();
+        grid = new Grid(size, timing, random);
+        this.zobrist = zobrist;
+    }
+    
+    void set(SearchNode other) {
+        grid.set(other.grid);
+        random.setState(other.random.getState(0), other.random.getState(1));
+        cellHash = other.cellHash;
+    }
+    
+    void set(GridState state) {
+        grid.restore(state);
+        random.setState(state.getRandomState0(), state.getRandomState1());
+        cellHash = zobrist.hashCells(grid);
+    }
+    
+    /**
+     * Resolves the turn like {@link Grid#resolveTurn(Color)} and updates the hash of the cells with the changes of
+     * every step.
+     *
+     * @return The number of removed cells
+     */
+    int resolveTurn(Color color) {
+        int removedCells = update(grid.removeCells(color));
+        update(grid.fill(Grid.getFillDirection(color)));
+        if (!grid.isLost()) {
+            removedCells += update(grid.teleport());
+        }
+        if (!grid.isLost()) {
+            grid.randomizeBorderColors();
+        }
+        return removedCells;
+    }
+    
+    private int update(GridStep step) {
+        cellHash = zobrist.updateCells(cellHash, grid, step);
+        return step.getRemovalCount();
+    }
+    
+    long hash() {
+        return zobrist.hash(this);
+    }
+    
+}
@@ -0,0 +1,71 @@
+package com.upseil.game.solver;
+
+import java.util.Arrays;
+
+import com.upseil.game.domain.Color;
+
+/**
+ * The best line of play found by the {@link Solver}.
+ */
+public class Solution {
+    
+    private final Color[] moves;
+    private final int score;
+    private final boolean lost;
+    private final int depth;
+    private final long nodes;
+    
+    Solution(Color[] moves, int score, boolean lost, int depth, long nodes) {
+        this.moves = moves;
+        this.score = score;
+        this.lost = lost;
+        this.depth = depth;
+        this.nodes = nodes;
+    }
+    
+    /**
+     * @return The colors to remove, starting with the next turn. Empty if the game is already lost.
+     */
+    public Color[] getMoves() {
+        return moves;
+    }
+    
+    public Color getFirstMove() {
+        return moves.length > 0 ? moves[0] : null;
+    }
+    
+    /**
+     * @return The number of cells removed by playing all moves. Since the random state is part of the board, the
+     *         outcome of every move is known exactly and the score is the one that will be reached.
+     */
+    public int getScore() {
+        return score;
+    }
+    
+    /**
+     * @return If the last move loses the game
+     */
+    public boolean isLost() {
+        return lost;
+    }
+    
+    /**
+     * @return The depth of the last completed search iteration
+     */
+    public int getDepth() {
+        return depth;
+    }
+    
+    /**
+     * @return The number of searched nodes over all iterations
+     */
+    public long getNodes() {
+        return nodes;
+    }
+    
+    @Override
+    public String toString() {
+        return "Solution[score " + score + (lost ? ", lost" : "") + ", depth " + depth + ", " + nodes + " nodes: " + Arrays.toString(moves) + "]";
+    }
+    
+}
@@ -0,0 +1,299 @@
+package com.upseil.game.solver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Grid.GridTiming;
+import com.upseil.game.domain.GridState;
+
+/**
+ * Searches the best sequence of color choices for a board. The board includes the state of the random number
+ * generator, so every choice has exactly one outcome and the search tree has a branching factor of
+ * {@link Color#size()}. A line is valued by the number of cells it removes minus the loss penalty if it loses the game.
+ * <p>
+ * The search deepens iteratively until the maximal depth or the time budget is reached, the result of the last
+ * completed iteration is returned. The top plies are searched in parallel by a fork join pool, the remaining plies
+ * sequentially. Both work on nodes that are reused by every iteration. Values of searched nodes are shared by all threads through a transposition table.
+ * <p>
+ * This class isn't available on GWT.
+ */
+public class Solver {
+    
+    private static final int TableSizeExponent = 20;
+    private static final int TimeCheckInterval = 1024;
+    
+    private final int size;
+    private final GridTiming timing;
+    private final int maxDepth;
+    private final long timeBudgetNanos;
+    private final int parallelDepth;
+    private final int lossPenalty;
+    private final ForkJoinPool pool;
+    
+    private final ZobristHash zobrist;
+    private final TranspositionTable table;
+    private final ThreadLocal<SearchContext> contexts;
+    private final SearchNode root;
+    private final SearchNode solutionNode;
+    /** The children of the parallel plies, one array per ply with the children of all its nodes in move order */
+    private final SearchNode[][] parallelNodes;
+    
+    private final AtomicLong nodes;
+    private volatile long deadline;
+    private volatile boolean aborted;
+    
+    /**
+     * @param maxDepth The maximal number of turns to look ahead, at most 255
+     * @param timeBudgetMillis The time after which the search is stopped, 0 for no limit
+     */
+    public Solver(int size, GridTiming timing, int maxDepth, long timeBudgetMillis) {
+        this(size, timing, maxDepth, timeBudgetMillis, 2, size * size, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * @param parallelDepth The number of plies that are searched in parallel, 0 for a sequential search
+     * @param lossPenalty Subtracted from the value of a line that loses the game
+     */
+    public Solver(int size, GridTiming timing, int maxDepth, long timeBudgetMillis, int parallelDepth, int lossPenalty, ForkJoinPool pool) {
+        if (maxDepth < 1 || maxDepth > 255) {
+            throw new IllegalArgumentException("The maximal depth must be between 1 and 255, got " + maxDepth);
+        }
+        this.size = size;
+        this.timing = timing;
+        this.maxDepth = maxDepth;
+        this.timeBudgetNanos = timeBudgetMillis * 1000000;
+        this.parallelDepth = parallelDepth;
+        this.lossPenalty = lossPenalty;
+        this.pool = pool;
+        
+        zobrist = new ZobristHash(size, 0x7C7B);
+        table = new TranspositionTable(TableSizeExponent);
+        contexts = ThreadLocal.withInitial(() -> new SearchContext(maxDepth + 1));
+        root = new SearchNode(size, timing, zobrist);
+        solutionNode = new SearchNode(size, timing, zobrist);
+        parallelNodes = new SearchNode[Math.min(parallelDepth, maxDepth)][];
+        for (int ply = 0, count = Color.size(); ply < parallelNodes.length; ply++, count *= Color.size()) {
+            parallelNodes[ply] = new SearchNode[count];
+        }
+        nodes = new AtomicLong();
+    }
+    
+    // Search -------------------------------------------------------------------------------------
+    
+    /**
+     * Searches the best moves for the given board. Not thread safe, use one solver per thread if several boards need
+     * to be solved at once.
+     */
+    public Solution solve(GridState state) {
+        root.set(state);
+        if (root.grid.isLost()) {
+            return new Solution(new Color[0], 0, true, 0, 0);
+        }
+        
+        // The value of a node only depends on its state and depth, so entries of previous searches stay valid
+        nodes.set(0);
+        aborted = false;
+        deadline = timeBudgetNanos > 0 ? System.nanoTime() + timeBudgetNanos : Long.MAX_VALUE;
+        
+        int completedDepth = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            pool.invoke(new SearchTask(root, depth, 0, 0));
+            if (aborted) {
+                break;
+            }
+            completedDepth = depth;
+        }
+        
+        // Extracting the solution may need to search again and mustn't be aborted
+        aborted = false;
+        deadline = Long.MAX_VALUE;
+        if (completedDepth == 0) {
+            // Not even a single ply fitted into the time budget, the best immediate move is always affordable
+            pool.invoke(new SearchTask(root, 1, 0, 0));
+            completedDepth = 1;
+        }
+        return extractSolution(root, completedDepth);
+    }
+    
+    private int search(SearchContext context, int level, int depth) {
+        SearchNode node = context.nodes[level];
+        long hash = node.hash();
+        long entry = table.probe(hash);
+        if (entry != 0 && TranspositionTable.getDepth(entry) == depth) {
+            return TranspositionTable.getValue(entry);
+        }
+        if (countNode()) {
+            return 0;
+        }
+        
+        SearchNode child = context.nodes[level + 1];
+        int bestValue = Integer.MIN_VALUE;
+        int bestMove = 0;
+        for (int move = 0; move < Color.size(); move++) {
+            child.set(node);
+            int value = child.resolveTurn(Color.forNumber(move));
+            if (child.grid.isLost()) {
+                value -= lossPenalty;
+            } else if (depth > 1) {
+                value += search(context, level + 1, depth - 1);
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = move;
+            }
+        }
+        
+        if (!aborted) {
+            table.store(hash, depth, bestValue, bestMove);
+        }
+        return bestValue;
+    }
+    
+    /**
+     * @return If the search has to be aborted
+     */
+    private boolean countNode() {
+        long count = nodes.incrementAndGet();
+        if (count % TimeCheckInterval == 0 && System.nanoTime() > deadline) {
+            aborted = true;
+        }
+        return aborted;
+    }
+    
+    private class SearchTask extends RecursiveTask<Integer> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final SearchNode node;
+        private final int depth;
+        private final int ply;
+        private final int index;
+        
+        /**
+         * @param index The index of the node among all nodes of its ply
+         */
+        public SearchTask(SearchNode node, int depth, int ply, int index) {
+            this.node = node;
+            this.depth = depth;
+            this.ply = ply;
+            this.index = index;
+        }
+        
+        @Override
+        protected Integer compute() {
+            if (ply >= parallelDepth || depth == 1) {
+                SearchContext context = contexts.get();
+                context.nodes[0].set(node);
+                return search(context, 0, depth);
+            }
+            
+            long hash = node.hash();
+            long entry = table.probe(hash);
+            if (entry != 0 && TranspositionTable.getDepth(entry) == depth) {
+                return TranspositionTable.getValue(entry);
+            }
+            if (countNode()) {
+                return 0;
+            }
+            
+            int[] values = new int[Color.size()];
+            List<SearchTask> tasks = new ArrayList<>(Color.size());
+            for (int move = 0; move < Color.size(); move++) {
+                int childIndex = index * Color.size() + move;
+                SearchNode child = getParallelNode(ply, childIndex);
+                child.set(node);
+                values[move] = child.resolveTurn(Color.forNumber(move));
+                if (child.grid.isLost()) {
+                    values[move] -= lossPenalty;
+                    tasks.add(null);
+                } else {
+                    tasks.add(new SearchTask(child, depth - 1, ply + 1, childIndex));
+                }
+            }
+            for (SearchTask task : tasks) {
+                if (task != null) {
+                    task.fork();
+                }
+            }
+            
+            int bestValue = Integer.MIN_VALUE;
+            int bestMove = 0;
+            for (int move = 0; move < Color.size(); move++) {
+                SearchTask task = tasks.get(move);
+                if (task != null) {
+                    values[move] += task.join();
+                }
+                if (values[move] > bestValue) {
+                    bestValue = values[move];
+                    bestMove = move;
+                }
+            }
+            
+            if (!aborted) {
+                table.store(hash, depth, bestValue, bestMove);
+            }
+            return bestValue;
+        }
+        
+    }
+    
+    /**
+     * Every node of a ply is only used by the task of its parent, so no two tasks of an iteration share a node.
+     */
+    private SearchNode getParallelNode(int ply, int index) {
+        SearchNode node = parallelNodes[ply][index];
+        if (node == null) {
+            node = new SearchNode(size, timing, zobrist);
+            parallelNodes[ply][index] = node;
+        }
+        return node;
+    }
+    
+    // Solution -----------------------------------------------------------------------------------
+    
+    /**
+     * Follows the best moves stored in the table. Entries that have been replaced in the meantime are searched again.
+     */
+    private Solution extractSolution(SearchNode root, int depth) {
+        SearchContext context = contexts.get();
+        SearchNode node = solutionNode;
+        node.set(root);
+        
+        Color[] moves = new Color[depth];
+        int moveCount = 0;
+        int score = 0;
+        for (int remaining = depth; remaining > 0 && !node.grid.isLost(); remaining--) {
+            long entry = table.probe(node.hash());
+            if (entry == 0 || TranspositionTable.getDepth(entry) != remaining) {
+                context.nodes[0].set(node);
+                search(context, 0, remaining);
+                entry = table.probe(node.hash());
+            }
+            Color move = Color.forNumber(TranspositionTable.getMove(entry));
+            moves[moveCount++] = move;
+            score += node.resolveTurn(move);
+        }
+        
+        Color[] line = new Color[moveCount];
+        System.arraycopy(moves, 0, line, 0, moveCount);
+        return new Solution(line, score, node.grid.isLost(), depth, nodes.get());
+    }
+    
+    private class SearchContext {
+        
+        private final SearchNode[] nodes;
+        
+        public SearchContext(int levels) {
+            nodes = new SearchNode[levels + 1];
+            for (int level = 0; level < nodes.length; level++) {
+                nodes[level] = new SearchNode(size, timing, zobrist);
+            }
+        }
+        
+    }
+    
+}
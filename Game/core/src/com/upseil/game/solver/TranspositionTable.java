@@ -0,0 +1,56 @@
+package com.upseil.game.solver;
+
+/**
+ * A fixed size hash table that may be shared by several threads without locking. Every entry is stored as the key
+ * xor'ed with its data, so that an entry torn by concurrent writes fails the key check instead of returning wrong data.
+ * Newer entries always replace older ones.
+ */
+class TranspositionTable {
+    
+    private static final int ValueBits = 32;
+    private static final int DepthBits = 8;
+    private static final long DepthMask = (1L << DepthBits) - 1;
+    private static final long MoveMask = 3;
+    
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    
+    /**
+     * @param sizeExponent The table has 2^sizeExponent entries
+     */
+    TranspositionTable(int sizeExponent) {
+        keys = new long[1 << sizeExponent];
+        data = new long[1 << sizeExponent];
+        mask = (1 << sizeExponent) - 1;
+    }
+    
+    void store(long hash, int depth, int value, int move) {
+        long entry = (value & 0xFFFFFFFFL) | ((depth & DepthMask) << ValueBits) | ((move & MoveMask) << (ValueBits + DepthBits));
+        int index = (int) hash & mask;
+        keys[index] = hash ^ entry;
+        data[index] = entry;
+    }
+    
+    /**
+     * @return The entry of the given hash or 0 if there's none
+     */
+    long probe(long hash) {
+        int index = (int) hash & mask;
+        long entry = data[index];
+        return (keys[index] ^ entry) == hash ? entry : 0;
+    }
+    
+    static int getValue(long entry) {
+        return (int) entry;
+    }
+    
+    static int getDepth(long entry) {
+        return (int) ((entry >>> ValueBits) & DepthMask);
+    }
+    
+    static int getMove(long entry) {
+        return (int) ((entry >>> (ValueBits + DepthBits)) & MoveMask);
+    }
+    
+}
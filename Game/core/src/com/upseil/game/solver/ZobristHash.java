@@ -0,0 +1,94 @@
+package com.upseil.game.solver;
+
+import com.upseil.game.domain.Cell;
+import com.upseil.game.domain.CellChange;
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Direction;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.GridStep;
+
+/**
+ * Hashes a search node by combining random keys for every cell color at every position, for every border color and for
+ * the state of the random number generator. The part of the cells is kept by the node and updated with the changes of
+ * every step, the borders and the random state are combined on every call.
+ */
+class ZobristHash {
+    
+    private static final int ColorCount = Color.values().length;
+    
+    private final int size;
+    private final long[] cellKeys;
+    private final long[] borderKeys;
+    
+    ZobristHash(int size, long seed) {
+        this.size = size;
+        cellKeys = new long[size * size * ColorCount];
+        borderKeys = new long[Direction.all().length * ColorCount];
+        
+        long state = seed;
+        for (int index = 0; index < cellKeys.length; index++) {
+            state += 0x9E3779B97F4A7C15L;
+            cellKeys[index] = mix(state);
+        }
+        for (int index = 0; index < borderKeys.length; index++) {
+            state += 0x9E3779B97F4A7C15L;
+            borderKeys[index] = mix(state);
+        }
+    }
+    
+    long hash(SearchNode node) {
+        Grid grid = node.grid;
+        long hash = node.cellHash;
+        Direction[] directions = Direction.all();
+        for (int index = 0; index < directions.length; index++) {
+            hash ^= borderKeys[index * ColorCount + grid.getBorderColor(directions[index]).ordinal()];
+        }
+        
+        hash ^= mix(node.random.getState(0));
+        hash ^= mix(node.random.getState(1) ^ 0x5DEECE66DL);
+        return hash;
+    }
+    
+    long hashCells(Grid grid) {
+        long hash = 0;
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                Cell cell = grid.getCell(x, y);
+                if (cell != null) {
+                    hash ^= getCellKey(x, y, cell.getColor());
+                }
+            }
+        }
+        return hash;
+    }
+    
+    /**
+     * @return The given hash of the cells before the step updated to the cells after it
+     */
+    long updateCells(long hash, Grid grid, GridStep step) {
+        for (CellChange change : step.getChanges()) {
+            // Spawns come from and exits go to positions outside of the grid
+            if (grid.isInsideGrid(change.getFromX(), change.getFromY())) {
+                hash ^= getCellKey(change.getFromX(), change.getFromY(), change.getColor());
+            }
+            if (change.getType() != CellChange.Type.Removal && grid.isInsideGrid(change.getToX(), change.getToY())) {
+                hash ^= getCellKey(change.getToX(), change.getToY(), change.getColor());
+            }
+        }
+        return hash;
+    }
+    
+    private long getCellKey(int x, int y, Color color) {
+        return cellKeys[(x * size + y) * ColorCount + color.ordinal()];
+    }
+    
+    /**
+     * The finalizer of SplitMix64.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+    
+}
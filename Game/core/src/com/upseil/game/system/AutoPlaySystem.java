@@ -0,0 +1,126 @@
+package com.upseil.game.system;
+
+import com.artemis.BaseSystem;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.upseil.game.Constants.Tag;
+import com.upseil.game.domain.Color;
+import com.upseil.gdx.artemis.system.ScreenManager;
+import com.upseil.gdx.artemis.system.TagManager;
+import com.upseil.gdx.math.ExtendedRandom;
+
+/**
+ * Plays the game instead of the user: switches to the game screen, removes the color chosen by its {@link Player}
+ * whenever the grid awaits a choice and starts a new game as soon as one is lost. Logs its progress every 100 turns
+ * and can exit the application after a given number of turns.
+ */
+public class AutoPlaySystem extends BaseSystem {
+    
+    private static final String LogTag = "AutoPlay";
+    private static final int LogInterval = 100;
+    
+    private TagManager<Tag> tagManager;
+    private ScreenManager screenManager;
+    private GridController gridController;
+    
+    private final Player player;
+    private final int maxTurns;
+    
+    private boolean started;
+    private int turns;
+    private int lostGames;
+    private long startTime;
+    
+    /**
+     * @param maxTurns The number of turns after which the application exits or 0 to play forever
+     */
+    public AutoPlaySystem(Player player, int maxTurns) {
+        this.player = player;
+        this.maxTurns = maxTurns;
+    }
+    
+    @Override
+    protected void processSystem() {
+        if (!started) {
+            screenManager.setScreen(tagManager.getEntityId(Tag.GameScreen));
+            startTime = TimeUtils.millis();
+            started = true;
+            return;
+        }
+        
+        if (gridController.isLost()) {
+            gridController.newGame();
+            lostGames++;
+        } else if (gridController.isAwaitingChoice()) {
+            if (maxTurns > 0 && turns >= maxTurns) {
+                Gdx.app.exit();
+                return;
+            }
+            
+            gridController.remove(player.choose(gridController));
+            turns++;
+            if (turns % LogInterval == 0) {
+                Gdx.app.log(LogTag, turns + " turns, " + lostGames + " lost games, " + TimeUtils.timeSinceMillis(startTime) +
+                                    " ms, " + (Gdx.app.getJavaHeap() >> 20) + " MB heap");
+            }
+        }
+    }
+    
+    public int getTurns() {
+        return turns;
+    }
+    
+    public int getLostGames() {
+        return lostGames;
+    }
+    
+    /**
+     * Chooses the color to remove in the current turn.
+     */
+    public interface Player {
+        
+        Color choose(GridController gridController);
+        
+    }
+    
+    /**
+     * @return A player that chooses one of the colors that are on the grid at random
+     */
+    public static Player randomPlayer(ExtendedRandom random) {
+        return gridController -> {
+            int available = 0;
+            for (int number = 0; number < Color.size(); number++) {
+                if (gridController.getColorCount(number) > 0) {
+                    available++;
+                }
+            }
+            if (available == 0) {
+                return Color.random(random);
+            }
+            
+            int choice = random.randomIntExclusive(available);
+            for (int number = 0; number < Color.size(); number++) {
+                if (gridController.getColorCount(number) > 0 && choice-- == 0) {
+                    return Color.forNumber(number);
+                }
+            }
+            throw new IllegalStateException("No color has been chosen");
+        };
+    }
+    
+    /**
+     * @return A player that chooses the given colors in order and starts over after the last one
+     */
+    public static Player scriptedPlayer(Color... colors) {
+        if (colors.length == 0) {
+            throw new IllegalArgumentException("At least one color is required");
+        }
+        int[] next = { 0 };
+        return gridController -> {
+            Color color = colors[next[0]];
+            next[0] = (next[0] + 1) % colors.length;
+            return color;
+        };
+    }
+    
+}
@@ -0,0 +1,70 @@
+package com.upseil.game.system;
+
+import com.artemis.BaseSystem;
+import com.upseil.game.util.MpscQueue;
+import com.upseil.gdx.artemis.system.EventSystem;
+import com.upseil.gdx.event.AbstractEvent;
+
+/**
+ * Lets other threads send events to the {@link EventSystem}. Posted events are collected in a lock-free queue and
+ * scheduled on the game thread when this system is processed, right before the event system, so they are handled in
+ * the same tick. Posting neither allocates nor blocks.
+ * <p>
+ * The event pools must only be used on the game thread, so other threads post a {@link QueuedEvent} that obtains the
+ * actual event once it's drained. Nothing is taken from a pool for notifications that are dropped or never posted.
+ */
+public class EventQueueSystem extends BaseSystem {
+    
+    private static final int DefaultCapacity = 256;
+    
+    private EventSystem eventSystem;
+    
+    private final MpscQueue<QueuedEvent> queue;
+    
+    public EventQueueSystem() {
+        this(DefaultCapacity);
+    }
+    
+    public EventQueueSystem(int capacity) {
+        queue = new MpscQueue<>(capacity);
+    }
+    
+    /**
+     * Schedules the event in the next tick, may be called from any thread. The queued event may be posted again as
+     * soon as its {@link QueuedEvent#obtain()} has been called, so producers can reuse a single instance.
+     * 
+     * @return False if the queue is full and the event has been dropped
+     */
+    public boolean post(QueuedEvent event) {
+        return queue.offer(event);
+    }
+    
+    @Override
+    protected boolean checkProcessing() {
+        return !queue.isEmpty();
+    }
+    
+    @Override
+    protected void processSystem() {
+        // Events that are posted while draining wait for the next tick, so busy producers can't stall the game thread
+        for (int count = queue.size(); count > 0; count--) {
+            QueuedEvent event = queue.poll();
+            if (event == null) {
+                break;
+            }
+            eventSystem.schedule(event.obtain());
+        }
+    }
+    
+    public interface QueuedEvent {
+        
+        /**
+         * Called on the game thread when the event is scheduled.
+         * 
+         * @return The event to schedule, usually obtained from its pool
+         */
+        AbstractEvent<?> obtain();
+        
+    }
+    
+}
@@ -1,10 +1,13 @@
 package com.upseil.game.system;
 
 import static com.upseil.game.Config.GridConfigValues.BorderSize;
+import static com.upseil.game.Config.GridConfigValues.CellMoveSpeed;
 import static com.upseil.game.Config.GridConfigValues.CellSize;
 import static com.upseil.game.Config.GridConfigValues.ExclusionAreaSize;
 import static com.upseil.game.Config.GridConfigValues.GridPadding;
 import static com.upseil.game.Config.GridConfigValues.GridSize;
+import static com.upseil.game.Config.GridConfigValues.LostBlurRadius;
+import static com.upseil.game.Config.GridConfigValues.LostVignetteIntensity;
 import static com.upseil.game.Config.GridConfigValues.MinSlowMoTimeScale;
 import static com.upseil.game.Config.GridConfigValues.SlowMoThresholdFactor;
 import static com.upseil.game.Config.GridConfigValues.Spacing;
@@ -17,10 +20,8 @@ import com.artemis.ComponentMapper;
 import com.artemis.EntityEdit;
 import com.artemis.annotations.Wire;
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.utils.SpriteDrawable;
 import com.badlogic.gdx.utils.Scaling;
@@ -31,8 +32,17 @@ import com.upseil.game.Constants.Tag;
 import com.upseil.game.GameApplication;
 import com.upseil.game.domain.Color;
 import com.upseil.game.domain.Direction;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.domain.MoveOutcome;
+import com.upseil.game.domain.MovePreview;
+import com.upseil.game.domain.Replay;
+import com.upseil.game.graphics.BlurPass;
+import com.upseil.game.graphics.GrayscalePass;
+import com.upseil.game.graphics.VignettePass;
 import com.upseil.game.scene2d.GameGrid;
 import com.upseil.game.scene2d.HUDStage;
+import com.upseil.game.scene2d.PostProcessedStage;
 import com.upseil.gdx.artemis.component.ActorComponent;
 import com.upseil.gdx.artemis.component.Ignore;
 import com.upseil.gdx.artemis.component.InputHandler;
@@ -51,8 +61,10 @@ import com.upseil.gdx.viewport.PartialWorldViewport;
 
 public class GridController extends BaseSystem {
     
+    public static final String ReplayFile = "last-game.replay";
+    
     private TagManager<Tag> tagManager;
-    private LayeredSceneRenderSystem<?> renderSystem;
+    private SaveSystem saveSystem;
     private ComponentMapper<Scene> sceneMapper;
     private ComponentMapper<Screen> screenMapper;
 
@@ -60,23 +72,36 @@ public class GridController extends BaseSystem {
     private GridConfig config;
     
     private PaddedScreen screenPadding;
+    private PostProcessedStage gridStage;
     private Scene gridScene;
-    private float slowMoDistanceThreshold;
+    private float slowMoTimeThreshold;
     private float minSlowMoTimeScale;
     private float timeScaleAlterationRate;
     private Interpolation timeScaleIncreaseInterpolation;
     private Interpolation timeScaleDecreaseInterpolation;
-    private float loseEpsilon;
     
     private GameGrid grid;
+    private Replay replay;
+    private boolean recording;
+    private GridState gridState;
+    private GridState stateToRestore;
+    private MovePreview movePreview;
+    private Replay playback;
+    private int playbackIndex;
+    private float gameTime;
     
     private boolean screenSizeChanged;
     private boolean resetGrid;
     private boolean lost;
     private float grayness;
+    private GrayscalePass grayscalePass;
+    private BlurPass lostBlurPass;
+    private VignettePass lostVignettePass;
+    private float lostBlurRadius;
+    private float lostVignetteIntensity;
     private Color colorToRemove;
     private Direction fillDirection;
-    private float blackWhiteDistance;
+    private boolean settling;
 
     private float startTimeScale;
     private float targetTimeScale;
@@ -90,17 +115,26 @@ public class GridController extends BaseSystem {
         
         GameConfig gameConfig = world.getRegistered("Config");
         config = gameConfig.getGridConfig();
-        slowMoDistanceThreshold = (config.getFloat(CellSize) + config.getFloat(Spacing)) * config.getFloat(SlowMoThresholdFactor);
+        // The time the cells need to move the threshold distance at their normal speed
+        slowMoTimeThreshold = config.getFloat(SlowMoThresholdFactor) / config.getFloat(CellMoveSpeed);
         minSlowMoTimeScale = config.getFloat(MinSlowMoTimeScale);
         timeScaleAlterationRate = (1 - minSlowMoTimeScale) * config.getFloat(TimeScaleAlterationRate);
         timeScaleIncreaseInterpolation = config.getEnum(TimeScaleIncreaseInterpolation, BuiltInInterpolation.class).get();
         timeScaleDecreaseInterpolation = config.getEnum(TimeScaleDecreaseInterpolation, BuiltInInterpolation.class).get();
-        loseEpsilon = 0.25f;
         
         float worldSize = config.getFloat(GridSize) * (config.getFloat(CellSize) + config.getFloat(Spacing)) + 2 * config.getFloat(BorderSize);
         screenPadding = new PaddedScreen();
         PartialWorldViewport gridViewport = new PartialScalingViewport(screenPadding, Scaling.fit, worldSize, worldSize);
-        Stage gridStage = new Stage(gridViewport, world.getSystem(LayeredSceneRenderSystem.class).getGlobalBatch());
+        gridStage = new PostProcessedStage(gridViewport, world.getSystem(LayeredSceneRenderSystem.class).getGlobalBatch());
+        
+        // The loss effect grays out the grid and the HUD, the grid is also blurred and darkened at the edges
+        grayscalePass = new GrayscalePass();
+        lostBlurPass = new BlurPass();
+        lostVignettePass = new VignettePass();
+        lostBlurRadius = config.getFloat(LostBlurRadius);
+        lostVignetteIntensity = config.getFloat(LostVignetteIntensity);
+        gridStage.getPostProcessor().addPass(grayscalePass).addPass(lostBlurPass).addPass(lostVignettePass);
+        getHUD().getPostProcessor().addPass(grayscalePass);
         
         EntityEdit gridEntity = world.createEntity().edit();
         gridEntity.create(Ignore.class);
@@ -111,6 +145,10 @@ public class GridController extends BaseSystem {
         grid = new GameGrid(world, GameApplication.Random, config.getFloat(ExclusionAreaSize));
         gridEntity.create(ActorComponent.class).set(grid);
         gridScene.addActor(grid);
+        replay = new Replay();
+        startRecording(config.getFloat(ExclusionAreaSize));
+        movePreview = new MovePreview(grid.getGridWidth(), grid.getStyle().toGridTiming());
+        setGridState(grid.createState());
 
         tagManager.register(Tag.Grid, gridEntity.getEntityId());
         screenMapper.get(tagManager.getEntityId(Tag.GameScreen)).addScene(gridEntity.getEntityId());
@@ -120,7 +158,7 @@ public class GridController extends BaseSystem {
         grayness = 0;
         colorToRemove = null;
         fillDirection = null;
-        blackWhiteDistance = -1;
+        settling = false;
         startTimeScale = 1;
         targetTimeScale = 1;
         timeScaleAlterationDuration = 0;
@@ -136,42 +174,71 @@ public class GridController extends BaseSystem {
         
         if (resetGrid) {
             setTimeScale(1);
-            getHUD().setButtonsDisabled(false);
-            grid.reset(config.getFloat(ExclusionAreaSize));
+            getHUD().setButtonsDisabled(playback != null);
+            if (playback != null) {
+                grid.reset(playback.getExclusionAreaSize(), playback.getSeed0(), playback.getSeed1());
+                startRecording(playback.getExclusionAreaSize());
+            } else {
+                grid.reset(config.getFloat(ExclusionAreaSize));
+                startRecording(config.getFloat(ExclusionAreaSize));
+            }
+            setGridState(grid.createState());
             resetGrid = false;
+            if (lost) {
+                lost = false;
+                setGrayness(0);
+            }
+        } else if (stateToRestore != null) {
+            grid.restore(stateToRestore);
+            setGridState(stateToRestore);
+            stateToRestore = null;
+            // The initial random state of a restored game is unknown
+            recording = false;
+        } else if (!lost) {
+            gameTime += world.delta;
         }
         
         if (lost && grayness < 1) {
-            grayness += world.delta;
-            ShaderProgram shader = renderSystem.getGlobalBatch().getShader(); 
-            int attribute = shader.getAttributeLocation("a_grayness");
-            Gdx.gl20.glVertexAttrib1f(attribute, Math.min(grayness, 1));
+            setGrayness(grayness + world.delta);
         }
         
-        if (blackWhiteDistance >= 0) {
-            checkBlackWhiteDistance();
+        if (settling) {
+            checkContact();
             if (!grid.isMovementInProgress()) {
                 if (!lost) {
                     grid.randomizeBorderColors();
-                    getHUD().setButtonsDisabled(false);
+                    getHUD().setButtonsDisabled(playback != null);
+                    setGridState(grid.createState());
+                    saveSystem.autoSave();
                 }
                 setTimeScale(1);
-                blackWhiteDistance = -1;
+                settling = false;
             }
         }
         
         if (fillDirection != null && !grid.isRemovalInProgress()) {
             grid.fillGrid(fillDirection);
             fillDirection = null;
-            blackWhiteDistance = grid.getMinBlackWhiteDistance();
+            settling = true;
+        }
+        
+        if (playback != null) {
+            processPlayback();
         }
         
         if (colorToRemove != null) {
+            replay.record(gameTime, colorToRemove);
             grid.removeCells(colorToRemove);
-            fillDirection = fromColor(colorToRemove);
+            fillDirection = Grid.getFillDirection(colorToRemove);
             colorToRemove = null;
         }
         
+        // One outcome per frame once the grid has settled, so the preview is ready before the player hovers a button
+        if (!lost && !movePreview.isComplete() && isAwaitingChoice()) {
+            movePreview.computeNext();
+            getHUD().setUpdateValueLabels(true);
+        }
+        
         if (timeScaleAlterationTime < timeScaleAlterationDuration) {
             timeScaleAlterationTime += world.delta;
             float timeScaleAlpha = MathUtils.clamp(timeScaleAlterationTime / timeScaleAlterationDuration, 0, 1);
@@ -180,42 +247,67 @@ public class GridController extends BaseSystem {
         }
     }
 
-    private Direction fromColor(Color color) {
-        switch (color) {
-        case Color0:
-            return Direction.Left;
-        case Color1:
-            return Direction.Bottom;
-        case Color2:
-            return Direction.Right;
-        case Empty:
-        case Black:
-        case White:
-            break;
-        }
-        throw new IllegalArgumentException("No " + Direction.class.getSimpleName() + " specified for " +
-                                           Color.class.getSimpleName() + " " + color);
+    private void setGrayness(float grayness) {
+        this.grayness = grayness;
+        float amount = Math.min(grayness, 1);
+        grayscalePass.setAmount(amount);
+        lostBlurPass.setRadius(amount * lostBlurRadius);
+        lostVignettePass.setIntensity(amount * lostVignetteIntensity);
     }
-
-    private void checkBlackWhiteDistance() {
-        float newBlackWhiteDistance = grid.getMinBlackWhiteDistance();
-        if (newBlackWhiteDistance >= blackWhiteDistance) {
-            setTargetTimeScale(1);
+    
+    private void processPlayback() {
+        if (lost || !isAwaitingChoice()) {
             return;
         }
         
-        blackWhiteDistance = newBlackWhiteDistance;
-        setTargetTimeScale(blackWhiteDistance / slowMoDistanceThreshold);
-        // TODO This is not robust against big delta times
-         if (MathUtils.isZero(blackWhiteDistance, loseEpsilon)) {
+        if (playbackIndex >= playback.size()) {
+            playback = null;
+            getHUD().setButtonsDisabled(false);
+        } else if (gameTime >= playback.getTime(playbackIndex)) {
+            colorToRemove = playback.getColor(playbackIndex);
+            playbackIndex++;
+        }
+    }
+    
+    /**
+     * @return Whether the grid has settled and the next color can be removed
+     */
+    public boolean isAwaitingChoice() {
+        return colorToRemove == null && fillDirection == null && !settling &&
+               !grid.isRemovalInProgress() && !grid.isMovementInProgress();
+    }
+    
+    private void startRecording(float exclusionAreaSize) {
+        replay.start(grid.getGridWidth(), exclusionAreaSize, grid.getInitialRandomState(0), grid.getInitialRandomState(1));
+        recording = true;
+        gameTime = 0;
+    }
+    
+    private void setGridState(GridState gridState) {
+        this.gridState = gridState;
+        movePreview.setState(gridState);
+    }
+    
+    private void onLost() {
+        lost = true;
+        setGridState(null);
+        if (recording && Gdx.files.isLocalStorageAvailable()) {
+            Gdx.files.local(ReplayFile).writeBytes(replay.toBytes(), false);
+        }
+    }
+    
+    private void checkContact() {
+        // The grid halts its movement at the exact time of contact, so big delta times can't skip it
+        if (grid.isContactReached()) {
             // TODO Proper state flow
-             grid.abortMovement();
-             lost = true;
-            
-//            resetGrid = true;
-//            gameState.setScore(0);
-//            GameApplication.HUD.setUpdateValueLabels(true);
+            grid.abortMovement();
+            onLost();
+            return;
         }
+        
+        // The contact time is known as soon as a step starts, so the slow motion only starts if a contact is ahead
+        float timeUntilContact = grid.getTimeUntilContact();
+        setTargetTimeScale(timeUntilContact < 0 ? 1 : timeUntilContact / slowMoTimeThreshold);
     }
     
     private void setTimeScale(float timeScale) {
@@ -288,7 +380,82 @@ public class GridController extends BaseSystem {
     }
 
     public void remove(Color color) {
-        colorToRemove = color;
+        if (playback == null) {
+            colorToRemove = color;
+        }
+    }
+    
+    /**
+     * Abandons the current game and starts a new one with a random grid.
+     */
+    public void newGame() {
+        playback = null;
+        colorToRemove = null;
+        fillDirection = null;
+        settling = false;
+        resetGrid = true;
+    }
+    
+    /**
+     * Restarts the grid with the initial state of the given replay and makes its choices at the recorded times.
+     * Player input is ignored until the replay is finished.
+     */
+    public void play(Replay replay) {
+        if (replay.getGridSize() != grid.getGridWidth()) {
+            throw new IllegalArgumentException("Can't play a replay of a grid of size " + replay.getGridSize() +
+                                               " on a grid of size " + grid.getGridWidth());
+        }
+        playback = replay;
+        playbackIndex = 0;
+        colorToRemove = null;
+        fillDirection = null;
+        settling = false;
+        resetGrid = true;
+    }
+    
+    /**
+     * Continues the game of the given state instead of the current one.
+     */
+    public void restore(GridState state) {
+        stateToRestore = state;
+    }
+    
+    public boolean isLost() {
+        return lost;
+    }
+    
+    /**
+     * @return A snapshot of the grid taken at the end of the last turn or null if the game is lost
+     */
+    public GridState getGridState() {
+        return gridState;
+    }
+    
+    /**
+     * @return The precomputed outcome of removing the given color in the current turn or null if it isn't available
+     *         (yet)
+     */
+    public MoveOutcome getMoveOutcome(Color color) {
+        if (lost || !isAwaitingChoice()) {
+            return null;
+        }
+        return movePreview.get(color);
+    }
+    
+    /**
+     * @return The recording of the current game
+     */
+    public Replay getReplay() {
+        return replay;
+    }
+    
+    @Override
+    protected void dispose() {
+        grid.dispose();
+        gridStage.getPostProcessor().dispose();
+        grayscalePass.dispose();
+        lostBlurPass.dispose();
+        lostVignettePass.dispose();
     }
     
     private HUDStage getHUD() {
@@ -20,6 +20,9 @@ public class LoadSystem extends AbstractLoadSystem<Savegame> {
     protected void loadGame(Savegame savegame) {
         GameState gameState = savegame.getGameState();
         world.edit(tagManager.getEntityId(Tag.GameState)).add(gameState);
+        if (savegame.getGridState() != null) {
+            world.getSystem(GridController.class).restore(savegame.getGridState());
+        }
     }
     
 }
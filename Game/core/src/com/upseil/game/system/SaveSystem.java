@@ -1,28 +1,120 @@
 package com.upseil.game.system;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import com.artemis.ComponentMapper;
+import com.badlogic.gdx.Gdx;
+import com.upseil.game.Config.GameConfig;
 import com.upseil.game.Constants.Tag;
 import com.upseil.game.Savegame;
 import com.upseil.game.component.GameState;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.event.SavegameStoredEvent;
+import com.upseil.game.serialization.SavegameStore;
+import com.upseil.game.system.EventQueueSystem.QueuedEvent;
 import com.upseil.gdx.artemis.ArtemisConfigs.SaveConfig;
 import com.upseil.gdx.artemis.system.AbstractSaveSystem;
 import com.upseil.gdx.artemis.system.TagManager;
+import com.upseil.gdx.event.AbstractEvent;
+import com.upseil.gdx.pool.PooledPools;
 import com.upseil.gdx.serialization.Writer;
 
 public class SaveSystem extends AbstractSaveSystem<Savegame> {
     
+    private static final String LogTag = "SaveSystem";
+    
     private TagManager<Tag> tagManager;
+    private EventQueueSystem eventQueue;
     private ComponentMapper<GameState> gameStateMapper;
     
+    private final SavegameStore autoSaveStore;
+    private final AutoSaveNotification autoSaveNotification;
+    
     public SaveSystem(Writer<Savegame> mapper, SaveConfig config) {
+        this(mapper, config, null);
+    }
+    
+    /**
+     * @param autoSaveStore Used by {@link #autoSave()}, may be null to disable it
+     */
+    public SaveSystem(Writer<Savegame> mapper, SaveConfig config, SavegameStore autoSaveStore) {
         super(mapper, config);
+        this.autoSaveStore = autoSaveStore;
+        autoSaveNotification = autoSaveStore != null ? new AutoSaveNotification() : null;
     }
 
     @Override
     protected Savegame getSavegame() {
+        return createSnapshot();
+    }
+    
+    /**
+     * Hands a snapshot of the game to the auto save store, which encodes and writes it off the game thread. A
+     * {@link SavegameStoredEvent} is posted once it has been written, unless the savegame has been replaced by a newer
+     * one before. Does nothing if there's no auto save store.
+     */
+    public void autoSave() {
+        if (autoSaveStore == null) {
+            return;
+        }
+        
+        GameConfig config = world.getRegistered("Config");
+        autoSaveStore.store(config.getSaveStoreName(), config.getAutoSaveSlot(), createSnapshot(), autoSaveNotification);
+    }
+    
+    /**
+     * @return A savegame that doesn't share any mutable state with the world
+     */
+    private Savegame createSnapshot() {
         GameState gameState = gameStateMapper.get(tagManager.getEntityId(Tag.GameState));
-        Savegame savegame = new Savegame(gameState);
-        return savegame;
+        GameState gameStateSnapshot = new GameState();
+        gameStateSnapshot.setScore(gameState.getScore());
+        
+        GridState gridState = world.getSystem(GridController.class).getGridState();
+        return new Savegame(gameStateSnapshot, gridState);
+    }
+    
+    @Override
+    protected void dispose() {
+        super.dispose();
+        if (autoSaveStore != null) {
+            autoSaveStore.dispose();
+        }
+    }
+    
+    /**
+     * Carries the results of the auto saves to the game thread, where the {@link SavegameStoredEvent} is obtained from
+     * its pool. Every auto save uses the same notification, which is posted again once its event has been obtained. A
+     * result that arrives while the notification is still queued replaces the queued one, like a newer savegame
+     * replaces a pending one. Nothing is obtained for savegames that have been replaced or results that couldn't be
+     * posted.
+     */
+    private class AutoSaveNotification implements SavegameStore.Callback, QueuedEvent {
+        
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private volatile String slot;
+        private volatile boolean successful;
+        
+        @Override
+        public void onStored(String slot, boolean successful) {
+            this.slot = slot;
+            this.successful = successful;
+            if (queued.compareAndSet(false, true) && !eventQueue.post(this)) {
+                queued.set(false);
+                Gdx.app.error(LogTag, "The event queue is full, dropped the result of storing " + slot);
+            }
+        }
+        
+        @Override
+        public AbstractEvent<?> obtain() {
+            // Cleared before reading the result, so a result that arrives meanwhile is posted again instead of lost
+            queued.set(false);
+            SavegameStoredEvent event = PooledPools.obtain(SavegameStoredEvent.class);
+            event.setSlot(slot);
+            event.setSuccessful(successful);
+            return event;
+        }
+        
     }
     
 }
@@ -0,0 +1,27 @@
+package com.upseil.game.system;
+
+import com.artemis.Aspect;
+import com.artemis.ComponentMapper;
+import com.artemis.systems.IteratingSystem;
+import com.upseil.gdx.artemis.component.Ignore;
+import com.upseil.gdx.artemis.component.Scene;
+
+/**
+ * Acts the scenes of the current screen without drawing them. Takes the place of the render system when nothing is
+ * drawn, so the actions, animations and timers of the stages keep running.
+ */
+public class SceneActSystem extends IteratingSystem {
+    
+    private ComponentMapper<Scene> sceneMapper;
+    
+    @SuppressWarnings("unchecked")
+    public SceneActSystem() {
+        super(Aspect.all(Scene.class).exclude(Ignore.class));
+    }
+    
+    @Override
+    protected void process(int entityId) {
+        sceneMapper.get(entityId).act(world.delta);
+    }
+    
+}
@@ -0,0 +1,101 @@
+package com.upseil.game.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * A bounded lock-free queue that any number of threads can offer elements to and a single thread polls them from. The
+ * elements are kept in a ring buffer, every slot has a sequence number that tells whether it's free for the producer
+ * of a position or filled for the consumer. Producers claim positions with a compare and set on the tail, the consumer
+ * doesn't need any atomic read-modify-write operations at all. Neither offering nor polling allocates.
+ */
+public class MpscQueue<T> {
+    
+    private final int mask;
+    private final T[] elements;
+    private final AtomicLong[] sequences;
+    private final AtomicLong tail;
+    private long head;
+    
+    /**
+     * @param capacity The maximal number of elements in the queue, rounded up to the next power of two
+     */
+    @SuppressWarnings("unchecked")
+    public MpscQueue(int capacity) {
+        int size = MathUtils.nextPowerOfTwo(Math.max(capacity, 2));
+        mask = size - 1;
+        elements = (T[]) new Object[size];
+        sequences = new AtomicLong[size];
+        for (int index = 0; index < size; index++) {
+            sequences[index] = new AtomicLong(index);
+        }
+        tail = new AtomicLong();
+    }
+    
+    /**
+     * Adds the element to the queue, may be called from any thread.
+     *
+     * @return False if the queue is full and the element hasn't been added
+     */
+    public boolean offer(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("The element must not be null");
+        }
+        
+        while (true) {
+            long position = tail.get();
+            AtomicLong sequence = sequences[(int) (position & mask)];
+            long difference = sequence.get() - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[(int) (position & mask)] = element;
+                    // Publishes the element to the consumer
+                    sequence.set(position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // The consumer hasn't polled the element one revolution ago yet
+                return false;
+            }
+            // Another producer has claimed the position in the meantime
+        }
+    }
+    
+    /**
+     * Removes the oldest element of the queue. Must only be called by the consuming thread.
+     *
+     * @return The element or null if the queue is empty or the next element hasn't been published yet
+     */
+    public T poll() {
+        int index = (int) (head & mask);
+        AtomicLong sequence = sequences[index];
+        if (sequence.get() != head + 1) {
+            return null;
+        }
+        
+        T element = elements[index];
+        elements[index] = null;
+        // Frees the slot for the producer one revolution ahead
+        sequence.set(head + mask + 1);
+        head++;
+        return element;
+    }
+    
+    /**
+     * @return An estimate of the number of elements in the queue, exact if called by the consumer while no producer is
+     *         active
+     */
+    public int size() {
+        return (int) Math.max(tail.get() - head, 0);
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    public int getCapacity() {
+        return mask + 1;
+    }
+    
+}
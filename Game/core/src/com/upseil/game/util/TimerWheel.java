@@ -0,0 +1,222 @@
+package com.upseil.game.util;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/**
+ * A hashed timer wheel for delayed callbacks. Time is divided into ticks and every scheduled callback is put into the
+ * slot of the tick it's due at, so {@link #advance(float)} only visits the slots of the ticks that have passed and the
+ * callbacks in them. Callbacks that are due more than one revolution ahead wait in an overflow list that is only
+ * looked at once per revolution.
+ * <p>
+ * Callbacks fire at the first tick boundary at or after their deadline, so they are at most one tick late. Entries are
+ * kept in parallel arrays and reused, scheduling doesn't allocate once the wheel has grown to its working size.
+ */
+public class TimerWheel<T> {
+
+    private static final int None = -1;
+
+    private final float tickDuration;
+    private final int mask;
+    private final int[] slots;
+    private int overflow;
+
+    private int[] next;
+    private long[] deadlines;
+    private T[] targets;
+    private Callback<T>[] callbacks;
+    private int free;
+    private int size;
+
+    private long currentTick;
+    private float tickTime;
+
+    /**
+     * @param tickDuration The resolution of the wheel in seconds
+     * @param horizon The longest delay in seconds that is expected to be common, the wheel gets enough slots to
+     *        schedule delays up to this length without using the overflow list
+     */
+    public TimerWheel(float tickDuration, float horizon) {
+        this(tickDuration, horizon, 16);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public TimerWheel(float tickDuration, float horizon, int initialCapacity) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("The tick duration must be greater than 0, got " + tickDuration);
+        }
+        this.tickDuration = tickDuration;
+        int slotCount = MathUtils.nextPowerOfTwo(Math.max(MathUtils.ceil(horizon / tickDuration) + 1, 2));
+        mask = slotCount - 1;
+        slots = new int[slotCount];
+        Arrays.fill(slots, None);
+        overflow = None;
+
+        int capacity = Math.max(initialCapacity, 1);
+        next = new int[capacity];
+        deadlines = new long[capacity];
+        targets = (T[]) new Object[capacity];
+        callbacks = new Callback[capacity];
+        linkFree(0, capacity);
+    }
+
+    // Scheduling ---------------------------------------------------------------------------------
+
+    /**
+     * Calls the callback with the target once the given delay (in seconds, starting now) has passed.
+     */
+    public void schedule(float delay, Callback<T> callback, T target) {
+        int ticks = Math.max(MathUtils.ceil((tickTime + Math.max(delay, 0)) / tickDuration), 1);
+
+        int entry = obtainEntry();
+        deadlines[entry] = currentTick + ticks;
+        targets[entry] = target;
+        callbacks[entry] = callback;
+        if (ticks <= mask) {
+            int slot = (int) (deadlines[entry] & mask);
+            next[entry] = slots[slot];
+            slots[slot] = entry;
+        } else {
+            next[entry] = overflow;
+            overflow = entry;
+        }
+        size++;
+    }
+
+    private int obtainEntry() {
+        if (free == None) {
+            grow();
+        }
+        int entry = free;
+        free = next[entry];
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void grow() {
+        int capacity = next.length;
+        int newCapacity = capacity * 2;
+        next = Arrays.copyOf(next, newCapacity);
+        deadlines = Arrays.copyOf(deadlines, newCapacity);
+        targets = Arrays.copyOf(targets, newCapacity);
+        callbacks = Arrays.copyOf(callbacks, newCapacity);
+        linkFree(capacity, newCapacity);
+    }
+
+    private void linkFree(int from, int to) {
+        for (int entry = from; entry < to - 1; entry++) {
+            next[entry] = entry + 1;
+        }
+        next[to - 1] = None;
+        free = from;
+    }
+
+    private void freeEntry(int entry) {
+        targets[entry] = null;
+        callbacks[entry] = null;
+        next[entry] = free;
+        free = entry;
+        size--;
+    }
+
+    /**
+     * Drops all scheduled callbacks without calling them.
+     */
+    public void clear() {
+        for (int slot = 0; slot < slots.length; slot++) {
+            slots[slot] = freeList(slots[slot]);
+        }
+        overflow = freeList(overflow);
+    }
+
+    private int freeList(int entry) {
+        while (entry != None) {
+            int nextEntry = next[entry];
+            freeEntry(entry);
+            entry = nextEntry;
+        }
+        return None;
+    }
+
+    // Processing ---------------------------------------------------------------------------------
+
+    /**
+     * Advances the time of the wheel and fires all callbacks that have become due, in the order of their ticks.
+     * Callbacks may schedule new callbacks.
+     */
+    public void advance(float delta) {
+        tickTime += delta;
+        if (size == 0) {
+            // Nothing to fire, skip the passed ticks at once
+            int ticks = (int) (tickTime / tickDuration);
+            currentTick += ticks;
+            tickTime -= ticks * tickDuration;
+            return;
+        }
+
+        while (tickTime >= tickDuration) {
+            tickTime -= tickDuration;
+            currentTick++;
+            int slot = (int) (currentTick & mask);
+            if (slot == 0 && overflow != None) {
+                cascadeOverflow();
+            }
+            fire(slot);
+        }
+    }
+
+    private void fire(int slot) {
+        int entry = slots[slot];
+        slots[slot] = None;
+        while (entry != None) {
+            int nextEntry = next[entry];
+            T target = targets[entry];
+            Callback<T> callback = callbacks[entry];
+            freeEntry(entry);
+            callback.call(target);
+            entry = nextEntry;
+        }
+    }
+
+    private void cascadeOverflow() {
+        int entry = overflow;
+        overflow = None;
+        while (entry != None) {
+            int nextEntry = next[entry];
+            if (deadlines[entry] - currentTick <= mask) {
+                int slot = (int) (deadlines[entry] & mask);
+                next[entry] = slots[slot];
+                slots[slot] = entry;
+            } else {
+                next[entry] = overflow;
+                overflow = entry;
+            }
+            entry = nextEntry;
+        }
+    }
+
+    // Data Polling -------------------------------------------------------------------------------
+
+    /**
+     * @return The number of callbacks that haven't been called yet
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public float getTickDuration() {
+        return tickDuration;
+    }
+
+    public interface Callback<T> {
+
+        void call(T target);
+
+    }
+
+}
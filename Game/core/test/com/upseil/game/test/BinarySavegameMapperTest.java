@@ -0,0 +1,64 @@
+package com.upseil.game.test;
+
+import static com.upseil.game.test.TestGrids.ExclusionAreaSize;
+import static com.upseil.game.test.TestGrids.Size;
+import static com.upseil.game.test.TestGrids.createGrid;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.upseil.game.Savegame;
+import com.upseil.game.component.GameState;
+import com.upseil.game.domain.Direction;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.serialization.BinarySavegameMapper;
+
+public class BinarySavegameMapperTest {
+
+    @Test
+    public void testRoundTrip() {
+        Grid grid = createGrid(42, 1337);
+        grid.initialize(ExclusionAreaSize);
+        GameState gameState = new GameState();
+        gameState.setScore(123456);
+        Savegame savegame = new Savegame(gameState, GridState.of(grid, Long.MIN_VALUE, -1));
+
+        BinarySavegameMapper mapper = new BinarySavegameMapper();
+        Savegame result = mapper.read(mapper.write(savegame));
+
+        assertThat(result.getMetaData().getVersion(), is(savegame.getMetaData().getVersion()));
+        assertThat(result.getMetaData().getTimestamp(), is(savegame.getMetaData().getTimestamp()));
+        assertThat(result.getGameState().getScore(), is(123456));
+
+        GridState gridState = result.getGridState();
+        assertThat(gridState.getRandomState0(), is(Long.MIN_VALUE));
+        assertThat(gridState.getRandomState1(), is(-1L));
+        for (int x = 0; x < Size; x++) {
+            for (int y = 0; y < Size; y++) {
+                assertThat(gridState.getColor(x, y), is(grid.getCell(x, y).getColor()));
+            }
+        }
+        for (Direction direction : Direction.all()) {
+            assertThat(gridState.getBorderColor(direction), is(grid.getBorderColor(direction)));
+        }
+    }
+
+    @Test
+    public void testWithoutGrid() {
+        BinarySavegameMapper mapper = new BinarySavegameMapper();
+        Savegame result = mapper.read(mapper.write(new Savegame(new GameState(), null)));
+        assertThat(result.getGameState().getScore(), is(0));
+        assertThat(result.getGridState(), is(nullValue()));
+    }
+
+    @Test
+    public void testLegacyData() {
+        Savegame legacy = new Savegame(new GameState(), null);
+        BinarySavegameMapper mapper = new BinarySavegameMapper(data -> legacy);
+        assertThat(mapper.read("{\"gameState\":{}}"), is(legacy));
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.upseil.game.test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.upseil.game.scene2d.CellActor;
+import com.upseil.game.scene2d.CellAnimator;
+
+public class CellAnimatorTest {
+
+    private static final float Epsilon = 0.0001f;
+
+    @Test
+    public void testTweensAndCompletions() {
+        Group group = new Group();
+        CellActor moving = new CellActor();
+        CellActor removed = new CellActor();
+        group.addActor(moving);
+        group.addActor(removed);
+        removed.setY(10);
+
+        int[] calls = new int[2];
+        CellAnimator animator = new CellAnimator(1);
+        animator.moveTo(moving, 10, 20, 0.5f, 1).thenCall((cell, tag) -> calls[tag]++, 0)
+                .to(removed, CellAnimator.Alpha, 0, 0, 1, Interpolation.fade)
+                .by(removed, CellAnimator.Y, 5, 0, 1, null)
+                .thenCall((cell, tag) -> calls[tag]++, 1)
+                .thenRemove();
+        assertThat(animator.isAnimating(moving), is(true));
+
+        animator.advance(0.25f);
+        assertThat(moving.getX(), is(0f));
+        assertThat(Math.abs(removed.getY() - 11.25f) < Epsilon, is(true));
+
+        animator.advance(0.75f);
+        assertThat(Math.abs(moving.getX() - 5) < Epsilon, is(true));
+        assertThat(Math.abs(moving.getY() - 10) < Epsilon, is(true));
+        assertThat(calls[1], is(1));
+        assertThat(removed.getParent(), is(nullValue()));
+
+        animator.advance(1);
+        assertThat(moving.getX(), is(10f));
+        assertThat(moving.getY(), is(20f));
+        assertThat(calls[0], is(1));
+        assertThat(animator.size(), is(0));
+        assertThat(animator.isAnimating(moving), is(false));
+    }
+
+    @Test
+    public void testCancelDropsTweens() {
+        CellActor cell = new CellActor();
+        int[] calls = new int[1];
+        CellAnimator animator = new CellAnimator(8);
+        animator.moveTo(cell, 10, 10, 0, 1).thenCall((c, tag) -> calls[0]++, 0);
+        animator.advance(0.5f);
+        animator.cancel(cell);
+        animator.advance(1);
+        assertThat(cell.getX(), is(5f));
+        assertThat(calls[0], is(0));
+        assertThat(animator.isAnimating(cell), is(false));
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.upseil.game.test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Interpolation;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.upseil.game.scene2d.CellActor;
+import com.upseil.game.scene2d.CellEffectAction;
+import com.upseil.game.scene2d.CellMoveAction;
+import com.upseil.game.scene2d.CellRumbleAction;
+import com.upseil.game.scene2d.CellShakeAction;
+import com.upseil.game.scene2d.CellSpinAction;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+public class CellEffectActionTest {
+
+    private static final float Epsilon = 0.001f;
+    private static final float FrameDuration = 1 / 60f;
+
+    @Test
+    public void testEffectsEndWhereTheyStarted() {
+        CellActor cell = new CellActor();
+        cell.setPosition(10, 20);
+        cell.setRotation(45);
+
+        run(cell, new CellShakeAction().initialize(3, 15, 1));
+        assertThat(Math.abs(cell.getRotation() - 45) < Epsilon, is(true));
+
+        run(cell, new CellRumbleAction().initialize(4, 5, 1, new ExtendedRandomXS128(3, 5)));
+        assertThat(Math.abs(cell.getX() - 10) < Epsilon, is(true));
+        assertThat(Math.abs(cell.getY() - 20) < Epsilon, is(true));
+
+        run(cell, new CellSpinAction().initialize(2, 1));
+        assertThat(Math.abs(cell.getRotation() - 45 - 720) < Epsilon, is(true));
+    }
+
+    @Test
+    public void testMoveCombinesWithOtherMovements() {
+        Group group = new Group();
+        CellActor cell = new CellActor();
+        group.addActor(cell);
+
+        cell.addAction(new CellMoveAction().initialize(10, 0, 1, Interpolation.linear).setDelay(0.5f).setRemoveActor(true));
+        cell.addAction(new CellMoveAction().initialize(0, 10, 1, Interpolation.fade));
+        for (float time = 0; time < 1.25f; time += FrameDuration) {
+            cell.act(FrameDuration);
+        }
+        assertThat(Math.abs(cell.getY() - 10) < Epsilon, is(true));
+        assertThat(cell.getParent(), is(group));
+
+        for (float time = 0; time < 0.5f; time += FrameDuration) {
+            cell.act(FrameDuration);
+        }
+        assertThat(Math.abs(cell.getX() - 10) < Epsilon, is(true));
+        assertThat(cell.getParent(), is(nullValue()));
+    }
+
+    private void run(CellActor cell, CellEffectAction action) {
+        cell.addAction(action);
+        for (int frame = 0; frame < 100 && cell.getActions().size > 0; frame++) {
+            cell.act(FrameDuration);
+        }
+        assertThat(cell.getActions().size, is(0));
+    }
+
+}
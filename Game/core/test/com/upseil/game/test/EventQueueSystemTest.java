@@ -0,0 +1,167 @@
+package com.upseil.game.test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.artemis.World;
+import com.artemis.WorldConfigurationBuilder;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.upseil.game.Savegame;
+import com.upseil.game.event.SavegameStoredEvent;
+import com.upseil.game.serialization.SavegameStore;
+import com.upseil.game.system.EventQueueSystem;
+import com.upseil.game.system.EventQueueSystem.QueuedEvent;
+import com.upseil.gdx.artemis.system.EventSystem;
+import com.upseil.gdx.event.AbstractEvent;
+
+public class EventQueueSystemTest {
+
+    private static final int QueueCapacity = 4;
+    private static final int SavesPerSlot = 50;
+
+    @Test
+    public void testReplacedSavesDontObtainEvents() {
+        StoredEventPool pool = new StoredEventPool();
+        World world = createWorld();
+        EventQueueSystem eventQueue = world.getSystem(EventQueueSystem.class);
+        ReplacingStore store = new ReplacingStore();
+        Notification autoNotification = new Notification(eventQueue, pool);
+        Notification quickNotification = new Notification(eventQueue, pool);
+
+        for (int save = 0; save < SavesPerSlot; save++) {
+            store.store("Store", "Auto", null, autoNotification);
+            store.store("Store", "Quick", null, quickNotification);
+        }
+        store.writePendingSaves();
+        assertThat(pool.obtained.size, is(0));
+
+        world.process();
+        assertThat(pool.obtained.size, is(2));
+        pool.freeObtained();
+        assertThat(pool.getFree(), is(pool.peak));
+
+        // The notifications can be posted again once their events have been obtained
+        store.store("Store", "Auto", null, autoNotification);
+        store.writePendingSaves();
+        world.process();
+        assertThat(pool.obtained.size, is(1));
+        assertThat(pool.obtained.first().getSlot(), is("Auto"));
+        pool.freeObtained();
+        assertThat(pool.peak, is(2));
+    }
+
+    @Test
+    public void testDroppedPostsDontObtainEvents() {
+        StoredEventPool pool = new StoredEventPool();
+        World world = createWorld();
+        EventQueueSystem eventQueue = world.getSystem(EventQueueSystem.class);
+        ReplacingStore store = new ReplacingStore();
+
+        int slots = QueueCapacity * 2;
+        for (int slot = 0; slot < slots; slot++) {
+            store.store("Store", "Slot " + slot, null, new Notification(eventQueue, pool));
+        }
+        store.writePendingSaves();
+
+        world.process();
+        assertThat(pool.obtained.size, is(QueueCapacity));
+        pool.freeObtained();
+        assertThat(pool.getFree(), is(pool.peak));
+        assertThat(pool.peak, is(QueueCapacity));
+    }
+
+    private World createWorld() {
+        return new World(new WorldConfigurationBuilder()
+                .with(new EventQueueSystem(QueueCapacity))
+                .with(new EventSystem())
+                .build());
+    }
+
+    private static class Notification implements SavegameStore.Callback, QueuedEvent {
+
+        private final EventQueueSystem eventQueue;
+        private final StoredEventPool pool;
+
+        private String slot;
+        private boolean successful;
+
+        public Notification(EventQueueSystem eventQueue, StoredEventPool pool) {
+            this.eventQueue = eventQueue;
+            this.pool = pool;
+        }
+
+        @Override
+        public void onStored(String slot, boolean successful) {
+            this.slot = slot;
+            this.successful = successful;
+            eventQueue.post(this);
+        }
+
+        @Override
+        public AbstractEvent<?> obtain() {
+            SavegameStoredEvent event = pool.obtain();
+            event.setSlot(slot);
+            event.setSuccessful(successful);
+            return event;
+        }
+
+    }
+
+    /**
+     * Replaces pending savegames of the same slot like the asynchronous store does while it's writing.
+     */
+    private static class ReplacingStore implements SavegameStore {
+
+        private final Map<String, Callback> pendingSaves = new LinkedHashMap<>();
+
+        @Override
+        public void store(String storeName, String slot, Savegame savegame, Callback callback) {
+            pendingSaves.put(slot, callback);
+        }
+
+        public void writePendingSaves() {
+            for (Map.Entry<String, Callback> entry : pendingSaves.entrySet()) {
+                entry.getValue().onStored(entry.getKey(), true);
+            }
+            pendingSaves.clear();
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+    }
+
+    /**
+     * Remembers the obtained events in place of the event system, which frees them once they've been handled.
+     */
+    private static class StoredEventPool extends Pool<SavegameStoredEvent> {
+
+        private final Array<SavegameStoredEvent> obtained = new Array<>();
+
+        @Override
+        protected SavegameStoredEvent newObject() {
+            return new SavegameStoredEvent();
+        }
+
+        @Override
+        public SavegameStoredEvent obtain() {
+            SavegameStoredEvent event = super.obtain();
+            obtained.add(event);
+            return event;
+        }
+
+        public void freeObtained() {
+            freeAll(obtained);
+            obtained.clear();
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.upseil.game.test;
+
+import static com.upseil.game.test.TestGrids.ExclusionAreaSize;
+import static com.upseil.game.test.TestGrids.createGrid;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Test;
+
+import com.sun.management.ThreadMXBean;
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Grid;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * Covers the headless turn resolution of {@link Grid} only. The view path through GameGrid and GridController needs a
+ * skin and a running application, so its steady state has to be checked with a profiler.
+ */
+public class GridAllocationTest {
+
+    private static final int WarmUpTurns = 20000;
+    private static final int MeasuredTurns = 1000;
+
+    @Test
+    public void testTurnsDontAllocate() {
+        ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+        
+        Grid grid = createGrid(42, 1337);
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(7, 11);
+        grid.initialize(ExclusionAreaSize);
+        playTurns(grid, player, WarmUpTurns);
+        
+        // Measuring nothing first to subtract what the measurement itself allocates
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        long overhead = threadBean.getThreadAllocatedBytes(threadId) - before;
+        
+        before = threadBean.getThreadAllocatedBytes(threadId);
+        playTurns(grid, player, MeasuredTurns);
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before - overhead;
+        
+        assertThat(allocated, is(0L));
+    }
+
+    private void playTurns(Grid grid, ExtendedRandomXS128 player, int turns) {
+        for (int turn = 0; turn < turns; turn++) {
+            grid.resolveTurn(Color.random(player));
+            if (grid.isLost()) {
+                grid.initialize(ExclusionAreaSize);
+            }
+        }
+    }
+
+}
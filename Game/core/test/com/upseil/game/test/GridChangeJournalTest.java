@@ -0,0 +1,66 @@
+package com.upseil.game.test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.GridChangeJournal;
+import com.upseil.game.domain.GridChangeJournal.Cause;
+
+public class GridChangeJournalTest {
+
+    @Test
+    public void testFrameSumsUpChanges() {
+        GridChangeJournal journal = new GridChangeJournal(8);
+        assertThat(journal.hasChanges(), is(false));
+
+        journal.record(1, 2, Color.Color0, Color.Empty, Cause.Removed);
+        journal.record(3, 4, Color.Color0, Color.Empty, Cause.Removed);
+        journal.record(5, 6, Color.Black, Color.Empty, Cause.Teleported);
+        journal.record(0, 7, Color.Empty, Color.Color2, Cause.Entered);
+        journal.addCountDelta(1, -1);
+
+        assertThat(journal.hasChanges(), is(true));
+        assertThat(journal.getRemovedCells(), is(3));
+        assertThat(journal.getCountDelta(0), is(-2));
+        assertThat(journal.getCountDelta(1), is(-1));
+        assertThat(journal.getCountDelta(2), is(1));
+
+        long first = journal.getFrameStart();
+        assertThat(journal.getSequence() - first, is(4L));
+        assertThat(journal.getX(first + 2), is(5));
+        assertThat(journal.getY(first + 2), is(6));
+        assertThat(journal.getOldColor(first + 2), is(Color.Black));
+        assertThat(journal.getNewColor(first + 3), is(Color.Color2));
+        assertThat(journal.getCause(first + 3), is(Cause.Entered));
+
+        journal.endFrame();
+        assertThat(journal.hasChanges(), is(false));
+        assertThat(journal.getRemovedCells(), is(0));
+        assertThat(journal.getCountDelta(0), is(0));
+        assertThat(journal.getFrameStart(), is(4L));
+        assertThat(journal.getCause(first), is(Cause.Removed));
+
+        journal.invalidate();
+        assertThat(journal.hasChanges(), is(true));
+    }
+
+    @Test
+    public void testOldEntriesAreOverwritten() {
+        GridChangeJournal journal = new GridChangeJournal(5);
+        assertThat(journal.getCapacity(), is(8));
+
+        for (int index = 0; index < 20; index++) {
+            journal.record(index, 0, Color.Empty, Color.Color1, Cause.Entered);
+        }
+        assertThat(journal.contains(11), is(false));
+        assertThat(journal.contains(12), is(true));
+        assertThat(journal.contains(20), is(false));
+        assertThat(journal.getX(12), is(12));
+        assertThat(journal.getX(19), is(19));
+        assertThat(journal.getCountDelta(1), is(20));
+    }
+
+}
@@ -0,0 +1,303 @@
+package com.upseil.game.test;
+
+import static com.upseil.game.test.TestGrids.ExclusionAreaSize;
+import static com.upseil.game.test.TestGrids.Size;
+import static com.upseil.game.test.TestGrids.Timing;
+import static com.upseil.game.test.TestGrids.createGrid;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Array;
+
+import com.upseil.game.domain.Cell;
+import com.upseil.game.domain.CellChange;
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Direction;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.domain.GridStep;
+import com.upseil.game.domain.MoveOutcome;
+import com.upseil.game.domain.MovePreview;
+import com.upseil.game.solver.ForkJoinLineExecutor;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+public class GridTest {
+
+    @Test
+    public void testDeterministicTurns() {
+        Grid grid1 = createGrid(42, 1337);
+        Grid grid2 = createGrid(42, 1337);
+        grid1.initialize(ExclusionAreaSize);
+        grid2.initialize(ExclusionAreaSize);
+
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(7, 11);
+        for (int turn = 0; turn < 100 && !grid1.isLost(); turn++) {
+            Color color = Color.random(player);
+            assertThat(grid1.resolveTurn(color), is(grid2.resolveTurn(color)));
+            assertGridsEqual(grid1, grid2);
+        }
+    }
+
+    @Test
+    public void testGridStaysConsistent() {
+        Grid grid = createGrid(3, 5);
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(13, 17);
+        for (int game = 0; game < 25; game++) {
+            grid.initialize(ExclusionAreaSize);
+            for (int turn = 0; turn < 100 && !grid.isLost(); turn++) {
+                grid.resolveTurn(Color.random(player));
+                assertGridConsistent(grid);
+            }
+        }
+    }
+
+    @Test
+    public void testMultiWordGridStaysConsistent() {
+        // Lines of more than two words, so that fills compact runs across words and transpose partial blocks
+        Grid grid = new Grid(130, Timing, new ExtendedRandomXS128(67, 71));
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(73, 79);
+        for (int game = 0; game < 3; game++) {
+            grid.initialize(ExclusionAreaSize);
+            for (int turn = 0; turn < 50 && !grid.isLost(); turn++) {
+                grid.resolveTurn(Color.random(player));
+                assertGridConsistent(grid);
+            }
+        }
+    }
+
+    @Test
+    public void testContactMatchesTimeline() {
+        Grid grid = createGrid(23, 29);
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(31, 37);
+        int contacts = 0;
+        for (int game = 0; game < 50; game++) {
+            grid.initialize(ExclusionAreaSize);
+            while (!grid.isLost()) {
+                Color color = Color.random(player);
+                grid.removeCells(color);
+                GridStep step = grid.fill(Grid.getFillDirection(color));
+                if (step.hasContact()) {
+                    assertThat(step.getMinBlackWhiteDistance(grid, step.getContactTime()) < 0.01f, is(true));
+                    contacts++;
+                } else {
+                    for (int sample = 0; sample <= 20; sample++) {
+                        float time = step.getDuration() * sample / 20;
+                        assertThat(step.getMinBlackWhiteDistance(grid, time) > 0, is(true));
+                    }
+                    grid.teleport();
+                    grid.randomizeBorderColors();
+                }
+            }
+        }
+        assertThat(contacts > 0, is(true));
+    }
+
+    @Test
+    public void testTeleportStartsAtPreviousPosition() {
+        Grid grid = createGrid(83, 89);
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(97, 101);
+        int teleports = 0;
+        for (int game = 0; game < 20; game++) {
+            grid.initialize(ExclusionAreaSize);
+            while (!grid.isLost()) {
+                Color color = Color.random(player);
+                grid.removeCells(color);
+                grid.fill(Grid.getFillDirection(color));
+                if (grid.isLost()) {
+                    break;
+                }
+
+                float distance = grid.getMinBlackWhiteDistance();
+                GridStep step = grid.teleport();
+                if (!step.isEmpty()) {
+                    assertThat(step.getMinBlackWhiteDistance(grid, 0), is(distance));
+                    teleports++;
+                }
+                grid.randomizeBorderColors();
+            }
+        }
+        assertThat(teleports > 0, is(true));
+    }
+
+    @Test
+    public void testPushOutIsContact() {
+        // The white cell teleports from the left to the top border and pushes the black cell out at the bottom
+        Color[][] colors = new Color[Size][Size];
+        for (int x = 0; x < Size; x++) {
+            for (int y = 0; y < Size; y++) {
+                colors[x][y] = Color.forNumber((x + y) % Color.size());
+            }
+        }
+        colors[0][5] = Color.White;
+        colors[5][0] = Color.Black;
+        Grid grid = createGrid(71, 73);
+        grid.restore(createState(colors, Color.White, Color.White, Color.Black, Color.Black));
+        Cell blackCell = grid.getBlackCell();
+
+        GridStep step = grid.teleport();
+        assertThat(grid.isLost(), is(true));
+        assertThat(step.hasContact(), is(true));
+        assertThat(step.getContactTime(), is(Timing.teleportDelay));
+        assertThat(grid.getCell(5, 0) == blackCell, is(false));
+    }
+
+    @Test
+    public void testStateRestoresGame() {
+        ExtendedRandomXS128 random = new ExtendedRandomXS128(17, 19);
+        Grid grid = createGrid(random);
+        grid.initialize(ExclusionAreaSize);
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(41, 43);
+        for (int turn = 0; turn < 5; turn++) {
+            grid.resolveTurn(Color.random(player));
+        }
+        assertThat(grid.isLost(), is(false));
+
+        GridState state = GridState.of(grid, random.getState(0), random.getState(1));
+        ExtendedRandomXS128 restoredRandom = new ExtendedRandomXS128(state.getRandomState0(), state.getRandomState1());
+        Grid restoredGrid = createGrid(restoredRandom);
+        restoredGrid.restore(state);
+        assertGridsEqual(grid, restoredGrid);
+        for (Direction direction : Direction.all()) {
+            assertThat(restoredGrid.getBorderColor(direction), is(grid.getBorderColor(direction)));
+        }
+        assertGridConsistent(restoredGrid);
+
+        for (int turn = 0; turn < 100 && !grid.isLost(); turn++) {
+            Color color = Color.random(player);
+            assertThat(restoredGrid.resolveTurn(color), is(grid.resolveTurn(color)));
+            assertGridsEqual(grid, restoredGrid);
+        }
+    }
+
+    @Test
+    public void testMovePreviewMatchesTurn() {
+        ExtendedRandomXS128 random = new ExtendedRandomXS128(17, 19);
+        Grid grid = createGrid(random);
+        grid.initialize(ExclusionAreaSize);
+        GridState state = GridState.of(grid, random.getState(0), random.getState(1));
+
+        MovePreview preview = new MovePreview(Size, Timing);
+        preview.setState(state);
+        assertThat(preview.get(Color.forNumber(0)), is(nullValue()));
+        while (!preview.computeNext());
+
+        for (int number = 0; number < Color.size(); number++) {
+            Color color = Color.forNumber(number);
+            grid.restore(state);
+            random.setState(state.getRandomState0(), state.getRandomState1());
+            int removedCells = grid.resolveTurn(color);
+
+            MoveOutcome outcome = preview.get(color);
+            assertThat(outcome.getRemovedCells(), is(removedCells));
+            assertThat(outcome.isLost(), is(grid.isLost()));
+            assertThat(outcome.getBlackX(), is(grid.getBlackCell().getX()));
+            assertThat(outcome.getBlackY(), is(grid.getBlackCell().getY()));
+            assertThat(outcome.getWhiteX(), is(grid.getWhiteCell().getX()));
+            assertThat(outcome.getWhiteY(), is(grid.getWhiteCell().getY()));
+        }
+    }
+
+    @Test
+    public void testLineExecutorMatchesSequentialFill() {
+        int size = 40;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Grid sequentialGrid = new Grid(size, Timing, new ExtendedRandomXS128(47, 53));
+        Grid parallelGrid = new Grid(size, Timing, new ExtendedRandomXS128(47, 53));
+        parallelGrid.setLineExecutor(new ForkJoinLineExecutor(pool, 1));
+        sequentialGrid.initialize(ExclusionAreaSize);
+        parallelGrid.initialize(ExclusionAreaSize);
+
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(59, 61);
+        for (int turn = 0; turn < 50 && !sequentialGrid.isLost(); turn++) {
+            Color color = Color.random(player);
+            sequentialGrid.removeCells(color);
+            parallelGrid.removeCells(color);
+            Direction direction = Grid.getFillDirection(color);
+            assertStepsEqual(sequentialGrid.fill(direction).getChanges(), parallelGrid.fill(direction).getChanges());
+            assertThat(parallelGrid.isLost(), is(sequentialGrid.isLost()));
+            for (int number = 0; number < Color.size(); number++) {
+                assertThat(parallelGrid.getColorCount(number), is(sequentialGrid.getColorCount(number)));
+            }
+            assertGridsEqual(sequentialGrid, parallelGrid);
+            assertGridConsistent(parallelGrid);
+            if (!sequentialGrid.isLost()) {
+                sequentialGrid.teleport();
+                parallelGrid.teleport();
+                sequentialGrid.randomizeBorderColors();
+                parallelGrid.randomizeBorderColors();
+            }
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * @param borderColors The colors of the borders in the order of {@link Direction#all()}
+     */
+    @SuppressWarnings("deprecation")
+    private GridState createState(Color[][] colors, Color... borderColors) {
+        int size = colors.length;
+        byte[] cells = new byte[(size * size * 3 + 7) / 8];
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                int bit = (x * size + y) * 3;
+                int value = colors[x][y].ordinal() << (bit % 8);
+                cells[bit / 8] |= value;
+                if (bit % 8 + 3 > 8) {
+                    cells[bit / 8 + 1] |= value >>> 8;
+                }
+            }
+        }
+        int borders = 0;
+        for (int index = 0; index < borderColors.length; index++) {
+            borders |= borderColors[index].ordinal() << (index * 3);
+        }
+        return new GridState(size, cells, borders, 0, 0);
+    }
+
+    private void assertStepsEqual(Array<CellChange> expected, Array<CellChange> actual) {
+        assertThat(actual.size, is(expected.size));
+        for (int index = 0; index < expected.size; index++) {
+            CellChange expectedChange = expected.get(index);
+            CellChange actualChange = actual.get(index);
+            assertThat(actualChange.toString(), is(expectedChange.toString()));
+            assertThat(actualChange.getDelay(), is(expectedChange.getDelay()));
+            assertThat(actualChange.getDuration(), is(expectedChange.getDuration()));
+        }
+    }
+
+    private void assertGridsEqual(Grid grid1, Grid grid2) {
+        assertThat(grid1.isLost(), is(grid2.isLost()));
+        for (int x = 0; x < grid1.getWidth(); x++) {
+            for (int y = 0; y < grid1.getHeight(); y++) {
+                assertThat(grid1.getCell(x, y).getColor(), is(grid2.getCell(x, y).getColor()));
+            }
+        }
+    }
+
+    private void assertGridConsistent(Grid grid) {
+        int[] colorCounts = new int[Color.size()];
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                Cell cell = grid.getCell(x, y);
+                assertThat(cell, is(notNullValue()));
+                assertThat(cell.getX(), is(x));
+                assertThat(cell.getY(), is(y));
+                if (cell.getColor().getNumber() >= 0) {
+                    colorCounts[cell.getColor().getNumber()]++;
+                }
+            }
+        }
+        for (int number = 0; number < Color.size(); number++) {
+            assertThat(grid.getColorCount(number), is(colorCounts[number]));
+        }
+        assertThat(grid.getCell(grid.getBlackCell().getX(), grid.getBlackCell().getY()), is(grid.getBlackCell()));
+        assertThat(grid.getCell(grid.getWhiteCell().getX(), grid.getWhiteCell().getY()), is(grid.getWhiteCell()));
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.upseil.game.test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.upseil.game.util.MpscQueue;
+
+public class MpscQueueTest {
+
+    private static final int Producers = 4;
+    private static final int ElementsPerProducer = 20000;
+
+    @Test
+    public void testBoundedFifo() {
+        MpscQueue<Integer> queue = new MpscQueue<>(3);
+        assertThat(queue.getCapacity(), is(4));
+        assertThat(queue.poll(), is(nullValue()));
+
+        for (int round = 0; round < 3; round++) {
+            for (int element = 0; element < 4; element++) {
+                assertThat(queue.offer(element), is(true));
+            }
+            assertThat(queue.offer(4), is(false));
+            assertThat(queue.size(), is(4));
+            for (int element = 0; element < 4; element++) {
+                assertThat(queue.poll(), is(element));
+            }
+            assertThat(queue.isEmpty(), is(true));
+        }
+    }
+
+    @Test
+    public void testConcurrentProducers() throws InterruptedException {
+        MpscQueue<int[]> queue = new MpscQueue<>(64);
+        int[][][] elements = new int[Producers][ElementsPerProducer][];
+        Thread[] threads = new Thread[Producers];
+        for (int producer = 0; producer < Producers; producer++) {
+            for (int index = 0; index < ElementsPerProducer; index++) {
+                elements[producer][index] = new int[] { producer, index };
+            }
+            int[][] producerElements = elements[producer];
+            threads[producer] = new Thread(() -> {
+                for (int[] element : producerElements) {
+                    while (!queue.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads[producer].start();
+        }
+
+        // Every producer's elements have to arrive completely and in order
+        int[] nextIndices = new int[Producers];
+        int received = 0;
+        while (received < Producers * ElementsPerProducer) {
+            int[] element = queue.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            assertThat(element[1], is(nextIndices[element[0]]));
+            nextIndices[element[0]]++;
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(queue.poll(), is(nullValue()));
+    }
+
+}
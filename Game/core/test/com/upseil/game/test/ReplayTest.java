@@ -0,0 +1,54 @@
+package com.upseil.game.test;
+
+import static com.upseil.game.test.TestGrids.ExclusionAreaSize;
+import static com.upseil.game.test.TestGrids.Size;
+import static com.upseil.game.test.TestGrids.Timing;
+import static com.upseil.game.test.TestGrids.createGrid;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.Replay;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+public class ReplayTest {
+
+    @Test
+    public void testReplayReproducesGame() {
+        ExtendedRandomXS128 random = new ExtendedRandomXS128(42, 1337);
+        Grid grid = createGrid(random);
+        Replay replay = new Replay();
+        replay.start(Size, ExclusionAreaSize, random.getState(0), random.getState(1));
+        grid.initialize(ExclusionAreaSize);
+
+        ExtendedRandomXS128 player = new ExtendedRandomXS128(7, 11);
+        int score = 0;
+        float time = 0;
+        while (!grid.isLost()) {
+            Color color = Color.random(player);
+            time += player.randomFloat(0.1f, 5);
+            replay.record(time, color);
+            score += grid.resolveTurn(color);
+        }
+
+        Replay decoded = Replay.fromBytes(replay.toBytes());
+        assertThat(decoded.size(), is(replay.size()));
+        for (int index = 0; index < replay.size(); index++) {
+            assertThat(decoded.getColor(index), is(replay.getColor(index)));
+            assertThat(Math.abs(decoded.getTime(index) - replay.getTime(index)) <= 0.001f, is(true));
+        }
+
+        Grid replayedGrid = decoded.createGrid(Timing);
+        assertThat(decoded.play(replayedGrid), is(score));
+        assertThat(replayedGrid.isLost(), is(true));
+        for (int x = 0; x < Size; x++) {
+            for (int y = 0; y < Size; y++) {
+                assertThat(replayedGrid.getCell(x, y).getColor(), is(grid.getCell(x, y).getColor()));
+            }
+        }
+    }
+
+}
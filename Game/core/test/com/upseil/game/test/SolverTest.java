@@ -0,0 +1,77 @@
+package com.upseil.game.test;
+
+import static com.upseil.game.test.TestGrids.ExclusionAreaSize;
+import static com.upseil.game.test.TestGrids.Size;
+import static com.upseil.game.test.TestGrids.Timing;
+import static com.upseil.game.test.TestGrids.createGrid;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.upseil.game.domain.Color;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.GridState;
+import com.upseil.game.solver.Solution;
+import com.upseil.game.solver.Solver;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+public class SolverTest {
+
+    private static final int Depth = 4;
+    private static final int LossPenalty = Size * Size;
+
+    @Test
+    public void testSolutionIsOptimal() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        Solver parallelSolver = new Solver(Size, Timing, Depth, 0, 2, LossPenalty, pool);
+        Solver sequentialSolver = new Solver(Size, Timing, Depth, 0, 0, LossPenalty, pool);
+
+        for (int game = 0; game < 5; game++) {
+            ExtendedRandomXS128 random = new ExtendedRandomXS128(game + 1, 97);
+            Grid grid = createGrid(random);
+            grid.initialize(ExclusionAreaSize);
+            GridState state = GridState.of(grid, random.getState(0), random.getState(1));
+
+            Solution solution = parallelSolver.solve(state);
+            int expectedValue = bruteForce(state, Depth);
+            assertThat(getValue(solution), is(expectedValue));
+            assertThat(getValue(sequentialSolver.solve(state)), is(expectedValue));
+
+            ExtendedRandomXS128 replayRandom = new ExtendedRandomXS128(state.getRandomState0(), state.getRandomState1());
+            Grid replayGrid = createGrid(replayRandom);
+            replayGrid.restore(state);
+            int score = 0;
+            for (Color move : solution.getMoves()) {
+                score += replayGrid.resolveTurn(move);
+            }
+            assertThat(score, is(solution.getScore()));
+            assertThat(replayGrid.isLost(), is(solution.isLost()));
+        }
+        pool.shutdown();
+    }
+
+    private int getValue(Solution solution) {
+        return solution.getScore() - (solution.isLost() ? LossPenalty : 0);
+    }
+
+    private int bruteForce(GridState state, int depth) {
+        int bestValue = Integer.MIN_VALUE;
+        for (int number = 0; number < Color.size(); number++) {
+            ExtendedRandomXS128 random = new ExtendedRandomXS128(state.getRandomState0(), state.getRandomState1());
+            Grid grid = createGrid(random);
+            grid.restore(state);
+            int value = grid.resolveTurn(Color.forNumber(number));
+            if (grid.isLost()) {
+                value -= LossPenalty;
+            } else if (depth > 1) {
+                value += bruteForce(GridState.of(grid, random.getState(0), random.getState(1)), depth - 1);
+            }
+            bestValue = Math.max(bestValue, value);
+        }
+        return bestValue;
+    }
+
+}
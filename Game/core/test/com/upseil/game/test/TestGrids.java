@@ -0,0 +1,34 @@
+package com.upseil.game.test;
+
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.Grid.GridTiming;
+import com.upseil.gdx.math.ExtendedRandom;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * The grid configuration shared by the tests and the benchmarks that play on a grid.
+ */
+public final class TestGrids {
+
+    public static final int Size = 10;
+    public static final float ExclusionAreaSize = 0.33f;
+    public static final GridTiming Timing = new GridTiming(5.36f, 1.79f, 0.25f);
+
+    private TestGrids() {
+    }
+
+    /**
+     * @return An uninitialized grid that uses the given random
+     */
+    public static Grid createGrid(ExtendedRandom random) {
+        return new Grid(Size, Timing, random);
+    }
+
+    /**
+     * @return An uninitialized grid that uses a random with the given seeds
+     */
+    public static Grid createGrid(long seed0, long seed1) {
+        return createGrid(new ExtendedRandomXS128(seed0, seed1));
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.upseil.game.test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.upseil.game.util.TimerWheel;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+public class TimerWheelTest {
+
+    private static final float TickDuration = 0.01f;
+    private static final float FrameDuration = 1 / 60f;
+
+    @Test
+    public void testCallbacksFireWithinOneTick() {
+        TimerWheel<float[]> wheel = new TimerWheel<>(TickDuration, 0.5f, 2);
+        float[] time = new float[1];
+        List<float[]> fired = new ArrayList<>();
+        TimerWheel.Callback<float[]> callback = timer -> {
+            timer[1] = time[0];
+            fired.add(timer);
+        };
+
+        ExtendedRandomXS128 random = new ExtendedRandomXS128(3, 7);
+        List<float[]> timers = new ArrayList<>();
+        for (int index = 0; index < 500; index++) {
+            // Every fifth delay is beyond the horizon of the wheel
+            float delay = index % 5 == 0 ? random.randomFloat(0.5f, 3) : random.randomFloat(0, 0.5f);
+            float[] timer = { delay, -1 };
+            timers.add(timer);
+            wheel.schedule(delay, callback, timer);
+        }
+        assertThat(wheel.size(), is(500));
+
+        while (!wheel.isEmpty()) {
+            time[0] += FrameDuration;
+            wheel.advance(FrameDuration);
+        }
+        assertThat(fired.size(), is(500));
+        for (float[] timer : timers) {
+            assertThat(timer[1] >= timer[0] - 0.0001f, is(true));
+            assertThat(timer[1] < timer[0] + TickDuration + FrameDuration, is(true));
+        }
+        for (int index = 1; index < fired.size(); index++) {
+            assertThat(fired.get(index)[0] >= fired.get(index - 1)[0] - TickDuration, is(true));
+        }
+    }
+
+    @Test
+    public void testClearDropsCallbacks() {
+        TimerWheel<Object> wheel = new TimerWheel<>(TickDuration, 0.1f);
+        int[] calls = new int[1];
+        for (int index = 0; index < 10; index++) {
+            wheel.schedule(index * 0.1f, target -> calls[0]++, null);
+        }
+        wheel.clear();
+        assertThat(wheel.size(), is(0));
+        wheel.advance(2);
+        assertThat(calls[0], is(0));
+
+        wheel.schedule(0.05f, target -> calls[0]++, null);
+        wheel.advance(0.1f);
+        assertThat(calls[0], is(1));
+    }
+
+}
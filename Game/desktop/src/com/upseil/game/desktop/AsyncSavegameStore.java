@@ -0,0 +1,157 @@
+package com.upseil.game.desktop;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.upseil.game.Savegame;
+import com.upseil.game.serialization.SavegameStore;
+import com.upseil.gdx.serialization.Writer;
+
+/**
+ * Encodes and writes savegames into the {@link Preferences} of the store on a background thread. Requests are double
+ * buffered: while one savegame is being written, newer requests for the same slot replace each other, so that a burst
+ * of requests results in at most one more write. Every slot of every store has one pending save that's reused by all of
+ * its requests.
+ */
+public class AsyncSavegameStore implements SavegameStore {
+    
+    private static final long DisposeTimeout = 5;
+    
+    private final Writer<Savegame> writer;
+    private final ExecutorService executor;
+    
+    private final Runnable writeTask;
+    
+    private final Object lock;
+    private final Map<String, Map<String, PendingSave>> saves;
+    private final ArrayDeque<PendingSave> pendingSaves;
+    private boolean writeScheduled;
+    
+    public AsyncSavegameStore(Writer<Savegame> writer) {
+        this.writer = writer;
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Savegame Writer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        writeTask = this::writePendingSaves;
+        
+        lock = new Object();
+        saves = new HashMap<>();
+        pendingSaves = new ArrayDeque<>();
+    }
+    
+    @Override
+    public void store(String storeName, String slot, Savegame savegame, Callback callback) {
+        // Preferences are cached by the application, which must only be accessed on the game thread
+        Preferences preferences = Gdx.app.getPreferences(storeName);
+        synchronized (lock) {
+            PendingSave save = getSave(storeName, slot);
+            save.preferences = preferences;
+            save.savegame = savegame;
+            save.callback = callback;
+            if (!save.pending) {
+                save.pending = true;
+                pendingSaves.add(save);
+            }
+            if (!writeScheduled) {
+                writeScheduled = true;
+                executor.execute(writeTask);
+            }
+        }
+    }
+    
+    private PendingSave getSave(String storeName, String slot) {
+        Map<String, PendingSave> storeSaves = saves.get(storeName);
+        if (storeSaves == null) {
+            storeSaves = new HashMap<>();
+            saves.put(storeName, storeSaves);
+        }
+        PendingSave save = storeSaves.get(slot);
+        if (save == null) {
+            save = new PendingSave(slot);
+            storeSaves.put(slot, save);
+        }
+        return save;
+    }
+    
+    private void writePendingSaves() {
+        while (true) {
+            Preferences preferences;
+            String slot;
+            Savegame savegame;
+            Callback callback;
+            // The pending save may be reused by the next request as soon as the lock is released
+            synchronized (lock) {
+                PendingSave save = pendingSaves.poll();
+                if (save == null) {
+                    writeScheduled = false;
+                    return;
+                }
+                preferences = save.preferences;
+                slot = save.slot;
+                savegame = save.savegame;
+                callback = save.callback;
+                save.clear();
+            }
+            write(preferences, slot, savegame, callback);
+        }
+    }
+    
+    private void write(Preferences preferences, String slot, Savegame savegame, Callback callback) {
+        boolean successful;
+        try {
+            String data = writer.write(savegame);
+            preferences.putString(slot, data);
+            preferences.flush();
+            successful = true;
+        } catch (RuntimeException e) {
+            Gdx.app.error("AsyncSavegameStore", "Couldn't write the savegame " + slot, e);
+            successful = false;
+        }
+        
+        callback.onStored(slot, successful);
+    }
+    
+    @Override
+    public void dispose() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(DisposeTimeout, TimeUnit.SECONDS)) {
+                Gdx.app.error("AsyncSavegameStore", "Pending savegames haven't been written within " + DisposeTimeout + " seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static class PendingSave {
+        
+        private final String slot;
+        
+        private Preferences preferences;
+        private Savegame savegame;
+        private Callback callback;
+        private boolean pending;
+        
+        public PendingSave(String slot) {
+            this.slot = slot;
+        }
+        
+        public void clear() {
+            preferences = null;
+            savegame = null;
+            callback = null;
+            pending = false;
+        }
+        
+    }
+    
+}
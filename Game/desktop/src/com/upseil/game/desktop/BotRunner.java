@@ -0,0 +1,72 @@
+package com.upseil.game.desktop;
+
+import static com.upseil.game.Config.GridConfigValues.ExclusionAreaSize;
+import static com.upseil.game.Config.GridConfigValues.GridSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.IntSummaryStatistics;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import com.upseil.game.Config.GridConfig;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.Grid.GridTiming;
+import com.upseil.game.domain.Replay;
+import com.upseil.game.scene2d.GameGrid.GameGridStyle;
+import com.upseil.game.solver.AutoPlayer;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * Lets the {@link AutoPlayer} play games on all cores without a window. Every game searches sequentially, the games
+ * themselves run in parallel.
+ */
+public class BotRunner {
+    
+    private static final int MaxTurns = 10000;
+    
+    /**
+     * @param args The number of games, the search depth and optionally a directory the replays are written to
+     */
+    public static void run(String[] args) {
+        int games = Integer.parseInt(args[0]);
+        int depth = Integer.parseInt(args[1]);
+        Path replayDirectory = args.length > 2 ? Paths.get(args[2]) : null;
+        
+        GridConfig config = HeadlessReplayRunner.loadGridConfig();
+        int size = config.getInt(GridSize);
+        float exclusionAreaSize = config.getFloat(ExclusionAreaSize);
+        GridTiming timing = new GameGridStyle(config).toGridTiming();
+        ThreadLocal<AutoPlayer> players = ThreadLocal.withInitial(
+                () -> new AutoPlayer(size, timing, exclusionAreaSize, depth, 0, 0, ForkJoinPool.commonPool()));
+        
+        long startTime = System.nanoTime();
+        int[] scores = IntStream.range(0, games).parallel().map(game -> {
+            ExtendedRandomXS128 seeds = new ExtendedRandomXS128(game);
+            Replay replay = players.get().play(seeds.getState(0), seeds.getState(1), MaxTurns);
+            if (replayDirectory != null) {
+                writeReplay(replayDirectory.resolve("bot-" + game + ".replay"), replay);
+            }
+            Grid grid = replay.createGrid(timing);
+            return replay.play(grid);
+        }).toArray();
+        double minutes = (System.nanoTime() - startTime) / 60e9;
+        
+        IntSummaryStatistics statistics = Arrays.stream(scores).summaryStatistics();
+        System.out.printf("%d games at depth %d: score %.1f average, %d min, %d max, %.0f games per minute%n",
+                          games, depth, statistics.getAverage(), statistics.getMin(), statistics.getMax(), games / minutes);
+    }
+    
+    private static void writeReplay(Path file, Replay replay) {
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, replay.toBytes());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't write the replay " + file, e);
+        }
+    }
+    
+}
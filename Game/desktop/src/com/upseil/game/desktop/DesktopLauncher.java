@@ -4,6 +4,7 @@ import static com.upseil.game.Constants.GameInit.*;
 
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
 import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.Files;
@@ -15,6 +16,11 @@ import com.upseil.game.Constants.GameInit;
 import com.upseil.game.GameApplication;
 import com.upseil.game.Savegame;
 import com.upseil.game.SerializationContext;
+import com.upseil.game.domain.Replay;
+import com.upseil.game.serialization.BinarySavegameMapper;
+import com.upseil.game.system.AutoPlaySystem;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+import com.upseil.gdx.serialization.Mapper;
 import com.upseil.gdx.serialization.desktop.DesktopCompressingMapper;
 import com.upseil.gdx.util.properties.Properties;
 
@@ -30,7 +36,38 @@ public class DesktopLauncher {
     private static int width;
     private static int height;
     
+    /**
+     * Starts the game. Use <code>-replay &lt;file&gt;</code> to watch a recorded game or
+     * <code>-headless &lt;files or directories&gt;</code> to play replays without a window.
+     * <code>-bots &lt;games&gt; &lt;depth&gt; [replay directory]</code> lets the auto player play games without a window.
+     * <code>-frames &lt;turns&gt; [warmup turns]</code> measures the frame times of the whole game without a window.
+     * <code>-fastforward &lt;time scale&gt; [turns]</code> lets a random player play without drawing anything, as fast as
+     * the time scale allows.
+     */
     public static void main(String[] args) {
+        if (args.length > 1 && args[0].equals("-headless")) {
+            HeadlessReplayRunner.run(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 2 && args[0].equals("-bots")) {
+            BotRunner.run(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("-frames")) {
+            FrameBenchmarkRunner.run(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        Replay replay = null;
+        if (args.length > 1 && args[0].equals("-replay")) {
+            replay = HeadlessReplayRunner.readReplay(Paths.get(args[1]));
+        }
+        float fastForwardTimeScale = 0;
+        int autoPlayTurns = 0;
+        if (args.length > 1 && args[0].equals("-fastforward")) {
+            fastForwardTimeScale = Float.parseFloat(args[1]);
+            autoPlayTurns = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        }
+        
         Properties<GameInit> gameInit;
         try {
             gameInit = Properties.fromPropertiesLines(java.nio.file.Files.readAllLines(Paths.get("game.init")), GameInit.class);
@@ -52,12 +89,41 @@ public class DesktopLauncher {
         configuration.addIcon("icon/icon-128.png", Files.FileType.Internal);
         configuration.addIcon("icon/icon-32.png", Files.FileType.Internal);
         configuration.addIcon("icon/icon-16.png", Files.FileType.Internal);
+        if (fastForwardTimeScale > 0) {
+            configuration.vSyncEnabled = false;
+            configuration.foregroundFPS = 0;
+            configuration.backgroundFPS = 0;
+            // The auto player's games must neither load nor overwrite the player's auto save
+            configuration.preferencesDirectory = createTemporaryPreferencesDirectory("fast-forward");
+            configuration.preferencesFileType = Files.FileType.Absolute;
+        }
         
-        DesktopCompressingMapper<Savegame> savegameMapper = new DesktopCompressingMapper<>(Savegame.class);
-        savegameMapper.setCompressing(true);
-        
-        SerializationContext context = new SerializationContext(savegameMapper);
-        new LwjglApplication(new ResizeHook(new GameApplication(context)), configuration);
+        // The auto save store gets its own mapper, because it's used by a background thread
+        AsyncSavegameStore autoSaveStore = new AsyncSavegameStore(createSavegameMapper(gameInit));
+        SerializationContext context = new SerializationContext(createSavegameMapper(gameInit), autoSaveStore);
+        GameApplication application = new GameApplication(context, replay);
+        if (fastForwardTimeScale > 0) {
+            application.setFastForward(fastForwardTimeScale);
+            application.setAutoPlayer(AutoPlaySystem.randomPlayer(new ExtendedRandomXS128()), autoPlayTurns);
+        }
+        new LwjglApplication(new ResizeHook(application), configuration);
+    }
+
+    static String createTemporaryPreferencesDirectory(String prefix) {
+        try {
+            return java.nio.file.Files.createTempDirectory(prefix).toString();
+        } catch (IOException e) {
+            throw new IllegalStateException("Can't create the preferences directory", e);
+        }
+    }
+
+    private static Mapper<Savegame> createSavegameMapper(Properties<GameInit> gameInit) {
+        DesktopCompressingMapper<Savegame> jsonSavegameMapper = new DesktopCompressingMapper<>(Savegame.class);
+        jsonSavegameMapper.setCompressing(true);
+        if ("binary".equalsIgnoreCase(gameInit.get(SavegameFormat))) {
+            return new BinarySavegameMapper(jsonSavegameMapper);
+        }
+        return jsonSavegameMapper;
     }
 
     private static void loadSizeInformation(Properties<GameInit> gameInit) {
@@ -0,0 +1,188 @@
+package com.upseil.game.desktop;
+
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import com.artemis.SystemInvocationStrategy;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.utils.LongArray;
+import com.upseil.game.GameApplication;
+import com.upseil.game.SerializationContext;
+import com.upseil.game.serialization.BinarySavegameMapper;
+import com.upseil.game.system.AutoPlaySystem;
+import com.upseil.gdx.math.ExtendedRandomXS128;
+
+/**
+ * Runs the whole game on a {@link HeadlessApplication} with a GL that does nothing and lets a random
+ * {@link AutoPlaySystem auto player} play it. Every frame is simulated with a fixed delta time, so the measured times
+ * contain scene2d, Artemis, the events and the savegames but no rendering on the GPU. Prints the frame time
+ * percentiles and the time every system takes per frame.
+ * <p>
+ * Has to be run in the assets directory. The savegames are written to a temporary directory.
+ */
+public class FrameBenchmarkRunner {
+    
+    private static final float FrameDelta = 1 / 60f;
+    private static final int Width = 1280;
+    private static final int Height = 720;
+    
+    /**
+     * @param args The number of turns and optionally the number of warmup turns that aren't measured
+     */
+    public static void run(String[] args) {
+        int turns = Integer.parseInt(args[0]);
+        int warmupTurns = args.length > 1 ? Integer.parseInt(args[1]) : turns / 10;
+        if (warmupTurns >= turns) {
+            throw new IllegalArgumentException("There must be more turns than warmup turns, got " + turns + " and " + warmupTurns);
+        }
+        
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        configuration.renderInterval = 0;
+        configuration.preferencesDirectory = DesktopLauncher.createTemporaryPreferencesDirectory("frame-benchmark");
+        
+        SerializationContext context = new SerializationContext(new BinarySavegameMapper(), new AsyncSavegameStore(new BinarySavegameMapper()));
+        new HeadlessApplication(new FrameBenchmark(context, turns, warmupTurns), configuration);
+    }
+    
+    /**
+     * Creates a GL that returns increasing ids for created objects, reports every shader as compiled and linked
+     * without any active uniforms or attributes, every frame buffer as complete and returns zero values for everything
+     * else.
+     */
+    static GL20 createMockGL() {
+        int[] nextId = { 1 };
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] { GL20.class }, (proxy, method, args) -> {
+            String name = method.getName();
+            Class<?> returnType = method.getReturnType();
+            if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                int parameter = (Integer) args[1];
+                boolean active = parameter == GL20.GL_ACTIVE_UNIFORMS || parameter == GL20.GL_ACTIVE_ATTRIBUTES;
+                ((IntBuffer) args[2]).put(0, active ? 0 : 1);
+                return null;
+            }
+            if (name.equals("glCheckFramebufferStatus")) {
+                return GL20.GL_FRAMEBUFFER_COMPLETE;
+            }
+            if (returnType == int.class) {
+                return name.startsWith("glCreate") || name.startsWith("glGen") ? nextId[0]++ : 0;
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            if (returnType == float.class) {
+                return 0f;
+            }
+            if (returnType == String.class) {
+                return "";
+            }
+            return null;
+        });
+    }
+    
+    private static class FrameBenchmark extends GameApplication {
+        
+        private final int turns;
+        private final int warmupTurns;
+        
+        private ProfilingInvocationStrategy profiler;
+        private final LongArray frameTimes;
+        private boolean warmedUp;
+        private int warmupLostGames;
+        
+        public FrameBenchmark(SerializationContext serializationContext, int turns, int warmupTurns) {
+            super(serializationContext);
+            this.turns = turns;
+            this.warmupTurns = warmupTurns;
+            setAutoPlayer(AutoPlaySystem.randomPlayer(new ExtendedRandomXS128(42, 1337)), 0);
+            frameTimes = new LongArray(turns * 64);
+        }
+        
+        @Override
+        public void create() {
+            GL20 gl = createMockGL();
+            Gdx.gl = gl;
+            Gdx.gl20 = gl;
+            Gdx.graphics = new SizedGraphics();
+            super.create();
+            resize(Width, Height);
+        }
+        
+        @Override
+        protected SystemInvocationStrategy createInvocationStrategy() {
+            profiler = new ProfilingInvocationStrategy();
+            return profiler;
+        }
+        
+        @Override
+        public void render() {
+            AutoPlaySystem autoPlaySystem = getWorld().getSystem(AutoPlaySystem.class);
+            if (!warmedUp && autoPlaySystem.getTurns() >= warmupTurns) {
+                profiler.reset();
+                frameTimes.clear();
+                warmupLostGames = autoPlaySystem.getLostGames();
+                warmedUp = true;
+            }
+            
+            long startTime = System.nanoTime();
+            render(FrameDelta);
+            frameTimes.add(System.nanoTime() - startTime);
+            
+            if (autoPlaySystem.getTurns() >= turns) {
+                printResults(autoPlaySystem.getLostGames() - warmupLostGames);
+                Gdx.app.exit();
+            }
+        }
+        
+        private void printResults(int lostGames) {
+            long[] times = frameTimes.toArray();
+            Arrays.sort(times);
+            long total = 0;
+            for (long time : times) {
+                total += time;
+            }
+            
+            System.out.printf("%d turns, %d lost games, %d frames, %.3f ms average, %.3f ms p50, %.3f ms p99, %.3f ms max%n",
+                              turns - warmupTurns, lostGames, times.length, total / 1e6 / times.length,
+                              percentile(times, 0.5) / 1e6, percentile(times, 0.99) / 1e6, times[times.length - 1] / 1e6);
+            profiler.print();
+        }
+        
+        private static long percentile(long[] sortedTimes, double percentile) {
+            return sortedTimes[Math.min((int) (sortedTimes.length * percentile), sortedTimes.length - 1)];
+        }
+        
+    }
+    
+    /**
+     * The graphics of the headless backend have no size, which would leave every stage empty.
+     */
+    private static class SizedGraphics extends MockGraphics {
+        
+        @Override
+        public int getWidth() {
+            return Width;
+        }
+        
+        @Override
+        public int getHeight() {
+            return Height;
+        }
+        
+        @Override
+        public int getBackBufferWidth() {
+            return Width;
+        }
+        
+        @Override
+        public int getBackBufferHeight() {
+            return Height;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,77 @@
+package com.upseil.game.desktop;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl.LwjglFiles;
+import com.upseil.game.Config.GameConfig;
+import com.upseil.game.Config.GridConfig;
+import com.upseil.game.domain.Grid;
+import com.upseil.game.domain.Grid.GridTiming;
+import com.upseil.game.domain.Replay;
+import com.upseil.game.scene2d.GameGrid.GameGridStyle;
+
+/**
+ * Plays replays on the grid model only, without any rendering or animations, as fast as possible.
+ */
+public class HeadlessReplayRunner {
+
+    public static void run(String[] paths) {
+        GridTiming timing = new GameGridStyle(loadGridConfig()).toGridTiming();
+
+        List<Path> files = new ArrayList<>();
+        for (String path : paths) {
+            files.addAll(collectReplays(Paths.get(path)));
+        }
+
+        long totalTime = 0;
+        int totalTurns = 0;
+        for (Path file : files) {
+            Replay replay = readReplay(file);
+            long startTime = System.nanoTime();
+            Grid grid = replay.createGrid(timing);
+            int score = replay.play(grid);
+            long time = System.nanoTime() - startTime;
+
+            totalTime += time;
+            totalTurns += replay.size();
+            System.out.printf("%s: %d turns, score %d, %s, %.3f ms%n", file, replay.size(), score, grid.isLost() ? "lost" : "not lost", time / 1e6);
+        }
+        System.out.printf("%d replays, %d turns, %.3f ms%n", files.size(), totalTurns, totalTime / 1e6);
+    }
+
+    static GridConfig loadGridConfig() {
+        if (Gdx.files == null) {
+            Gdx.files = new LwjglFiles();
+        }
+        return new GameConfig("game-config.json").getGridConfig();
+    }
+
+    private static List<Path> collectReplays(Path path) {
+        if (!Files.isDirectory(path)) {
+            return Collections.singletonList(path);
+        }
+        try (Stream<Path> children = Files.list(path)) {
+            return children.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't list the replays in " + path, e);
+        }
+    }
+
+    static Replay readReplay(Path file) {
+        try {
+            return Replay.fromBytes(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Can't read the replay " + file, e);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.upseil.game.desktop;
+
+import java.util.Arrays;
+
+import com.artemis.BaseSystem;
+import com.artemis.SystemInvocationStrategy;
+
+/**
+ * Processes the systems like the default {@link com.artemis.InvocationStrategy InvocationStrategy} and sums up the
+ * time every system takes per frame. The entity state updates between the systems are counted separately.
+ */
+class ProfilingInvocationStrategy extends SystemInvocationStrategy {
+    
+    private long[] totalTimes;
+    private long[] maxTimes;
+    private long totalUpdateTime;
+    private int frames;
+    
+    @Override
+    protected void initialize() {
+        super.initialize();
+        totalTimes = new long[systems.size()];
+        maxTimes = new long[systems.size()];
+    }
+    
+    @Override
+    protected void process() {
+        Object[] systemsData = systems.getData();
+        for (int index = 0, size = systems.size(); index < size; index++) {
+            if (disabled.get(index)) {
+                continue;
+            }
+            
+            long startTime = System.nanoTime();
+            updateEntityStates();
+            long systemStartTime = System.nanoTime();
+            ((BaseSystem) systemsData[index]).process();
+            long endTime = System.nanoTime();
+            
+            totalUpdateTime += systemStartTime - startTime;
+            long time = endTime - systemStartTime;
+            totalTimes[index] += time;
+            maxTimes[index] = Math.max(maxTimes[index], time);
+        }
+        
+        long startTime = System.nanoTime();
+        updateEntityStates();
+        totalUpdateTime += System.nanoTime() - startTime;
+        frames++;
+    }
+    
+    public void reset() {
+        Arrays.fill(totalTimes, 0);
+        Arrays.fill(maxTimes, 0);
+        totalUpdateTime = 0;
+        frames = 0;
+    }
+    
+    public void print() {
+        if (frames == 0) {
+            return;
+        }
+        
+        long total = totalUpdateTime;
+        for (long time : totalTimes) {
+            total += time;
+        }
+        
+        System.out.printf("%-40s %12s %12s %8s%n", "System", "avg us", "max us", "share");
+        for (int index = 0; index < systems.size(); index++) {
+            print(systems.get(index).getClass().getSimpleName(), totalTimes[index], maxTimes[index], total);
+        }
+        print("(entity state updates)", totalUpdateTime, -1, total);
+    }
+    
+    private void print(String name, long totalTime, long maxTime, long total) {
+        System.out.printf("%-40s %12.2f %12s %7.1f%%%n", name, totalTime / 1e3 / frames,
+                          maxTime < 0 ? "-" : String.format("%.2f", maxTime / 1e3), total == 0 ? 0 : totalTime * 100.0 / total);
+    }
+    
+}
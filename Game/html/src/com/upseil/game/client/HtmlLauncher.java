@@ -31,8 +31,10 @@ import com.upseil.game.GameApplication;
 import com.upseil.game.Savegame;
 import com.upseil.game.SerializationContext;
 import com.upseil.game.domain.Color;
+import com.upseil.game.serialization.BinarySavegameMapper;
 import com.upseil.gdx.gwt.serialization.HtmlCompressingMapper;
 import com.upseil.gdx.gwt.util.BrowserConsoleLogger;
+import com.upseil.gdx.serialization.Mapper;
 import com.upseil.gdx.util.format.DoubleFormatter;
 import com.upseil.gdx.util.format.DoubleFormatter.Format;
 import com.upseil.gdx.util.properties.Properties;
@@ -108,11 +110,15 @@ public class HtmlLauncher extends GwtApplication {
         JsonSerializationContext serializationContext = JsonSerializationContext.builder().indent(false).build();
         JsonDeserializationContext deserializationContext = JsonDeserializationContext.builder().failOnUnknownProperties(false).build();
         
-        SavegameMapper savegameMapper = GWT.create(SavegameMapper.class);
-        HtmlCompressingMapper<Savegame> htmlSavegameMapper = new HtmlCompressingMapper<>(savegameMapper, serializationContext, deserializationContext);
+        SavegameMapper jsonSavegameMapper = GWT.create(SavegameMapper.class);
+        HtmlCompressingMapper<Savegame> htmlSavegameMapper = new HtmlCompressingMapper<>(jsonSavegameMapper, serializationContext, deserializationContext);
         htmlSavegameMapper.setCompressing(true);
+        Mapper<Savegame> savegameMapper = htmlSavegameMapper;
+        if ("binary".equalsIgnoreCase(GameInit.get(SavegameFormat))) {
+            savegameMapper = new BinarySavegameMapper(htmlSavegameMapper);
+        }
         
-        SerializationContext context = new SerializationContext(htmlSavegameMapper);
+        SerializationContext context = new SerializationContext(savegameMapper);
         return new GameApplication(context);
     }
     